@@ -1,21 +1,23 @@
 package minipraktomat;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import minipraktomat.data.Review;
 import minipraktomat.data.Selection;
 import minipraktomat.data.Solution;
 import minipraktomat.data.Student;
+import minipraktomat.data.StudentRanking;
 import minipraktomat.data.Task;
 import minipraktomat.data.Tutor;
 
 
 
 /**
- * Saves all data and controls access to them.
+ * Saves all data and controls access to them. Tutors, students and tasks are
+ * indexed by their name or id, so finding one takes constant time.
  * 
  * @version 0.1
  * @since JDK1.6, Feb 4, 2012
@@ -23,9 +25,22 @@ import minipraktomat.data.Tutor;
 public class Praktomat {
 
 	private Selection selection = Selection.emptySelection();
-	private final Set<Tutor> tutors = new HashSet<Tutor>();
-	private final Set<Student> students = new HashSet<Student>();
-	private final Set<Task> tasks = new HashSet<Task>();
+	private final Map<String, Tutor> tutors = new HashMap<String, Tutor>();
+	private final Map<Integer, Student> students = new HashMap<Integer, Student>();
+	private final Map<Tutor, List<Student>> studentsByTutor = new HashMap<Tutor, List<Student>>();
+	private final Map<Integer, Task> tasks = new HashMap<Integer, Task>();
+	private final StudentRanking ranking = new StudentRanking();
+	private Option<PraktomatListener> listener = Option.none();
+
+	/**
+	 * Sets the listener which is told about every change.
+	 * 
+	 * @param listener
+	 *        the listener
+	 */
+	public void setListener(final PraktomatListener listener) {
+		this.listener = listener == null ? Option.<PraktomatListener> none() : Option.some(listener);
+	}
 
 	/**
 	 * Returns the selection.
@@ -47,6 +62,9 @@ public class Praktomat {
 			return;
 		}
 		this.selection = selection;
+		if (listener.isDefined() && selection.getTutor().isDefined()) {
+			listener.get().tutorSelected(selection.getTutor().get());
+		}
 	}
 
 	/**
@@ -56,10 +74,13 @@ public class Praktomat {
 	 *        the tutor
 	 */
 	public void addTutor(final Tutor tutor) {
-		if (tutor == null) {
+		if (tutor == null || tutors.containsKey(tutor.getName())) {
 			return;
 		}
-		tutors.add(tutor);
+		tutors.put(tutor.getName(), tutor);
+		if (listener.isDefined()) {
+			listener.get().tutorAdded(tutor);
+		}
 	}
 
 	/**
@@ -69,10 +90,20 @@ public class Praktomat {
 	 *        the student
 	 */
 	public void addStudent(final Student student) {
-		if (student == null) {
+		if (student == null || students.containsKey(student.getId())) {
 			return;
 		}
-		students.add(student);
+		students.put(student.getId(), student);
+		List<Student> studentsOfTutor = studentsByTutor.get(student.getTutor());
+		if (studentsOfTutor == null) {
+			studentsOfTutor = new ArrayList<Student>();
+			studentsByTutor.put(student.getTutor(), studentsOfTutor);
+		}
+		studentsOfTutor.add(student);
+		ranking.update(student);
+		if (listener.isDefined()) {
+			listener.get().studentAdded(student);
+		}
 	}
 
 	/**
@@ -82,10 +113,32 @@ public class Praktomat {
 	 *        the task
 	 */
 	public void addTask(final Task task) {
-		if (task == null) {
+		if (task == null || tasks.containsKey(task.getId())) {
 			return;
 		}
-		tasks.add(task);
+		tasks.put(task.getId(), task);
+		if (listener.isDefined()) {
+			listener.get().taskAdded(task);
+		}
+	}
+
+	/**
+	 * Adds a solution to its task. It replaces the solution of the same
+	 * student if there is one, and the student is moved to its new place in
+	 * the ranking.
+	 * 
+	 * @param solution
+	 *        the solution
+	 */
+	public void addSolution(final Solution solution) {
+		if (solution == null) {
+			return;
+		}
+		solution.getTask().addSolution(solution);
+		ranking.update(solution.getStudent());
+		if (listener.isDefined()) {
+			listener.get().solutionAdded(solution);
+		}
 	}
 
 	/**
@@ -94,7 +147,7 @@ public class Praktomat {
 	 * @return the tutors
 	 */
 	public List<Tutor> getTutors() {
-		return new ArrayList<Tutor>(tutors);
+		return new ArrayList<Tutor>(tutors.values());
 	}
 
 	/**
@@ -103,7 +156,16 @@ public class Praktomat {
 	 * @return the students
 	 */
 	public List<Student> getStudents() {
-		return new ArrayList<Student>(students);
+		return new ArrayList<Student>(students.values());
+	}
+
+	/**
+	 * Returns the students ordered by their average grade and their id.
+	 * 
+	 * @return the ranking
+	 */
+	public StudentRanking getStudentRanking() {
+		return ranking;
 	}
 
 	/**
@@ -114,13 +176,9 @@ public class Praktomat {
 	 * @return the students
 	 */
 	public List<Student> getStudentsOfTutor(final Tutor tutor) {
-		final List<Student> result = new ArrayList<Student>();
-		for (final Student student : students) {
-			if (student.getTutor().equals(tutor)) {
-				result.add(student);
-			}
-		}
-		return result;
+		final List<Student> studentsOfTutor = studentsByTutor.get(tutor);
+		return studentsOfTutor == null ? new ArrayList<Student>()
+				: new ArrayList<Student>(studentsOfTutor);
 	}
 
 	/**
@@ -129,7 +187,7 @@ public class Praktomat {
 	 * @return the tasks
 	 */
 	public List<Task> getTasks() {
-		return new ArrayList<Task>(tasks);
+		return new ArrayList<Task>(tasks.values());
 	}
 
 	/**
@@ -139,30 +197,22 @@ public class Praktomat {
 	 */
 	public List<Solution> getSolutions() {
 		final List<Solution> solutions = new ArrayList<Solution>();
-		for (final Task task : tasks) {
+		for (final Task task : tasks.values()) {
 			solutions.addAll(task.getSolutions());
 		}
 		return solutions;
 	}
 	
 	/**
-	 * Returns all solutions of a specific tutor with are not yet corrected.
+	 * Returns all solutions of a specific tutor with are not yet corrected,
+	 * the oldest submission first.
 	 * 
 	 * @param tutor
 	 *        the tutor
 	 * @return the solutions
 	 */
 	public List<Solution> getUncorrectedSolutionsOfTutor(final Tutor tutor) {
-		final List<Solution> result = new ArrayList<Solution>();
-		for (final Task task : tasks) {
-			final List<Solution> solutions = task.getUncorrectedSolutions();
-			for (final Solution solution : solutions) {
-				if (solution.getStudent().getTutor().equals(tutor)) {
-					result.add(solution);
-				}
-			}
-		}
-		return result;
+		return tutor.getUncorrectedSolutions();
 	}
 
 	/**
@@ -172,7 +222,7 @@ public class Praktomat {
 	 */
 	public List<Review> getReviews() {
 		final List<Review> reviews = new ArrayList<Review>();
-		for (final Task task : tasks) {
+		for (final Task task : tasks.values()) {
 			reviews.addAll(task.getReviews());
 		}
 		return reviews;
@@ -186,12 +236,8 @@ public class Praktomat {
 	 * @return an Option with the tutor.
 	 */
 	public Option<Tutor> findTutor(final String name) {
-		for (final Tutor tutor : tutors) {
-			if (tutor.getName().equals(name)) {
-				return Option.some(tutor);
-			}
-		}
-		return Option.none();
+		final Tutor tutor = tutors.get(name);
+		return tutor == null ? Option.<Tutor> none() : Option.some(tutor);
 	}
 
 	/**
@@ -202,12 +248,8 @@ public class Praktomat {
 	 * @return an Option with the student.
 	 */
 	public Option<Student> findStudent(final int id) {
-		for (final Student student : students) {
-			if (student.getId() == id) {
-				return Option.some(student);
-			}
-		}
-		return Option.none();
+		final Student student = students.get(id);
+		return student == null ? Option.<Student> none() : Option.some(student);
 	}
 
 	/**
@@ -218,12 +260,8 @@ public class Praktomat {
 	 * @return an Option with the task.
 	 */
 	public Option<Task> findTask(final int id) {
-		for (final Task task : tasks) {
-			if (task.getId() == id) {
-				return Option.some(task);
-			}
-		}
-		return Option.none();
+		final Task task = tasks.get(id);
+		return task == null ? Option.<Task> none() : Option.some(task);
 	}
 
 	/**
@@ -234,13 +272,6 @@ public class Praktomat {
 	 * @return the solutions.
 	 */
 	public List<Solution> getSolutionsByStudent(final Student student) {
-		final List<Solution> solutions = new ArrayList<Solution>();
-		for (final Task task : tasks) {
-			final Option<Solution> solution = task.findSolution(student);
-			if (solution.isDefined()) {
-				solutions.add(solution.get());
-			}
-		}
-		return solutions;
+		return student.getSolutions();
 	}
 }
@@ -0,0 +1,56 @@
+package minipraktomat;
+
+import minipraktomat.data.Solution;
+import minipraktomat.data.Student;
+import minipraktomat.data.Task;
+import minipraktomat.data.Tutor;
+
+/**
+ * Is told about every change of the data of a {@link Praktomat}, after the
+ * change was made.
+ * 
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public interface PraktomatListener {
+
+	/**
+	 * A tutor was added.
+	 * 
+	 * @param tutor
+	 *        the tutor
+	 */
+	void tutorAdded(Tutor tutor);
+
+	/**
+	 * A tutor was selected.
+	 * 
+	 * @param tutor
+	 *        the tutor
+	 */
+	void tutorSelected(Tutor tutor);
+
+	/**
+	 * A student was added.
+	 * 
+	 * @param student
+	 *        the student
+	 */
+	void studentAdded(Student student);
+
+	/**
+	 * A task was added.
+	 * 
+	 * @param task
+	 *        the task
+	 */
+	void taskAdded(Task task);
+
+	/**
+	 * A solution was submitted, submitted again or reviewed.
+	 * 
+	 * @param solution
+	 *        the new solution, which has a review if it was reviewed
+	 */
+	void solutionAdded(Solution solution);
+}
@@ -1,5 +1,7 @@
 package minipraktomat;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -7,6 +9,7 @@ import java.util.Map;
 
 import minipraktomat.commands.ListSolutionsCommand;
 import minipraktomat.commands.ListStudentsCommand;
+import minipraktomat.commands.NextReviewCommand;
 import minipraktomat.commands.PartialShellCommand;
 import minipraktomat.commands.ReviewCommand;
 import minipraktomat.commands.ReviewSummaryCommand;
@@ -18,6 +21,7 @@ import minipraktomat.commands.TaskCommand;
 import minipraktomat.commands.TaskSummaryCommand;
 import minipraktomat.commands.TutorCommand;
 import minipraktomat.commands.TutorSummaryCommand;
+import minipraktomat.persistence.Storage;
 
 
 
@@ -32,15 +36,53 @@ public class Shell {
 	private boolean isRunning = true;
 	private Map<String, ShellCommand> commands;
 	private Praktomat praktomat;
+	private Option<Storage> storage = Option.none();
 
 	/**
 	 * The entry point of the application.
 	 * 
 	 * @param args
-	 *        the arguments
+	 *        none to keep the data in memory, or the directory in which the
+	 *        data is stored, optionally followed by the number of commands
+	 *        after which the log is forced to the disk (1 if missing, 0 for
+	 *        never) and the number of changes after which a snapshot is
+	 *        written (100000 if missing, 0 for never)
 	 */
 	public static void main(final String... args) {
-		new Shell().runShell();
+		if (args.length == 0) {
+			new Shell().runShell();
+			return;
+		}
+		final Option<Integer> syncEvery = parseCount(args, 1, 1);
+		if (!syncEvery.isDefined()) {
+			System.out.println("Error! invalid number of commands per sync: " + args[1]);
+			return;
+		}
+		final Option<Integer> snapshotEvery = parseCount(args, 2, 100000);
+		if (!snapshotEvery.isDefined()) {
+			System.out.println("Error! invalid number of changes per snapshot: " + args[2]);
+			return;
+		}
+		final Shell shell;
+		try {
+			shell = new Shell(new Storage(new File(args[0]), syncEvery.get(), snapshotEvery.get()));
+		} catch (final IOException e) {
+			System.out.println("Error! " + e.getMessage());
+			return;
+		}
+		shell.runShell();
+	}
+
+	/**
+	 * Returns a count given on the command line, which must not be negative.
+	 */
+	private static Option<Integer> parseCount(final String[] args, final int index,
+			final int missing) {
+		if (args.length <= index) {
+			return Option.some(missing);
+		}
+		final Option<Integer> count = InputValidation.parseInt(args[index]);
+		return count.isDefined() && count.get() >= 0 ? count : Option.<Integer> none();
 	}
 	
 	/**
@@ -51,10 +93,35 @@ public class Shell {
 	}
 
 	/**
-	 * Initializes the shell.
+	 * Creates a new instance of the shell with the data of a storage, which
+	 * records all changes.
+	 * 
+	 * @param storage
+	 *        the storage
+	 * @throws IOException
+	 *         if the storage can't be read
+	 */
+	public Shell(final Storage storage) throws IOException {
+		this.storage = Option.some(storage);
+		init(storage.recover());
+	}
+
+	/**
+	 * Initializes the shell with an empty praktomat.
 	 */
 	public void init() {
-		praktomat = new Praktomat();
+		init(new Praktomat());
+		if (storage.isDefined()) {
+			try {
+				storage.get().reset(praktomat);
+			} catch (final IOException e) {
+				storageFailed(e);
+			}
+		}
+	}
+
+	private void init(final Praktomat praktomat) {
+		this.praktomat = praktomat;
 		commands = new HashMap<String, ShellCommand>();
 		
 		commands.put("tut", new TutorCommand(praktomat));
@@ -68,6 +135,7 @@ public class Shell {
 		commands.put("summary-task", new TaskSummaryCommand(praktomat));
 		commands.put("summary-tutor", new TutorSummaryCommand(praktomat));
 		commands.put("summary-student", new StudentSummaryCommand(praktomat));
+		commands.put("next-review", new NextReviewCommand(praktomat));
 
 		commands.put("quit", new PartialShellCommand(praktomat) {
 
@@ -95,6 +163,13 @@ public class Shell {
 				handleInput(input);
 			}
 		}
+		if (storage.isDefined()) {
+			try {
+				storage.get().close();
+			} catch (final IOException e) {
+				storageFailed(e);
+			}
+		}
 	}
 
 	private void handleInput(final String input) {
@@ -103,6 +178,13 @@ public class Shell {
 
 		if (commands.containsKey(command)) {
 			handleCommand(commands.get(command), args.subList(1, args.size()));
+			if (storage.isDefined()) {
+				try {
+					storage.get().commit();
+				} catch (final IOException e) {
+					storageFailed(e);
+				}
+			}
 		} else {
 			error("command not found");
 		}
@@ -121,4 +203,9 @@ public class Shell {
 	private void error(final String error) {
 		System.out.println("Error! " + error);
 	}
+
+	private void storageFailed(final IOException e) {
+		error("data can't be stored: " + e.getMessage());
+		isRunning = false;
+	}
 }
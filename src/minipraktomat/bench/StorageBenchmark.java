@@ -0,0 +1,169 @@
+package minipraktomat.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import minipraktomat.Option;
+import minipraktomat.Praktomat;
+import minipraktomat.data.Review;
+import minipraktomat.data.Solution;
+import minipraktomat.data.Student;
+import minipraktomat.data.Task;
+import minipraktomat.data.Tutor;
+import minipraktomat.persistence.Storage;
+
+/**
+ * Measures the storage: the commit throughput while a praktomat is filled with
+ * students, tasks, submissions and reviews, one commit per change like the
+ * shell does, the time to recover from the log alone, the time to write a
+ * snapshot and the time to recover from the snapshot and the tail of the log.
+ * The directory is emptied first.
+ * 
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class StorageBenchmark {
+
+	private static final int STUDENTS_PER_TUTOR = 20;
+	private static final int TASKS = 20;
+	private static final int RECOVERY_RUNS = 3;
+
+	private StorageBenchmark() {
+
+	}
+
+	/**
+	 * The entry point of the benchmark.
+	 * 
+	 * @param args
+	 *        the directory, the number of students (90000 if missing), the
+	 *        number of submissions and reviews (200000 if missing) and the
+	 *        number of commits per sync (64 if missing)
+	 * @throws IOException
+	 *         if the storage fails
+	 */
+	public static void main(final String... args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("usage: StorageBenchmark <dir> [students] [changes] [syncEvery]");
+			return;
+		}
+		final File directory = new File(args[0]);
+		final int students = args.length > 1 ? Integer.parseInt(args[1]) : 90000;
+		final int changes = args.length > 2 ? Integer.parseInt(args[2]) : 200000;
+		final int syncEvery = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+		for (final String name : new String[] { "log", "snapshot" }) {
+			new File(directory, name).delete();
+		}
+		final Random random = new Random(42);
+
+		Storage storage = new Storage(directory, syncEvery, 0);
+		Praktomat praktomat = storage.recover();
+		long start = System.nanoTime();
+		int commits = fill(praktomat, storage, students);
+		commits += change(praktomat, storage, changes, random);
+		storage.close();
+		long time = System.nanoTime() - start;
+		System.out.println(String.format("%d commits, sync every %d: %.0f commits/s, %d bytes of log",
+				commits, syncEvery, commits / (time / 1e9), new File(directory, "log").length()));
+
+		System.out.println("recovery from the log: " + recover(directory, syncEvery));
+
+		storage = new Storage(directory, syncEvery, 0);
+		praktomat = storage.recover();
+		start = System.nanoTime();
+		storage.snapshot();
+		time = System.nanoTime() - start;
+		System.out.println(String.format("snapshot: %dms, %d bytes", time / 1000000L,
+				new File(directory, "snapshot").length()));
+		change(praktomat, storage, changes / 10, random);
+		storage.close();
+
+		System.out.println(String.format("recovery from the snapshot and %d bytes of log: %s",
+				new File(directory, "log").length(), recover(directory, syncEvery)));
+	}
+
+	/**
+	 * Recovers a few times and returns the fastest time with the recovered
+	 * data.
+	 */
+	private static String recover(final File directory, final int syncEvery) throws IOException {
+		long best = Long.MAX_VALUE;
+		Praktomat praktomat = null;
+		for (int run = 0; run < RECOVERY_RUNS; ++run) {
+			final long start = System.nanoTime();
+			final Storage storage = new Storage(directory, syncEvery, 0);
+			praktomat = storage.recover();
+			best = Math.min(best, System.nanoTime() - start);
+			storage.close();
+		}
+		return String.format("%dms, %s", best / 1000000L, describe(praktomat));
+	}
+
+	private static int fill(final Praktomat praktomat, final Storage storage, final int students)
+			throws IOException {
+		int commits = 0;
+		Tutor tutor = null;
+		for (int i = 0; i < students; ++i) {
+			if (i % STUDENTS_PER_TUTOR == 0) {
+				tutor = new Tutor(name(i / STUDENTS_PER_TUTOR));
+				praktomat.addTutor(tutor);
+				praktomat.saveSelection(praktomat.getSelection().selectTutor(tutor));
+				storage.commit();
+				commits += 1;
+			}
+			praktomat.addStudent(new Student(name(i), 10000 + i, tutor));
+			storage.commit();
+			commits += 1;
+		}
+		for (int i = 1; i <= TASKS; ++i) {
+			praktomat.addTask(new Task("task" + name(i), i));
+			storage.commit();
+			commits += 1;
+		}
+		return commits;
+	}
+
+	private static int change(final Praktomat praktomat, final Storage storage, final int changes,
+			final Random random) throws IOException {
+		final List<Student> students = praktomat.getStudents();
+		final List<Task> tasks = praktomat.getTasks();
+		int i = 0;
+		while (i < changes) {
+			final Student student = students.get(random.nextInt(students.size()));
+			final Task task = tasks.get(random.nextInt(tasks.size()));
+			final Option<Solution> solution = task.findSolution(student);
+			if (solution.isDefined() && solution.get().isCorrected()) {
+				continue;
+			}
+			if (solution.isDefined() && random.nextBoolean()) {
+				final Review review = new Review("review" + i, 1 + random.nextInt(5),
+						student.getTutor(), solution.get());
+				praktomat.addSolution(solution.get().correct(review));
+			} else {
+				praktomat.addSolution(new Solution("solution" + i, task, student));
+			}
+			storage.commit();
+			i += 1;
+		}
+		return changes;
+	}
+
+	private static String describe(final Praktomat praktomat) {
+		return String.format("%d tutors, %d students, %d tasks, %d solutions, %d reviews",
+				praktomat.getTutors().size(), praktomat.getStudents().size(),
+				praktomat.getTasks().size(), praktomat.getSolutions().size(),
+				praktomat.getReviews().size());
+	}
+
+	private static String name(final int index) {
+		final StringBuilder sb = new StringBuilder();
+		int n = index + 1;
+		while (n > 0) {
+			sb.append((char) ('a' + n % 26));
+			n /= 26;
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,61 @@
+package minipraktomat.commands;
+
+import java.util.List;
+
+import minipraktomat.Option;
+import minipraktomat.Praktomat;
+import minipraktomat.Validation;
+import minipraktomat.data.Solution;
+import minipraktomat.data.Tutor;
+
+
+
+/**
+ * Command which shows the next solution the selected tutor has to review.
+ * 
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public class NextReviewCommand extends ShellCommand {
+
+	/**
+	 * Creates a new instance.
+	 * 
+	 * @param praktomat
+	 *        the praktomat
+	 */
+	public NextReviewCommand(final Praktomat praktomat) {
+		super(praktomat);
+	}
+
+	@Override
+	public int expectedArguments() {
+		return 0;
+	}
+
+	/**
+	 * Returns the uncorrected solution of a student of the selected tutor which
+	 * was submitted first. It stays the next one until it is reviewed or
+	 * submitted again.
+	 * 
+	 * @param arguments
+	 *        no arguments expected
+	 * @return the task, the student and the text of the solution, a notice if
+	 *         there is none or an error message
+	 */
+	@Override
+	protected Validation<String, String> handleParameters(final List<String> arguments) {
+		final Option<Tutor> tutor = praktomat.getSelection().getTutor();
+		if (!tutor.isDefined()) {
+			return Validation.fail("no tutor selected");
+		}
+		final Option<Solution> solution = tutor.get().nextUncorrectedSolution();
+		if (!solution.isDefined()) {
+			return Validation.success(tutor.get().getName() + " has no missing reviews");
+		}
+		return Validation.success("task id(" + solution.get().getTask().getId() + "): ("
+				+ solution.get().getStudent().getId() + ","
+				+ solution.get().getStudent().getName() + ") "
+				+ solution.get().getText());
+	}
+}
@@ -90,8 +90,7 @@ public class ReviewCommand extends ShellCommand {
 
 		final Review review = new Review(text, grade, student.getTutor(), solution.get());
 
-		task.get().removeSolution(solution.get());
-		task.get().addSolution(solution.get().correct(review));
+		praktomat.addSolution(solution.get().correct(review));
 
 		return Validation.success(review);
 	}
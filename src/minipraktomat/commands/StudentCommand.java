@@ -74,7 +74,7 @@ public class StudentCommand extends ShellCommand {
 		if (opt.isDefined()) {
 			return Validation.fail("duplicate id");
 		}
-		final Student student = new Student(name, id, tutor, praktomat);
+		final Student student = new Student(name, id, tutor);
 		praktomat.addStudent(student);
 		return Validation.success(student);
 	}
@@ -1,7 +1,5 @@
 package minipraktomat.commands;
 
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 import minipraktomat.Praktomat;
@@ -43,8 +41,7 @@ public class StudentSummaryCommand extends ShellCommand {
 	 */
 	@Override
 	protected Validation<String, String> handleParameters(final List<String> arguments) {
-		final List<Student> students = praktomat.getStudents();
-		sortStudents(students);
+		final List<Student> students = praktomat.getStudentRanking().getStudents();
 
 		final StringBuilder result = new StringBuilder();
 		for (final Student student : students) {
@@ -57,27 +54,6 @@ public class StudentSummaryCommand extends ShellCommand {
 		return Validation.success(result.toString());
 	}
 
-	private void sortStudents(final List<Student> students) {
-		final Comparator<Student> comparator = new Comparator<Student>() {
-
-			@Override
-			public int compare(final Student o1, final Student o2) {
-				String average1 = averageGrade(o1);
-				if (average1.equals("-")) {
-					average1 = "~";
-				}
-				String average2 = averageGrade(o2);
-				if (average2.equals("-")) {
-					average2 = "~";
-				}
-				final int compare = average1.compareTo(average2);
-				return compare == 0 ? o1.compareTo(o2) : compare;
-			}
-		};
-
-		Collections.sort(students, comparator);
-	}
-
 	private String averageGrade(final Student student) {
 		double averageGrade = student.averageGrade();
 		if (averageGrade == -1) {
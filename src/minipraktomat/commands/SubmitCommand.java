@@ -75,15 +75,12 @@ public class SubmitCommand extends ShellCommand {
 		}
 		final Option<Solution> existingSolution = task.get().findSolution(
 				student.get());
-		if (existingSolution.isDefined()) {
-			if (existingSolution.get().isCorrected()) {
-				return Validation.fail("solution already exists");
-			}
-			task.get().removeSolution(existingSolution.get());
+		if (existingSolution.isDefined() && existingSolution.get().isCorrected()) {
+			return Validation.fail("solution already exists");
 		}
 
 		final Solution solution = new Solution(text, task.get(), student.get());
-		task.get().addSolution(solution);
+		praktomat.addSolution(solution);
 		return Validation.success(solution);
 	}
 
@@ -5,7 +5,7 @@ import java.util.List;
 
 import minipraktomat.Praktomat;
 import minipraktomat.Validation;
-import minipraktomat.data.Solution;
+import minipraktomat.data.GradeDistribution;
 import minipraktomat.data.Task;
 
 
@@ -53,32 +53,22 @@ public class TaskSummaryCommand extends ShellCommand {
 			}
 			result.append("task id(").append(task.getId()).append("): ").append(task.getText());
 
-			final List<Solution> solutions = task.getSolutions();
-			final List<Solution> corrected = task.getCorrectedSolutions();
-			final double average = task.averageGrade();
+			final GradeDistribution grades = task.getGrades();
+			final double average = grades.averageGrade();
 			final String averageGrade = average == -1 ? "-" : String.format("%.02f", average);
-			final int[] distributions = distributions(corrected);
 
-			result.append("\nsubmitted: ").append(solutions.size());
-			result.append("\nreviewed: ").append(corrected.size());
+			result.append("\nsubmitted: ").append(task.getNumOfSolutions());
+			result.append("\nreviewed: ").append(grades.getNumOfGrades());
 			result.append("\naverage grade: ")
 					.append(averageGrade);
 			result.append("\ndistribution: ")
-					.append(distributions[0]).append("x1, ")
-					.append(distributions[1]).append("x2, ")
-					.append(distributions[2]).append("x3, ")
-					.append(distributions[3]).append("x4, ")
-					.append(distributions[4]).append("x5");
+					.append(grades.getCount(1)).append("x1, ")
+					.append(grades.getCount(2)).append("x2, ")
+					.append(grades.getCount(3)).append("x3, ")
+					.append(grades.getCount(4)).append("x4, ")
+					.append(grades.getCount(5)).append("x5");
 		}
 		return Validation.success(result.toString());
 	}
 
-	private int[] distributions(final List<Solution> solutions) {
-		final int[] distributions = new int[5];
-		for (final Solution solution : solutions) {
-			distributions[solution.getReview().getGrade() - 1] += 1;
-		}
-		return distributions;
-	}
-
 }
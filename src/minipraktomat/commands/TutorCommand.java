@@ -60,7 +60,7 @@ public class TutorCommand extends ShellCommand {
 		if (opt.isDefined()) {
 			return opt.toValidation();
 		}
-		final Tutor tutor = new Tutor(name, praktomat);
+		final Tutor tutor = new Tutor(name);
 		praktomat.addTutor(tutor);
 		return Validation.success(tutor);
 	}
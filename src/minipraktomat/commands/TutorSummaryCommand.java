@@ -5,7 +5,6 @@ import java.util.List;
 
 import minipraktomat.Praktomat;
 import minipraktomat.Validation;
-import minipraktomat.data.Solution;
 import minipraktomat.data.Student;
 import minipraktomat.data.Tutor;
 
@@ -53,12 +52,11 @@ public class TutorSummaryCommand extends ShellCommand {
 				result.append("\n");
 			}
 			final List<Student> studentsOfTutor = praktomat.getStudentsOfTutor(tutor);
-			final List<Solution> todo = praktomat.getUncorrectedSolutionsOfTutor(tutor);
 			final String average = formatAverageGrade(tutor);
 
 			result.append(tutor.getName()).append(": ")
 					.append(studentsOfTutor.size()).append(" students, ")
-					.append(todo.size()).append(" missing review(s), ")
+					.append(tutor.getNumOfUncorrectedSolutions()).append(" missing review(s), ")
 					.append("average grade ").append(average);
 		}
 		return Validation.success(result.toString());
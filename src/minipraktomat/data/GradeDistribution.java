@@ -0,0 +1,73 @@
+package minipraktomat.data;
+
+/**
+ * Counts the grades of the reviews of a task, a tutor or a student. The counts
+ * are updated whenever a review is added or replaced, so the average grade
+ * and the distribution are available without visiting the solutions.
+ * 
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class GradeDistribution implements AverageGrade {
+
+	/** The lowest grade. */
+	public static final int MIN_GRADE = 1;
+
+	/** The highest grade. */
+	public static final int MAX_GRADE = 5;
+
+	private final int[] counts = new int[MAX_GRADE - MIN_GRADE + 1];
+	private int numOfGrades;
+	private int gradeSum;
+
+	/**
+	 * Returns the number of grades.
+	 * 
+	 * @return the number of grades
+	 */
+	public int getNumOfGrades() {
+		return numOfGrades;
+	}
+
+	/**
+	 * Returns how often a grade was given.
+	 * 
+	 * @param grade
+	 *        the grade
+	 * @return the number of reviews with this grade
+	 */
+	public int getCount(final int grade) {
+		return counts[grade - MIN_GRADE];
+	}
+
+	public double averageGrade() {
+		if (numOfGrades == 0) {
+			return -1;
+		}
+		return (double) gradeSum / numOfGrades;
+	}
+
+	/**
+	 * Counts a grade.
+	 * 
+	 * @param grade
+	 *        the grade
+	 */
+	void add(final int grade) {
+		counts[grade - MIN_GRADE] += 1;
+		numOfGrades += 1;
+		gradeSum += grade;
+	}
+
+	/**
+	 * Removes a counted grade.
+	 * 
+	 * @param grade
+	 *        the grade
+	 */
+	void remove(final int grade) {
+		counts[grade - MIN_GRADE] -= 1;
+		numOfGrades -= 1;
+		gradeSum -= grade;
+	}
+}
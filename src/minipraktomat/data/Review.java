@@ -9,7 +9,7 @@ package minipraktomat.data;
 public final class Review implements Comparable<Review> {
 
 	private final String text;
-	private int grade;
+	private final int grade;
 	private final Tutor tutor;
 	private final Solution solution;
 
@@ -51,16 +51,6 @@ public final class Review implements Comparable<Review> {
 		return grade;
 	}
 
-	/**
-	 * Sets the grade.
-	 * 
-	 * @param grade
-	 *        the grade
-	 */
-	public void setGrade(final int grade) {
-		this.grade = grade;
-	}
-
 	/**
 	 * Returns the tutor.
 	 * 
@@ -1,6 +1,9 @@
 package minipraktomat.data;
 
-import minipraktomat.Praktomat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a student.
@@ -13,7 +16,8 @@ public final class Student implements Comparable<Student>,AverageGrade {
 	private final String name;
 	private final int id;
 	private final Tutor tutor;
-	private final Praktomat praktomat;
+	private final Map<Integer, Solution> solutions = new HashMap<Integer, Solution>();
+	private final GradeDistribution grades = new GradeDistribution();
 
 	/**
 	 * Creates a new student
@@ -24,14 +28,11 @@ public final class Student implements Comparable<Student>,AverageGrade {
 	 *        the id
 	 * @param tutor
 	 *        the tutor
-	 * @param praktomat
-	 *        the praktomat
 	 */
-	public Student(final String name, final int id, final Tutor tutor, final Praktomat praktomat) {
+	public Student(final String name, final int id, final Tutor tutor) {
 		this.name = name;
 		this.id = id;
 		this.tutor = tutor;
-		this.praktomat = praktomat;
 	}
 
 	/**
@@ -61,6 +62,45 @@ public final class Student implements Comparable<Student>,AverageGrade {
 		return tutor;
 	}
 
+	/**
+	 * Returns the grades of the reviews of this student.
+	 * 
+	 * @return the grades
+	 */
+	public GradeDistribution getGrades() {
+		return grades;
+	}
+
+	/**
+	 * Returns the solutions of this student for all tasks.
+	 * 
+	 * @return the solutions
+	 */
+	public List<Solution> getSolutions() {
+		return new ArrayList<Solution>(solutions.values());
+	}
+
+	/**
+	 * Saves the solution of a task, called by the task whenever it is added
+	 * or replaced.
+	 * 
+	 * @param solution
+	 *        the solution
+	 */
+	void putSolution(final Solution solution) {
+		solutions.put(solution.getTask().getId(), solution);
+	}
+
+	/**
+	 * Forgets the solution of a task, called by the task when it is removed.
+	 * 
+	 * @param task
+	 *        the task
+	 */
+	void removeSolution(final Task task) {
+		solutions.remove(task.getId());
+	}
+
 	public int compareTo(final Student o) {
 		return getId() - o.getId();
 	}
@@ -84,19 +124,6 @@ public final class Student implements Comparable<Student>,AverageGrade {
 	}
 
 	public double averageGrade() {
-		int gradeSum = 0;
-		int reviews = 0;
-		for (final Task task : praktomat.getTasks()) {
-			for (final Solution solution : task.getCorrectedSolutions()) {
-				if (solution.getStudent() == this) {
-					gradeSum += solution.getReview().getGrade();
-					reviews += 1;
-				}
-			}
-		}
-		if (reviews == 0) {
-			return -1;
-		}
-		return (double) gradeSum / reviews;
+		return grades.averageGrade();
 	}
 }
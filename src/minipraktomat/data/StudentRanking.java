@@ -0,0 +1,113 @@
+package minipraktomat.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keeps the students ordered by their average grade, formatted with two
+ * decimals, and by their id if these are equal. Students without a review
+ * come last. The order is updated whenever the grades of a student change,
+ * so it never has to be sorted as a whole.
+ * 
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class StudentRanking {
+
+	private final TreeSet<Entry> entries = new TreeSet<Entry>();
+	private final Map<Student, Entry> entriesByStudent = new HashMap<Student, Entry>();
+
+	/**
+	 * Adds a student or moves it to its place after its grades have changed.
+	 * 
+	 * @param student
+	 *        the student
+	 */
+	public void update(final Student student) {
+		final Entry old = entriesByStudent.get(student);
+		if (old != null) {
+			if (old.average == student.averageGrade()) {
+				return;
+			}
+			entries.remove(old);
+		}
+		final Entry entry = new Entry(student);
+		entries.add(entry);
+		entriesByStudent.put(student, entry);
+	}
+
+	/**
+	 * Returns the number of students.
+	 * 
+	 * @return the number of students
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns all students in their order.
+	 * 
+	 * @return the students
+	 */
+	public List<Student> getStudents() {
+		return getStudents(0, entries.size());
+	}
+
+	/**
+	 * Returns a range of the students in their order.
+	 * 
+	 * @param first
+	 *        the index of the first student, 0 for the best one
+	 * @param count
+	 *        the maximum number of students
+	 * @return the students
+	 */
+	public List<Student> getStudents(final int first, final int count) {
+		final List<Student> students = new ArrayList<Student>(
+				Math.max(0, Math.min(count, entries.size() - first)));
+		final Iterator<Entry> it = entries.iterator();
+		for (int i = 0; i < first && it.hasNext(); ++i) {
+			it.next();
+		}
+		while (students.size() < count && it.hasNext()) {
+			students.add(it.next().student);
+		}
+		return students;
+	}
+
+	/**
+	 * A student with the average grade it had when it was ranked.
+	 */
+	private static final class Entry implements Comparable<Entry> {
+
+		private final Student student;
+		private final double average;
+		private final String averageGrade;
+
+		Entry(final Student student) {
+			this.student = student;
+			average = student.averageGrade();
+			averageGrade = average == -1 ? "~" : String.format("%.02f", average);
+		}
+
+		public int compareTo(final Entry o) {
+			final int compare = averageGrade.compareTo(o.averageGrade);
+			return compare == 0 ? student.compareTo(o.student) : compare;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof Entry ? compareTo((Entry) obj) == 0 : false;
+		}
+
+		@Override
+		public int hashCode() {
+			return averageGrade.hashCode() * 37 + student.hashCode();
+		}
+	}
+}
@@ -1,16 +1,17 @@
 package minipraktomat.data;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import minipraktomat.Option;
 
 
 
 /**
- * Represents a task.
+ * Represents a task. Each student has at most one solution of a task, so the
+ * solutions are kept by the id of their student.
  * 
  * @version 0.1
  * @since JDK1.6, Feb 1, 2012
@@ -19,7 +20,8 @@ public final class Task implements Comparable<Task>, AverageGrade {
 
 	private final String text;
 	private final int id;
-	private final Set<Solution> solutions;
+	private final Map<Integer, Solution> solutions;
+	private final GradeDistribution grades = new GradeDistribution();
 
 	/**
 	 * Creates an new task.
@@ -32,7 +34,7 @@ public final class Task implements Comparable<Task>, AverageGrade {
 	public Task(final String text, final int id) {
 		this.text = text;
 		this.id = id;
-		solutions = new HashSet<Solution>();
+		solutions = new HashMap<Integer, Solution>();
 	}
 
 	/**
@@ -59,9 +61,27 @@ public final class Task implements Comparable<Task>, AverageGrade {
 	 * @return the solution
 	 */
 	public List<Solution> getSolutions() {
-		return new ArrayList<Solution>(solutions);
+		return new ArrayList<Solution>(solutions.values());
 	}
 	
+	/**
+	 * Returns the number of solutions associated with this task.
+	 * 
+	 * @return the number of solutions
+	 */
+	public int getNumOfSolutions() {
+		return solutions.size();
+	}
+
+	/**
+	 * Returns the grades of the reviews of this task.
+	 * 
+	 * @return the grades
+	 */
+	public GradeDistribution getGrades() {
+		return grades;
+	}
+
 	/**
 	 * Returns all corrected solutions associated with this task.
 	 * 
@@ -69,7 +89,7 @@ public final class Task implements Comparable<Task>, AverageGrade {
 	 */
 	public List<Solution> getCorrectedSolutions() {
 		final List<Solution> corrected = new ArrayList<Solution>();
-		for (final Solution solution : solutions) {
+		for (final Solution solution : solutions.values()) {
 			if (solution.isCorrected()) {
 				corrected.add(solution);
 			}
@@ -84,7 +104,7 @@ public final class Task implements Comparable<Task>, AverageGrade {
 	 */
 	public List<Solution> getUncorrectedSolutions() {
 		final List<Solution> corrected = new ArrayList<Solution>();
-		for (final Solution solution : solutions) {
+		for (final Solution solution : solutions.values()) {
 			if (!solution.isCorrected()) {
 				corrected.add(solution);
 			}
@@ -93,7 +113,9 @@ public final class Task implements Comparable<Task>, AverageGrade {
 	}
 
 	/**
-	 * Adds a solution.
+	 * Adds a solution. It replaces the solution of the same student if there
+	 * is one. The ranking of the students is only updated by
+	 * {@link minipraktomat.Praktomat#addSolution}.
 	 * 
 	 * @param solution
 	 *        the solution
@@ -102,7 +124,10 @@ public final class Task implements Comparable<Task>, AverageGrade {
 		if (solution == null) {
 			return;
 		}
-		solutions.add(solution);
+		final Solution old = solutions.put(solution.getStudent().getId(), solution);
+		uncount(old);
+		solution.getStudent().putSolution(solution);
+		count(solution);
 	}
 
 	/**
@@ -112,7 +137,41 @@ public final class Task implements Comparable<Task>, AverageGrade {
 	 *        the solution
 	 */
 	public void removeSolution(final Solution solution) {
-		solutions.remove(solution);
+		if (solution == null) {
+			return;
+		}
+		final Solution old = solutions.remove(solution.getStudent().getId());
+		if (old != null) {
+			uncount(old);
+			old.getStudent().removeSolution(this);
+		}
+	}
+
+	private void count(final Solution solution) {
+		final Tutor tutor = solution.getStudent().getTutor();
+		if (solution.isCorrected()) {
+			final int grade = solution.getReview().getGrade();
+			grades.add(grade);
+			solution.getStudent().getGrades().add(grade);
+			tutor.getGrades().add(grade);
+		} else {
+			tutor.addUncorrectedSolution(solution);
+		}
+	}
+
+	private void uncount(final Solution solution) {
+		if (solution == null) {
+			return;
+		}
+		final Tutor tutor = solution.getStudent().getTutor();
+		if (solution.isCorrected()) {
+			final int grade = solution.getReview().getGrade();
+			grades.remove(grade);
+			solution.getStudent().getGrades().remove(grade);
+			tutor.getGrades().remove(grade);
+		} else {
+			tutor.removeUncorrectedSolution(solution);
+		}
 	}
 
 	/**
@@ -123,12 +182,8 @@ public final class Task implements Comparable<Task>, AverageGrade {
 	 * @return an Option with the solution.
 	 */
 	public Option<Solution> findSolution(final Student student) {
-		for (final Solution solution : solutions) {
-			if (solution.getStudent().equals(student)) {
-				return Option.some(solution);
-			}
-		}
-		return Option.none();
+		final Solution solution = solutions.get(student.getId());
+		return solution == null ? Option.<Solution> none() : Option.some(solution);
 	}
 
 	/**
@@ -138,7 +193,7 @@ public final class Task implements Comparable<Task>, AverageGrade {
 	 */
 	public List<Review> getReviews() {
 		final List<Review> reviews = new ArrayList<Review>();
-		for (final Solution solution : solutions) {
+		for (final Solution solution : solutions.values()) {
 			if (solution.isCorrected()) {
 				reviews.add(solution.getReview());
 			}
@@ -169,14 +224,6 @@ public final class Task implements Comparable<Task>, AverageGrade {
 	}
 
 	public double averageGrade() {
-		final List<Solution> correctedSolutions = getCorrectedSolutions();
-		int gradeSum = 0;
-		for (final Solution solution : correctedSolutions) {
-			gradeSum += solution.getReview().getGrade();
-		}
-		if (correctedSolutions.size() == 0) {
-			return -1;
-		}
-		return (double) gradeSum / correctedSolutions.size();
+		return grades.averageGrade();
 	}
 }
@@ -1,6 +1,11 @@
 package minipraktomat.data;
 
-import minipraktomat.Praktomat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import minipraktomat.Option;
 
 /**
  * Represents a tutor
@@ -11,7 +16,8 @@ import minipraktomat.Praktomat;
 public final class Tutor implements Comparable<Tutor>,AverageGrade {
 
 	private final String name;
-	private final Praktomat praktomat;
+	private final GradeDistribution grades = new GradeDistribution();
+	private final Map<Long, Solution> uncorrectedSolutions = new LinkedHashMap<Long, Solution>();
 
 	/**
 	 * Creates a new tutor
@@ -19,9 +25,8 @@ public final class Tutor implements Comparable<Tutor>,AverageGrade {
 	 * @param name
 	 *        the name of the tutor.
 	 */
-	public Tutor(final String name, final Praktomat praktomat) {
+	public Tutor(final String name) {
 		this.name = name;
-		this.praktomat = praktomat;
 	}
 
 	/**
@@ -33,25 +38,78 @@ public final class Tutor implements Comparable<Tutor>,AverageGrade {
 		return name;
 	}
 
+	/**
+	 * Returns the grades of the reviews of the students of this tutor.
+	 * 
+	 * @return the grades
+	 */
+	public GradeDistribution getGrades() {
+		return grades;
+	}
+
+	/**
+	 * Returns the uncorrected solutions of the students of this tutor, the
+	 * oldest submission first.
+	 * 
+	 * @return the solutions
+	 */
+	public List<Solution> getUncorrectedSolutions() {
+		return new ArrayList<Solution>(uncorrectedSolutions.values());
+	}
+
+	/**
+	 * Returns the number of uncorrected solutions of the students of this
+	 * tutor.
+	 * 
+	 * @return the number of solutions
+	 */
+	public int getNumOfUncorrectedSolutions() {
+		return uncorrectedSolutions.size();
+	}
+
+	/**
+	 * Returns the uncorrected solution which was submitted first.
+	 * 
+	 * @return an Option with the solution
+	 */
+	public Option<Solution> nextUncorrectedSolution() {
+		if (uncorrectedSolutions.isEmpty()) {
+			return Option.none();
+		}
+		return Option.some(uncorrectedSolutions.values().iterator().next());
+	}
+
+	/**
+	 * Puts a submitted solution at the end of the uncorrected solutions.
+	 * 
+	 * @param solution
+	 *        the solution
+	 */
+	void addUncorrectedSolution(final Solution solution) {
+		uncorrectedSolutions.put(key(solution), solution);
+	}
+
+	/**
+	 * Removes a solution which was corrected or replaced.
+	 * 
+	 * @param solution
+	 *        the solution
+	 */
+	void removeUncorrectedSolution(final Solution solution) {
+		uncorrectedSolutions.remove(key(solution));
+	}
+
+	private static Long key(final Solution solution) {
+		return Long.valueOf((long) solution.getTask().getId() << 32
+				| solution.getStudent().getId() & 0xffffffffL);
+	}
+
 	public int compareTo(final Tutor o) {
 		return getName().compareTo(o.getName());
 	}
 
 	public double averageGrade() {
-		int gradeSum = 0;
-		int reviews = 0;
-		for (final Task task : praktomat.getTasks()) {
-			for (final Solution solution : task.getCorrectedSolutions()) {
-				if (solution.getStudent().getTutor() == this) {
-					gradeSum += solution.getReview().getGrade();
-					reviews += 1;
-				}
-			}
-		}
-		if (reviews == 0) {
-			return -1;
-		}
-		return (double) gradeSum / reviews;
+		return grades.averageGrade();
 	}
 	
 	@Override
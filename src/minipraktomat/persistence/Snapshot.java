@@ -0,0 +1,218 @@
+package minipraktomat.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import minipraktomat.Praktomat;
+import minipraktomat.data.Review;
+import minipraktomat.data.Solution;
+import minipraktomat.data.Student;
+import minipraktomat.data.Task;
+import minipraktomat.data.Tutor;
+
+/**
+ * The complete data of a praktomat in one binary file, together with the
+ * generation of the log which continues it. The reviewed solutions come first
+ * and the others follow in the order in which their tutors have to review
+ * them, so the review queues are the same after reading the snapshot. The
+ * file ends with a CRC-32 of its content.
+ * 
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+final class Snapshot {
+
+	private static final long MAGIC = 0x4d50534e41505331L;
+	private static final int VERSION = 1;
+
+	private final Praktomat praktomat;
+	private final long generation;
+
+	private Snapshot(final Praktomat praktomat, final long generation) {
+		this.praktomat = praktomat;
+		this.generation = generation;
+	}
+
+	/**
+	 * Returns the praktomat.
+	 * 
+	 * @return the praktomat
+	 */
+	Praktomat getPraktomat() {
+		return praktomat;
+	}
+
+	/**
+	 * Returns the generation of the log which continues this snapshot.
+	 * 
+	 * @return the generation
+	 */
+	long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Writes a snapshot to a temporary file, forces it to the disk and renames
+	 * it to the file, so the file is always either the old or the new
+	 * snapshot.
+	 * 
+	 * @param praktomat
+	 *        the praktomat
+	 * @param generation
+	 *        the generation of the log which continues the snapshot
+	 * @param file
+	 *        the file
+	 * @throws IOException
+	 *         if the file can't be written
+	 */
+	static void write(final Praktomat praktomat, final long generation, final File file)
+			throws IOException {
+		final File temporary = new File(file.getPath() + Storage.TEMPORARY_SUFFIX);
+		final FileOutputStream fileOut = new FileOutputStream(temporary);
+		try {
+			final CheckedOutputStream checked = new CheckedOutputStream(
+					new BufferedOutputStream(fileOut, 1 << 16), new CRC32());
+			final DataOutputStream out = new DataOutputStream(checked);
+			out.writeLong(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(generation);
+
+			final List<Tutor> tutors = praktomat.getTutors();
+			out.writeInt(tutors.size());
+			for (final Tutor tutor : tutors) {
+				out.writeUTF(tutor.getName());
+			}
+			out.writeBoolean(praktomat.getSelection().getTutor().isDefined());
+			if (praktomat.getSelection().getTutor().isDefined()) {
+				out.writeUTF(praktomat.getSelection().getTutor().get().getName());
+			}
+
+			final List<Student> students = praktomat.getStudents();
+			out.writeInt(students.size());
+			for (final Student student : students) {
+				out.writeInt(student.getId());
+				out.writeUTF(student.getName());
+				out.writeUTF(student.getTutor().getName());
+			}
+
+			final List<Task> tasks = praktomat.getTasks();
+			Collections.sort(tasks);
+			out.writeInt(tasks.size());
+			for (final Task task : tasks) {
+				out.writeInt(task.getId());
+				out.writeUTF(task.getText());
+			}
+
+			final List<Solution> corrected = new ArrayList<Solution>();
+			for (final Task task : tasks) {
+				corrected.addAll(task.getCorrectedSolutions());
+			}
+			out.writeInt(corrected.size());
+			for (final Solution solution : corrected) {
+				writeSolution(solution, out);
+				out.writeInt(solution.getReview().getGrade());
+				out.writeUTF(solution.getReview().getText());
+			}
+			final List<Solution> uncorrected = new ArrayList<Solution>();
+			for (final Tutor tutor : tutors) {
+				uncorrected.addAll(tutor.getUncorrectedSolutions());
+			}
+			out.writeInt(uncorrected.size());
+			for (final Solution solution : uncorrected) {
+				writeSolution(solution, out);
+			}
+
+			out.writeLong(checked.getChecksum().getValue());
+			out.flush();
+			fileOut.getFD().sync();
+		} finally {
+			fileOut.close();
+		}
+		if (!temporary.renameTo(file)) {
+			throw new IOException("can't rename " + temporary + " to " + file);
+		}
+	}
+
+	/**
+	 * Reads a snapshot.
+	 * 
+	 * @param file
+	 *        the file
+	 * @return the snapshot
+	 * @throws IOException
+	 *         if the file can't be read or isn't a valid snapshot
+	 */
+	static Snapshot read(final File file) throws IOException {
+		final CheckedInputStream checked = new CheckedInputStream(
+				new BufferedInputStream(new FileInputStream(file), 1 << 16), new CRC32());
+		final DataInputStream in = new DataInputStream(checked);
+		try {
+			if (in.readLong() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException(file + " is not a snapshot of this version");
+			}
+			final long generation = in.readLong();
+			final Praktomat praktomat = new Praktomat();
+
+			for (int i = in.readInt(); i > 0; --i) {
+				praktomat.addTutor(new Tutor(in.readUTF()));
+			}
+			if (in.readBoolean()) {
+				praktomat.saveSelection(praktomat.getSelection().selectTutor(
+						Storage.tutor(praktomat, in.readUTF())));
+			}
+			for (int i = in.readInt(); i > 0; --i) {
+				final int id = in.readInt();
+				final String name = in.readUTF();
+				praktomat.addStudent(new Student(name, id, Storage.tutor(praktomat, in.readUTF())));
+			}
+			for (int i = in.readInt(); i > 0; --i) {
+				final int id = in.readInt();
+				praktomat.addTask(new Task(in.readUTF(), id));
+			}
+			for (int i = in.readInt(); i > 0; --i) {
+				final Solution solution = readSolution(praktomat, in);
+				final int grade = in.readInt();
+				final Review review = new Review(in.readUTF(), grade,
+						solution.getStudent().getTutor(), solution);
+				praktomat.addSolution(solution.correct(review));
+			}
+			for (int i = in.readInt(); i > 0; --i) {
+				praktomat.addSolution(readSolution(praktomat, in));
+			}
+
+			final long checksum = checked.getChecksum().getValue();
+			if (in.readLong() != checksum) {
+				throw new IOException(file + " is damaged");
+			}
+			return new Snapshot(praktomat, generation);
+		} finally {
+			in.close();
+		}
+	}
+
+	private static void writeSolution(final Solution solution, final DataOutputStream out)
+			throws IOException {
+		out.writeInt(solution.getTask().getId());
+		out.writeInt(solution.getStudent().getId());
+		out.writeUTF(solution.getText());
+	}
+
+	private static Solution readSolution(final Praktomat praktomat, final DataInputStream in)
+			throws IOException {
+		final Task task = Storage.task(praktomat, in.readInt());
+		final Student student = Storage.student(praktomat, in.readInt());
+		return new Solution(in.readUTF(), task, student);
+	}
+}
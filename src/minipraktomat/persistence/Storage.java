@@ -0,0 +1,415 @@
+package minipraktomat.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+import minipraktomat.Option;
+import minipraktomat.Praktomat;
+import minipraktomat.PraktomatListener;
+import minipraktomat.data.Review;
+import minipraktomat.data.Solution;
+import minipraktomat.data.Student;
+import minipraktomat.data.Task;
+import minipraktomat.data.Tutor;
+
+/**
+ * Keeps the data of a praktomat in a directory, as a snapshot and a log of the
+ * changes since the snapshot.
+ * <p>
+ * The log is an append-only binary file. Each record holds one change: a tutor
+ * was added or selected, a student or a task was added, a solution was
+ * submitted or reviewed. A record is its length, its content and a CRC-32 of
+ * its content. The records of a command are collected in memory and written
+ * by {@link #commit()} in one write. The log is forced to the disk after every
+ * <code>syncEvery</code> commits, so a crash loses at most the last
+ * <code>syncEvery - 1</code> commands; 0 leaves it to the operating system
+ * until the storage is closed.
+ * <p>
+ * After <code>snapshotEvery</code> records a new snapshot is written and the
+ * log starts again empty. Snapshot and log carry a generation, which tells
+ * whether the log continues the snapshot or is already contained in it, if
+ * there was a crash between writing the one and the other. Recovery reads the
+ * snapshot and replays the log. A record at the end of the log which is
+ * incomplete or damaged is a write which didn't finish, and it is cut off.
+ * 
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class Storage implements PraktomatListener {
+
+	/** The suffix of files which are written before they are renamed. */
+	static final String TEMPORARY_SUFFIX = ".tmp";
+
+	private static final String SNAPSHOT = "snapshot";
+	private static final String LOG = "log";
+
+	private static final long MAGIC = 0x4d504c4f47000001L;
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 20;
+	private static final int MAX_RECORD_BYTES = 1 << 20;
+
+	private static final byte TUTOR = 1;
+	private static final byte SELECT = 2;
+	private static final byte STUDENT = 3;
+	private static final byte TASK = 4;
+	private static final byte SUBMIT = 5;
+	private static final byte REVIEW = 6;
+
+	private final File directory;
+	private final int syncEvery;
+	private final int snapshotEvery;
+
+	private final RecordBuffer record = new RecordBuffer();
+	private final DataOutputStream recordOut = new DataOutputStream(record);
+	private final RecordBuffer pending = new RecordBuffer();
+	private final DataOutputStream pendingOut = new DataOutputStream(pending);
+	private final CRC32 crc = new CRC32();
+
+	private Praktomat praktomat;
+	private long generation;
+	private FileOutputStream log;
+	private int unsynced;
+	private int records;
+
+	/**
+	 * Creates a new storage. Nothing is read or written before
+	 * {@link #recover()}.
+	 * 
+	 * @param directory
+	 *        the directory, created if it doesn't exist
+	 * @param syncEvery
+	 *        the number of commits after which the log is forced to the disk,
+	 *        0 for never
+	 * @param snapshotEvery
+	 *        the number of records after which a snapshot is written, 0 for
+	 *        never
+	 * @throws IllegalArgumentException
+	 *         if one of the numbers is negative
+	 */
+	public Storage(final File directory, final int syncEvery, final int snapshotEvery) {
+		if (syncEvery < 0 || snapshotEvery < 0) {
+			throw new IllegalArgumentException("the numbers of commits per sync and of records per"
+					+ " snapshot must not be negative");
+		}
+		this.directory = directory;
+		this.syncEvery = syncEvery;
+		this.snapshotEvery = snapshotEvery;
+	}
+
+	/**
+	 * Reads the snapshot, replays the log and records all further changes of
+	 * the praktomat.
+	 * 
+	 * @return the praktomat
+	 * @throws IOException
+	 *         if the files can't be read or written, or if they are damaged
+	 *         other than by an unfinished write at the end of the log
+	 */
+	public Praktomat recover() throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("can't create " + directory);
+		}
+		final File snapshotFile = new File(directory, SNAPSHOT);
+		if (snapshotFile.exists()) {
+			final Snapshot snapshot = Snapshot.read(snapshotFile);
+			praktomat = snapshot.getPraktomat();
+			generation = snapshot.getGeneration();
+		} else {
+			praktomat = new Praktomat();
+			generation = 0;
+		}
+		final File logFile = new File(directory, LOG);
+		final long end = logFile.exists() ? replay(logFile) : -1;
+		if (end < 0) {
+			createLog();
+		} else {
+			log = new FileOutputStream(logFile, true);
+			log.getChannel().truncate(end);
+		}
+		praktomat.setListener(this);
+		return praktomat;
+	}
+
+	/**
+	 * Replaces the data by an empty praktomat, which is written as a new
+	 * snapshot.
+	 * 
+	 * @param empty
+	 *        the new praktomat
+	 * @throws IOException
+	 *         if the snapshot can't be written
+	 */
+	public void reset(final Praktomat empty) throws IOException {
+		pending.reset();
+		praktomat.setListener(null);
+		praktomat = empty;
+		praktomat.setListener(this);
+		snapshot();
+	}
+
+	/**
+	 * Writes the records of the changes since the last commit to the log.
+	 * 
+	 * @throws IOException
+	 *         if the log can't be written
+	 */
+	public void commit() throws IOException {
+		if (pending.size() == 0) {
+			return;
+		}
+		pending.writeTo(log);
+		pending.reset();
+		if (syncEvery > 0 && ++unsynced >= syncEvery) {
+			sync();
+		}
+		if (snapshotEvery > 0 && records >= snapshotEvery) {
+			snapshot();
+		}
+	}
+
+	/**
+	 * Forces the log to the disk.
+	 * 
+	 * @throws IOException
+	 *         if the log can't be written
+	 */
+	public void sync() throws IOException {
+		log.getChannel().force(false);
+		unsynced = 0;
+	}
+
+	/**
+	 * Writes a snapshot of the current data and starts a new, empty log.
+	 * 
+	 * @throws IOException
+	 *         if the files can't be written
+	 */
+	public void snapshot() throws IOException {
+		commit();
+		Snapshot.write(praktomat, generation + 1, new File(directory, SNAPSHOT));
+		generation += 1;
+		createLog();
+	}
+
+	/**
+	 * Commits the last changes, forces the log to the disk and closes it.
+	 * 
+	 * @throws IOException
+	 *         if the log can't be written
+	 */
+	public void close() throws IOException {
+		commit();
+		sync();
+		log.close();
+		praktomat.setListener(null);
+	}
+
+	public void tutorAdded(final Tutor tutor) {
+		append(TUTOR, tutor.getName());
+	}
+
+	public void tutorSelected(final Tutor tutor) {
+		append(SELECT, tutor.getName());
+	}
+
+	public void studentAdded(final Student student) {
+		append(STUDENT, student.getId(), student.getName(), student.getTutor().getName());
+	}
+
+	public void taskAdded(final Task task) {
+		append(TASK, task.getId(), task.getText());
+	}
+
+	public void solutionAdded(final Solution solution) {
+		if (solution.isCorrected()) {
+			append(REVIEW, solution.getTask().getId(), solution.getStudent().getId(),
+					solution.getReview().getGrade(), solution.getReview().getText());
+		} else {
+			append(SUBMIT, solution.getTask().getId(), solution.getStudent().getId(),
+					solution.getText());
+		}
+	}
+
+	/**
+	 * Adds a record to the pending records, framed by its length and its CRC.
+	 * The fields are written as ints or as UTF strings.
+	 */
+	private void append(final byte type, final Object... fields) {
+		record.reset();
+		try {
+			recordOut.writeByte(type);
+			for (final Object field : fields) {
+				if (field instanceof Integer) {
+					recordOut.writeInt((Integer) field);
+				} else {
+					recordOut.writeUTF((String) field);
+				}
+			}
+			crc.reset();
+			crc.update(record.buffer(), 0, record.size());
+			pendingOut.writeInt(record.size());
+			record.writeTo(pendingOut);
+			pendingOut.writeInt((int) crc.getValue());
+		} catch (final IOException e) {
+			// the streams write to memory
+			throw new IllegalStateException(e);
+		}
+		records += 1;
+	}
+
+	private void createLog() throws IOException {
+		if (log != null) {
+			log.close();
+		}
+		final File file = new File(directory, LOG);
+		final File temporary = new File(directory, LOG + TEMPORARY_SUFFIX);
+		final FileOutputStream out = new FileOutputStream(temporary);
+		try {
+			final DataOutputStream header = new DataOutputStream(out);
+			header.writeLong(MAGIC);
+			header.writeInt(VERSION);
+			header.writeLong(generation);
+			header.flush();
+			out.getFD().sync();
+		} finally {
+			out.close();
+		}
+		if (!temporary.renameTo(file)) {
+			throw new IOException("can't rename " + temporary + " to " + file);
+		}
+		log = new FileOutputStream(file, true);
+		unsynced = 0;
+		records = 0;
+	}
+
+	/**
+	 * Replays the records of a log which continues the snapshot.
+	 * 
+	 * @return the length of the complete records, -1 if the log is already
+	 *         contained in the snapshot
+	 */
+	private long replay(final File file) throws IOException {
+		final DataInputStream in =
+				new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+		try {
+			if (in.readLong() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException(file + " is not a log of this version");
+			}
+			final long logGeneration = in.readLong();
+			if (logGeneration < generation) {
+				return -1;
+			}
+			if (logGeneration > generation) {
+				throw new IOException(file + " is newer than the snapshot");
+			}
+			long end = HEADER_BYTES;
+			byte[] bytes = new byte[256];
+			while (true) {
+				final int length;
+				try {
+					length = in.readInt();
+					if (length <= 0 || length > MAX_RECORD_BYTES) {
+						break;
+					}
+					if (bytes.length < length) {
+						bytes = new byte[Math.max(length, 2 * bytes.length)];
+					}
+					in.readFully(bytes, 0, length);
+					crc.reset();
+					crc.update(bytes, 0, length);
+					if (in.readInt() != (int) crc.getValue()) {
+						break;
+					}
+				} catch (final EOFException e) {
+					break;
+				}
+				apply(new DataInputStream(new ByteArrayInputStream(bytes, 0, length)));
+				end += length + 8;
+				records += 1;
+			}
+			return end;
+		} finally {
+			in.close();
+		}
+	}
+
+	private void apply(final DataInputStream in) throws IOException {
+		final byte type = in.readByte();
+		if (type == TUTOR) {
+			praktomat.addTutor(new Tutor(in.readUTF()));
+		} else if (type == SELECT) {
+			praktomat.saveSelection(praktomat.getSelection().selectTutor(
+					tutor(praktomat, in.readUTF())));
+		} else if (type == STUDENT) {
+			final int id = in.readInt();
+			final String name = in.readUTF();
+			praktomat.addStudent(new Student(name, id, tutor(praktomat, in.readUTF())));
+		} else if (type == TASK) {
+			final int id = in.readInt();
+			praktomat.addTask(new Task(in.readUTF(), id));
+		} else if (type == SUBMIT) {
+			final Task task = task(praktomat, in.readInt());
+			final Student student = student(praktomat, in.readInt());
+			praktomat.addSolution(new Solution(in.readUTF(), task, student));
+		} else if (type == REVIEW) {
+			final Task task = task(praktomat, in.readInt());
+			final Student student = student(praktomat, in.readInt());
+			final Option<Solution> solution = task.findSolution(student);
+			if (!solution.isDefined()) {
+				throw new IOException("review of a missing solution in the log");
+			}
+			final int grade = in.readInt();
+			final Review review = new Review(in.readUTF(), grade, student.getTutor(), solution.get());
+			praktomat.addSolution(solution.get().correct(review));
+		} else {
+			throw new IOException("unknown record " + type + " in the log");
+		}
+	}
+
+	static Tutor tutor(final Praktomat praktomat, final String name) throws IOException {
+		final Option<Tutor> tutor = praktomat.findTutor(name);
+		if (!tutor.isDefined()) {
+			throw new IOException("missing tutor " + name);
+		}
+		return tutor.get();
+	}
+
+	static Student student(final Praktomat praktomat, final int id) throws IOException {
+		final Option<Student> student = praktomat.findStudent(id);
+		if (!student.isDefined()) {
+			throw new IOException("missing student " + id);
+		}
+		return student.get();
+	}
+
+	static Task task(final Praktomat praktomat, final int id) throws IOException {
+		final Option<Task> task = praktomat.findTask(id);
+		if (!task.isDefined()) {
+			throw new IOException("missing task " + id);
+		}
+		return task.get();
+	}
+
+	/**
+	 * A byte array output stream whose buffer can be read without a copy.
+	 */
+	private static final class RecordBuffer extends ByteArrayOutputStream {
+
+		RecordBuffer() {
+			super(256);
+		}
+
+		byte[] buffer() {
+			return buf;
+		}
+	}
+}
@@ -0,0 +1,238 @@
+package othello;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import othello.engine.SearchBoard;
+import othello.engine.SearchLimits;
+import othello.engine.SearchResult;
+import othello.engine.Searcher;
+import othello.engine.TranspositionTable;
+
+
+/**
+ * Searches the best move of many positions which are read from a stream. A
+ * position is a line in the syntax of the newGame command, optionally
+ * followed by lines in the syntax of the hole command:
+ * <p>
+ * newGame 4 4 ----,-WB-,-BW-,----<br>
+ * hole A1:A1
+ * <p>
+ * The positions are searched by a fixed number of workers. Only a limited
+ * number of positions is read ahead, therefore the input can be of any size.
+ * The results are written in the order of the input as soon as they are
+ * available. The positions are parsed like the commands of the {@link Shell}.
+ * <p>
+ * All searches share one transposition table. Its keys include the holes, so
+ * positions with different holes never share entries. A batch can be stopped
+ * from any other thread.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public class BatchSolver {
+
+	private final SearchLimits limits;
+	private final int numOfWorkers;
+	private final TranspositionTable table;
+	private final Set<Searcher> running =
+			Collections.newSetFromMap(new ConcurrentHashMap<Searcher, Boolean>());
+	private volatile boolean isStopRequested;
+
+	/**
+	 * Creates a new instance with one worker per processor.
+	 *
+	 * @param limits
+	 *        the limits of the search of each position
+	 * @param table
+	 *        the transposition table which is shared by all workers
+	 */
+	public BatchSolver(final SearchLimits limits, final TranspositionTable table) {
+		this(limits, table, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param limits
+	 *        the limits of the search of each position
+	 * @param table
+	 *        the transposition table which is shared by all workers
+	 * @param numOfWorkers
+	 *        the number of workers
+	 */
+	public BatchSolver(final SearchLimits limits, final TranspositionTable table,
+			final int numOfWorkers) {
+		InputValidation.require(numOfWorkers > 0, "invalid number of workers");
+		this.limits = limits;
+		this.table = table;
+		this.numOfWorkers = numOfWorkers;
+	}
+
+	/**
+	 * Stops the running searches, which report the result of their deepest
+	 * completed iteration, and lets the batch skip the remaining positions.
+	 * It can be called from any thread and does not wait.
+	 */
+	public void stop() {
+		isStopRequested = true;
+		stopRunning();
+	}
+
+	/**
+	 * Searches all positions of a reader and writes one result line per
+	 * position, followed by a summary line. After {@link #stop()} no more
+	 * positions are read, and those which have not started are skipped.
+	 *
+	 * @param in
+	 *        the reader of the positions
+	 * @param out
+	 *        the stream the results are written to
+	 * @return the number of positions
+	 * @throws IOException
+	 *         if the input can't be read
+	 */
+	public int solve(final BufferedReader in, final PrintStream out) throws IOException {
+		final long start = System.nanoTime();
+		final int maxPending = numOfWorkers * 4;
+		final ExecutorService pool = Executors.newFixedThreadPool(numOfWorkers);
+		final Queue<Future<String>> pending = new ArrayDeque<Future<String>>();
+		int count = 0;
+
+		try {
+			final StringBuilder position = new StringBuilder();
+			String line = in.readLine();
+			while (line != null && !isStopRequested) {
+				line = line.trim();
+				if (line.startsWith("newGame") && position.length() > 0) {
+					pending.add(pool.submit(task(++count, position.toString())));
+					position.setLength(0);
+					writeDone(pending, out, pending.size() >= maxPending);
+				}
+				if (!line.isEmpty() && !"quit".equals(line)) {
+					position.append(line).append('\n');
+				}
+				line = in.readLine();
+			}
+			if (position.length() > 0 && !isStopRequested) {
+				pending.add(pool.submit(task(++count, position.toString())));
+			}
+			while (!pending.isEmpty()) {
+				writeDone(pending, out, true);
+			}
+		} finally {
+			pool.shutdownNow();
+			stopRunning();
+		}
+
+		final double seconds = (System.nanoTime() - start) / 1e9;
+		out.println("solved " + count + " positions");
+		out.println(String.format("time: %.3fs (%.1f positions/s)",
+				seconds, seconds > 0 ? count / seconds : 0.0));
+		return count;
+	}
+
+	private void stopRunning() {
+		for (final Searcher searcher : running) {
+			searcher.stop();
+		}
+	}
+
+	private static void writeDone(final Queue<Future<String>> pending, final PrintStream out,
+			final boolean waitForFirst) {
+		boolean wait = waitForFirst;
+		while (!pending.isEmpty() && (wait || pending.peek().isDone())) {
+			out.println(get(pending.poll()));
+			wait = false;
+		}
+	}
+
+	private static String get(final Future<String> future) {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private Callable<String> task(final int number, final String position) {
+		return new Callable<String>() {
+
+			@Override
+			public String call() {
+				if (isStopRequested) {
+					return number + ": stopped";
+				}
+				try {
+					return number + ": " + solve(parse(position));
+				} catch (final IllegalArgumentException e) {
+					return number + ": Error! " + e.getMessage();
+				}
+			}
+		};
+	}
+
+	private String solve(final Game game) {
+		Game cur = game;
+		String prefix = "";
+		if (!cur.canMove()) {
+			final Game passed = cur.passMove();
+			if (!passed.canMove()) {
+				return "game over";
+			}
+			prefix = cur.getCurPlayer() + " passes, ";
+			cur = passed;
+		}
+		final Searcher searcher = new Searcher(SearchBoard.of(cur), table);
+		running.add(searcher);
+		if (isStopRequested) {
+			searcher.stop();
+		}
+		final SearchResult result;
+		try {
+			result = searcher.search(limits);
+		} finally {
+			running.remove(searcher);
+		}
+		return String.format("%s%s %s (score %s, depth %d)", prefix, cur.getCurPlayer(),
+				result.getBestMove(), result.formatScore(), result.getDepth());
+	}
+
+	/**
+	 * Creates a game from a newGame line which is optionally followed by hole
+	 * lines.
+	 *
+	 * @param position
+	 *        the lines
+	 * @return the game if the lines are valid. Otherwise an exception is thrown.
+	 */
+	static Game parse(final String position) {
+		final String[] lines = position.split("\n");
+		final List<String> args = Arrays.asList(lines[0].split("\\s+"));
+		InputValidation.require("newGame".equals(args.get(0)), "position must start with newGame");
+		Game game = Shell.newGame(args.subList(1, args.size()));
+
+		for (int i = 1; i < lines.length; ++i) {
+			final List<String> hole = Arrays.asList(lines[i].split("\\s+"));
+			InputValidation.require("hole".equals(hole.get(0)), "invalid line");
+			game = Shell.addHole(game, hole.subList(1, hole.size()));
+		}
+		return game;
+	}
+}
@@ -0,0 +1,252 @@
+package othello;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import othello.engine.Engine;
+import othello.engine.SearchListener;
+import othello.engine.SearchResult;
+
+
+/**
+ * A line based protocol for graphical interfaces and test harnesses. It
+ * understands the commands of {@link Shell}, but never blocks the input while
+ * a command runs: the commands are queued and executed one after another by a
+ * worker thread, and the searches of "ai" report every completed iteration as
+ * a line
+ * <p>
+ * <code>info depth &lt;d&gt; score &lt;s&gt; nodes &lt;n&gt; time &lt;ms&gt; pv &lt;moves&gt;</code>
+ * <p>
+ * The following commands are handled at once by the thread which reads the
+ * input, even while a search runs:
+ * <ul>
+ * <li>"stop" stops the running or next queued "ai" or "analyze" command,
+ * which then finishes with the result of its deepest completed iteration.</li>
+ * <li>"isready" answers "readyok".</li>
+ * <li>"ponderhit [ms]" lets the running or next queued search stop after the
+ * given time, 1000ms if it is missing. It turns an "ai infinite" into a timed
+ * search.</li>
+ * <li>"quit" stops the running search, drops the queued commands and ends the
+ * protocol.</li>
+ * </ul>
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class EngineProtocol {
+
+	private static final long DEFAULT_PONDERHIT_MILLIS = 1000L;
+
+	private final Engine engine;
+	private final PrintStream out;
+	private final Shell shell;
+	/** The commands for the worker thread, which ends at the first empty one. */
+	private final BlockingQueue<Option<String>> commands = new LinkedBlockingQueue<Option<String>>();
+	private final Object lock = new Object();
+	private int numOfQueuedSearches;
+	private boolean isSearching;
+	private boolean isNextSearchStopped;
+	private boolean isInfiniteSearch;
+	private boolean isInputEnded;
+	/** The deadline of the next queued search in nanoseconds, 0 if none. */
+	private long nextSearchDeadline;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param engine
+	 *        the engine which is used by the commands that search
+	 * @param out
+	 *        the stream all output is written to
+	 */
+	public EngineProtocol(final Engine engine, final PrintStream out) {
+		this.engine = engine;
+		this.out = out;
+		shell = new Shell(engine, out);
+		shell.setSearchListener(new SearchListener() {
+
+			@Override
+			public void iterationCompleted(final SearchResult result) {
+				final StringBuilder sb = new StringBuilder(64);
+				sb.append("info depth ").append(result.getDepth())
+						.append(" score ").append(result.formatScore())
+						.append(" nodes ").append(result.getNodes())
+						.append(" time ").append(result.getMillis())
+						.append(" pv");
+				for (final Position move : result.getPrincipalVariation()) {
+					sb.append(' ').append(move);
+				}
+				println(sb.toString());
+			}
+		});
+	}
+
+	/**
+	 * Reads and handles commands until "quit" is read or the input ends.
+	 * Queued commands which have not been started when the input ends are
+	 * still executed, but searches without limits are stopped, since nothing
+	 * else could stop them.
+	 *
+	 * @param in
+	 *        the input
+	 * @throws IOException
+	 *         if the input can't be read
+	 */
+	public void run(final BufferedReader in) throws IOException {
+		final Thread worker = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				executeCommands();
+			}
+		}, "othello-protocol");
+		worker.start();
+
+		try {
+			String line;
+			while ((line = in.readLine()) != null) {
+				final String input = line.trim();
+				if (input.isEmpty()) {
+					continue;
+				}
+				if ("quit".equals(input)) {
+					commands.clear();
+					stop();
+					break;
+				}
+				if (!handleAtOnce(input)) {
+					if (isSearch(input)) {
+						synchronized (lock) {
+							++numOfQueuedSearches;
+						}
+					}
+					commands.add(Option.some(input));
+				}
+			}
+		} finally {
+			synchronized (lock) {
+				isInputEnded = true;
+				if (isSearching && isInfiniteSearch) {
+					engine.stop();
+				}
+			}
+			commands.add(Option.<String> none());
+			boolean interrupted = false;
+			while (worker.isAlive()) {
+				try {
+					worker.join();
+				} catch (final InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private boolean handleAtOnce(final String input) {
+		final String[] args = input.split("\\s+");
+		if ("stop".equals(args[0]) && args.length == 1) {
+			stop();
+		} else if ("isready".equals(args[0]) && args.length == 1) {
+			println("readyok");
+		} else if ("ponderhit".equals(args[0]) && args.length <= 2) {
+			final Option<Integer> millis = args.length == 1
+					? Option.some((int) DEFAULT_PONDERHIT_MILLIS)
+					: InputValidation.parseInt(args[1].endsWith("ms")
+							? args[1].substring(0, args[1].length() - 2)
+							: args[1]);
+			if (millis.isDefined() && millis.get() > 0) {
+				limitTime(millis.get());
+			} else {
+				println("Error! invalid time");
+			}
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	private void stop() {
+		synchronized (lock) {
+			if (isSearching) {
+				engine.stop();
+			} else if (numOfQueuedSearches > 0) {
+				isNextSearchStopped = true;
+			}
+		}
+	}
+
+	private void limitTime(final long millis) {
+		synchronized (lock) {
+			if (isSearching) {
+				engine.limitTime(millis);
+				isInfiniteSearch = false;
+			} else if (numOfQueuedSearches > 0) {
+				nextSearchDeadline = System.nanoTime() + millis * 1000000L;
+			}
+		}
+	}
+
+	private void executeCommands() {
+		while (true) {
+			final Option<String> command;
+			try {
+				command = commands.take();
+			} catch (final InterruptedException e) {
+				return;
+			}
+			if (!command.isDefined()) {
+				return;
+			}
+			final String input = command.get();
+			final boolean isSearch = isSearch(input);
+			if (isSearch) {
+				synchronized (lock) {
+					--numOfQueuedSearches;
+					isSearching = true;
+					isInfiniteSearch = isInfinite(input) && nextSearchDeadline == 0;
+					if (nextSearchDeadline != 0) {
+						engine.limitTime(Math.max(0L,
+								(nextSearchDeadline - System.nanoTime()) / 1000000L));
+						nextSearchDeadline = 0;
+					}
+					if (isNextSearchStopped || isInputEnded && isInfiniteSearch) {
+						isNextSearchStopped = false;
+						engine.stop();
+					}
+				}
+			}
+			try {
+				shell.handleInput(input);
+			} finally {
+				if (isSearch) {
+					synchronized (lock) {
+						isSearching = false;
+						engine.clearStop();
+					}
+				}
+				out.flush();
+			}
+		}
+	}
+
+	private void println(final String line) {
+		out.println(line);
+		out.flush();
+	}
+
+	private static boolean isSearch(final String input) {
+		final String command = input.split("\\s+", 2)[0];
+		return "ai".equals(command) || "analyze".equals(command);
+	}
+
+	private static boolean isInfinite(final String input) {
+		return Arrays.asList(input.split("\\s+")).contains("infinite");
+	}
+}
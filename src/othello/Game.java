@@ -95,11 +95,18 @@ public class Game {
 	private final GameMode mode;
 	private final Board board;
 	private final Cell curPlayer;
+	private final List<Position> lastChanges;
 
 	private Game(final GameMode mode, final Board board, final Cell curPlayer) {
+		this(mode, board, curPlayer, Collections.<Position> emptyList());
+	}
+
+	private Game(final GameMode mode, final Board board, final Cell curPlayer,
+			final List<Position> lastChanges) {
 		this.mode = mode;
 		this.board = board;
 		this.curPlayer = curPlayer;
+		this.lastChanges = lastChanges;
 	}
 
 	/**
@@ -129,6 +136,18 @@ public class Game {
 		return curPlayer;
 	}
 
+	/**
+	 * Returns the positions which were changed by the move that created this
+	 * game object. The first position is the one moved to, the others are the
+	 * flipped ones. The list is empty if this game object was not created by a
+	 * move.
+	 * 
+	 * @return the changed positions
+	 */
+	public List<Position> getLastChanges() {
+		return lastChanges;
+	}
+
 	/**
 	 * Returns the next player.
 	 * 
@@ -171,8 +190,10 @@ public class Game {
 	public Game moveTo(final Position pos) {
 		InputValidation.require(getPossibleMoves().contains(pos),
 				"it is impossible to move to position " + pos);
-		final Board newBoard = transformBy(pos);
-		return new Game(GameMode.ACTIVE_MODE, newBoard, getNextPlayer());
+		final List<Position> changes = getCellsToTransform(pos);
+		final Board newBoard = board.transformBy(changes, curPlayer);
+		return new Game(GameMode.ACTIVE_MODE, newBoard, getNextPlayer(),
+				Collections.unmodifiableList(changes));
 	}
 
 	/**
@@ -219,7 +240,7 @@ public class Game {
 		return new Game(GameMode.GAME_OVER_MODE, board, curPlayer);
 	}
 
-	private Board transformBy(final Position pos) {
+	private List<Position> getCellsToTransform(final Position pos) {
 		final List<Position> positions = new ArrayList<Position>();
 		positions.add(pos);
 
@@ -229,7 +250,7 @@ public class Game {
 					direction, new ArrayList<Position>());
 			positions.addAll(p);
 		}
-		return board.transformBy(positions, curPlayer);
+		return positions;
 	}
 
 	private List<Position> getCellsToTransform(final Position pos, final Direction direction,
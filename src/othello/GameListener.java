@@ -0,0 +1,20 @@
+package othello;
+
+/**
+ * Is informed when the game of a shell changes.
+ * 
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public interface GameListener {
+
+	/**
+	 * Is called after the game has changed.
+	 * 
+	 * @param oldGame
+	 *        the game before the change
+	 * @param newGame
+	 *        the game after the change
+	 */
+	void gameChanged(Game oldGame, Game newGame);
+}
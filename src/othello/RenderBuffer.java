@@ -0,0 +1,104 @@
+package othello;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+
+/**
+ * The printed form of the board of a shell, kept as ASCII bytes with one line
+ * per row and the line of the current player at the end. A move only changes
+ * the bytes of the squares it changed; every other change of the game renders
+ * the board again from scratch the next time it is printed.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+final class RenderBuffer {
+
+	private static final byte[] TURN = { 't', 'u', 'r', 'n', ':', ' ' };
+	private static final byte[] LINE_SEPARATOR = System.getProperty("line.separator").getBytes();
+
+	private byte[] bytes = new byte[0];
+	private int boardLength;
+	private int length;
+	private int lineLength;
+	private Game rendered;
+
+	/**
+	 * Updates the buffer after the game of the shell has changed.
+	 *
+	 * @param oldGame
+	 *        the game before the change
+	 * @param newGame
+	 *        the game after the change
+	 */
+	void gameChanged(final Game oldGame, final Game newGame) {
+		if (rendered == null || rendered != oldGame) {
+			rendered = null;
+			return;
+		}
+		if (newGame.getBoard() != oldGame.getBoard()) {
+			if (newGame.getLastChanges().isEmpty()) {
+				rendered = null;
+				return;
+			}
+			final byte sign = (byte) oldGame.getCurPlayer().getSign();
+			for (final Position pos : newGame.getLastChanges()) {
+				bytes[(pos.getY() - 1) * lineLength + pos.getX() - 1] = sign;
+			}
+		}
+		if (newGame.getCurPlayer() != oldGame.getCurPlayer()) {
+			renderTurn(newGame.getCurPlayer());
+		}
+		rendered = newGame;
+	}
+
+	/**
+	 * Writes the board of a game and its current player in one call.
+	 *
+	 * @param game
+	 *        the game
+	 * @param out
+	 *        the stream
+	 */
+	void print(final Game game, final PrintStream out) {
+		if (rendered != game) {
+			render(game);
+		}
+		out.write(bytes, 0, length);
+	}
+
+	private void render(final Game game) {
+		final Board board = game.getBoard();
+		lineLength = board.getWidth() + 1;
+		boardLength = board.getHeight() * lineLength;
+		final int capacity = boardLength + TURN.length + 5 + LINE_SEPARATOR.length;
+		if (bytes.length < capacity) {
+			bytes = new byte[capacity];
+		}
+		for (int y = 0; y < board.getHeight(); ++y) {
+			final int line = y * lineLength;
+			for (int x = 0; x < board.getWidth(); ++x) {
+				bytes[line + x] = '-';
+			}
+			bytes[line + board.getWidth()] = '\n';
+		}
+		for (final Map.Entry<Position, Cell> entry : board.getCells().entrySet()) {
+			final Position pos = entry.getKey();
+			bytes[(pos.getY() - 1) * lineLength + pos.getX() - 1] = (byte) entry.getValue().getSign();
+		}
+		renderTurn(game.getCurPlayer());
+		rendered = game;
+	}
+
+	private void renderTurn(final Cell player) {
+		System.arraycopy(TURN, 0, bytes, boardLength, TURN.length);
+		final String name = player.toString();
+		int i = boardLength + TURN.length;
+		for (int j = 0; j < name.length(); ++j) {
+			bytes[i++] = (byte) name.charAt(j);
+		}
+		System.arraycopy(LINE_SEPARATOR, 0, bytes, i, LINE_SEPARATOR.length);
+		length = i + LINE_SEPARATOR.length;
+	}
+}
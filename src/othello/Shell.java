@@ -1,10 +1,31 @@
 package othello;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+
+import othello.database.GameDatabase;
+import othello.database.MoveStatistics;
+import othello.engine.AnalysisCheckpoint;
+import othello.engine.AnalysisListener;
+import othello.engine.Engine;
+import othello.engine.MoveScore;
+import othello.engine.OffHeapTranspositionTable;
+import othello.engine.ProbCut;
+import othello.engine.SearchBoard;
+import othello.engine.SearchLimits;
+import othello.engine.SearchListener;
+import othello.engine.SearchResult;
+import othello.engine.SearchStatistics;
+import othello.engine.SmallBoardSolver;
+import othello.engine.SolvedTable;
 
 
 /**
@@ -15,17 +36,125 @@ import java.util.Map;
  */
 public class Shell {
 
+	private static final SearchLimits DEFAULT_LIMITS = SearchLimits.ofMillis(1000);
+
+	private final Engine engine;
+	private final PrintStream out;
+	private GameListener listener;
+	private SearchListener searchListener;
 	private boolean isRunning = true;
+	private boolean isPonderingEnabled = false;
 	private Game game = Game.empty();
+	private final RenderBuffer renderBuffer = new RenderBuffer();
+	private GameDatabase database;
+	private File databaseFile;
+	private File checkpointFile;
 
 	/**
 	 * The entry point of the application.
+	 * <p>
+	 * "-hash &lt;MB&gt;" lets the engine use an off-heap transposition table of
+	 * the given size, "-hash &lt;MB&gt; &lt;file&gt;" backs it with a file which
+	 * keeps its entries for the next start. "-protocol" in front of them
+	 * starts the {@link EngineProtocol} instead of the interactive shell. An
+	 * invalid size or a file which can't be mapped is reported as an error and
+	 * nothing is started.
 	 * 
 	 * @param args
 	 *        the arguments
+	 * @throws IOException
+	 *         if the standard input can't be read
+	 */
+	public static void main(final String... args) throws IOException {
+		final boolean isProtocol = args.length > 0 && "-protocol".equals(args[0]);
+		final List<String> options = Arrays.asList(args).subList(isProtocol ? 1 : 0, args.length);
+
+		OffHeapTranspositionTable table = null;
+		if (options.size() >= 2 && "-hash".equals(options.get(0))) {
+			try {
+				table = createTable(options.subList(1, options.size()));
+			} catch (final IllegalArgumentException e) {
+				System.out.println("Error! " + e.getMessage());
+				return;
+			}
+		}
+		final Engine engine = table == null ? new Engine() : new Engine(table);
+		try {
+			if (isProtocol) {
+				new EngineProtocol(engine, System.out).run(
+						new BufferedReader(new InputStreamReader(System.in)));
+			} else {
+				new Shell(engine, System.out).runShell();
+			}
+		} finally {
+			if (table != null) {
+				table.close();
+			}
+		}
+	}
+
+	private static OffHeapTranspositionTable createTable(final List<String> args) {
+		final Option<Integer> megabytes = InputValidation.parseInt(args.get(0));
+		InputValidation.require(megabytes.isDefined(), "invalid table size");
+		if (args.size() == 1) {
+			return OffHeapTranspositionTable.allocate(megabytes.get());
+		}
+		try {
+			return OffHeapTranspositionTable.map(new File(args.get(1)), megabytes.get());
+		} catch (final IOException e) {
+			throw new IllegalArgumentException("can't map file " + args.get(1), e);
+		}
+	}
+
+	/**
+	 * Creates a new instance which writes to the standard output.
+	 */
+	public Shell() {
+		this(new Engine(), System.out);
+	}
+
+	/**
+	 * Creates a new instance.
+	 * 
+	 * @param engine
+	 *        the engine which is used by the commands that search
+	 * @param out
+	 *        the stream all output is written to
+	 */
+	public Shell(final Engine engine, final PrintStream out) {
+		this.engine = engine;
+		this.out = out;
+	}
+
+	/**
+	 * Sets the listener which is informed about every change of the game.
+	 * 
+	 * @param listener
+	 *        the listener, null to remove it
+	 */
+	public void setGameListener(final GameListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Sets the listener which receives the iterations of the searches of the
+	 * "ai" command.
+	 * 
+	 * @param searchListener
+	 *        the listener, null to remove it
+	 */
+	public void setSearchListener(final SearchListener searchListener) {
+		this.searchListener = searchListener;
+	}
+
+	/**
+	 * Checks whether the shell is running, which is true until the quit
+	 * command is handled.
+	 * 
+	 * @return true if the shell is running
 	 */
-	public static void main(final String... args) {
-		new Shell().runShell();
+	public boolean isRunning() {
+		return isRunning;
 	}
 
 	/**
@@ -33,23 +162,33 @@ public class Shell {
 	 */
 	public void runShell() {
 		while (isRunning) {
+			if (isPonderingEnabled && isGameStarted()) {
+				engine.startPondering(game);
+			}
 			final String input = Terminal.askString("othello> ").trim();
+			engine.stopPondering();
 			if (!input.isEmpty()) {
 				handleInput(input);
 			}
 		}
 	}
 
-	private void handleInput(final String input) {
+	/**
+	 * Handles a single line of input.
+	 * 
+	 * @param input
+	 *        the trimmed, non-empty line
+	 */
+	public void handleInput(final String input) {
 		final List<String> args = Arrays.asList(input.split("\\s+"));
 		final String command = args.get(0);
 
 		try {
 			final long start = System.nanoTime();
 			handleCommand(command, args.subList(1, args.size()));
-			System.out.println("time: " + (System.nanoTime()-start)/1e6 + "ms");
+			out.println("time: " + (System.nanoTime()-start)/1e6 + "ms");
 		} catch (final IllegalArgumentException e) {
-			System.out.println("Error! " + e.getMessage());
+			out.println("Error! " + e.getMessage());
 		}
 	}
 
@@ -66,16 +205,52 @@ public class Shell {
 			abort();
 		} else if ("possibleMoves".equals(command)) {
 			showPossibleMoves();
+		} else if ("ai".equals(command)) {
+			moveByEngine(args);
+		} else if ("analyze".equals(command)) {
+			analyze(args);
+		} else if ("stats".equals(command)) {
+			showStatistics();
+		} else if ("batch".equals(command)) {
+			batch(args);
+		} else if ("lookup".equals(command)) {
+			lookup(args);
+		} else if ("checkpoint".equals(command)) {
+			setCheckpoint(args);
+		} else if ("solve".equals(command)) {
+			solve(args);
+		} else if ("tablebase".equals(command)) {
+			loadTablebase(args);
+		} else if ("probcut".equals(command)) {
+			setProbCut(args);
+		} else if ("ponder".equals(command)) {
+			setPondering(args);
 		} else if ("quit".equals(command)) {
 			isRunning = false;
 		} else {
-			System.out.println("command not found");
+			out.println("command not found");
 		}
 	}
 
 	private void createNewGame(final List<String> args) {
 		InputValidation.require(game.getMode().equals(GameMode.GAME_OVER_MODE),
 				"there is already an active game");
+
+		setGame(newGame(args));
+		if (!game.canMove()) {
+			calculatePass();
+		}
+	}
+
+	/**
+	 * Creates a game from the arguments of the newGame command.
+	 * 
+	 * @param args
+	 *        the width, the height and optionally the cells
+	 * @return the game if the arguments are valid. Otherwise an exception is
+	 *         thrown.
+	 */
+	static Game newGame(final List<String> args) {
 		InputValidation.require(args.size() == 2 || args.size() == 3,
 				"invalid number of arguments");
 
@@ -86,23 +261,38 @@ public class Shell {
 		final Option<Integer> height = InputValidation.parseInt(rawHeight);
 		InputValidation.require(width.isDefined() && height.isDefined(), "invalid number");
 
-		game = args.size() == 2
+		return args.size() == 2
 				? Game.valueOf(width.get(), height.get())
 				: Game.valueOf(width.get(), height.get(), args.get(2));
-		if (!game.canMove()) {
-			calculatePass();
-		}
 	}
 
 	private void createHole(final List<String> args) {
 		InputValidation.require(game.getMode().equals(GameMode.NEW_MODE),
 				"can't add hole area. there is no game yet or the game has already started");
+
+		setGame(addHole(game, args));
+		if (!game.canMove()) {
+			calculatePass();
+		}
+	}
+
+	/**
+	 * Adds the hole area of the arguments of the hole command to a game.
+	 * 
+	 * @param game
+	 *        the game
+	 * @param args
+	 *        the area
+	 * @return the game with the hole if the arguments are valid. Otherwise an
+	 *         exception is thrown.
+	 */
+	static Game addHole(final Game game, final List<String> args) {
 		InputValidation.require(args.size() == 1, "invalid number of arguments");
 
 		final String[] hole = args.get(0).split(":");
-		InputValidation.require(hole.length == 2, "invalid hole");
+		InputValidation.require(hole.length == 2 && !hole[0].isEmpty(), "invalid hole");
 
-		final Position[] parsedHole = parseHole(
+		final Position[] parsedHole = parseHole(game,
 				hole[0].charAt(0), hole[0].substring(1),
 				hole[1].charAt(0), hole[1].substring(1));
 		final Position from = parsedHole[0];
@@ -110,10 +300,7 @@ public class Shell {
 
 		InputValidation.require(!game.getBoard().containsCell(from, to),
 				"can't add hole. it is not empty");
-		game = game.addHole(from, to);
-		if (!game.canMove()) {
-			calculatePass();
-		}
+		return game.addHole(from, to);
 	}
 
 	private void move(final List<String> args) {
@@ -121,44 +308,197 @@ public class Shell {
 		InputValidation.require(args.size() == 1, "invalid number of arguments");
 
 		final String rawPos = args.get(0);
-		final Position pos = parsePosition(rawPos.charAt(0), rawPos.substring(1));
+		final Position pos = parsePosition(game, rawPos.charAt(0), rawPos.substring(1));
 
 		if (!game.getPossibleMoves().contains(pos)) {
-			System.out.println("Move not possible.");
+			out.println("Move not possible.");
 		} else {
-			game = game.moveTo(pos);
-			if (!game.canMove()) {
-				calculatePass();
-			}
+			play(pos);
 		}
 	}
 
-	private void print() {
+	private void moveByEngine(final List<String> args) {
 		requireGameStarted();
-		final int h = game.getBoard().getHeight();
-		final int w = game.getBoard().getWidth();
-		final char[][] board = new char[h][w];
+		InputValidation.require(args.size() <= 1, "invalid number of arguments");
+
+		final SearchLimits limits = args.isEmpty() ? DEFAULT_LIMITS : SearchLimits.valueOf(args.get(0));
+		final SearchResult result = engine.search(game, limits, searchListener);
+		out.println(String.format("%s moves to %s (score %s, depth %d).",
+				game.getCurPlayer(), result.getBestMove(), result.formatScore(), result.getDepth()));
+		play(result.getBestMove());
+	}
 
-		for (final Map.Entry<Position, Cell> entry : game.getBoard().getCells().entrySet()) {
-			final Position pos = entry.getKey();
-			final Cell cell = entry.getValue();
-			board[pos.getY() - 1][pos.getX() - 1] = cell.getSign();
+	private void analyze(final List<String> args) {
+		requireGameStarted();
+		final boolean resume = args.contains("--resume");
+		final List<String> limitArgs = new ArrayList<String>(args);
+		limitArgs.remove("--resume");
+		InputValidation.require(limitArgs.size() <= 1, "invalid number of arguments");
+		InputValidation.require(!resume || checkpointFile != null, "no checkpoint file");
+
+		final SearchLimits limits = limitArgs.isEmpty()
+				? DEFAULT_LIMITS
+				: SearchLimits.valueOf(limitArgs.get(0));
+		AnalysisCheckpoint checkpoint = null;
+		if (checkpointFile != null) {
+			try {
+				checkpoint = resume
+						? AnalysisCheckpoint.resume(checkpointFile, SearchBoard.of(game))
+						: AnalysisCheckpoint.create(checkpointFile, SearchBoard.of(game));
+			} catch (final IOException e) {
+				throw new IllegalArgumentException("can't map file " + checkpointFile, e);
+			}
 		}
+		try {
+			analyze(limits, checkpoint);
+		} finally {
+			if (checkpoint != null) {
+				try {
+					checkpoint.close();
+				} catch (final IOException e) {
+					out.println("Error! can't close file " + checkpointFile);
+				}
+			}
+		}
+	}
 
-		final StringBuilder sb = new StringBuilder((h + 1) * w);
-		for (int i = 0; i < h; ++i) {
-			for (int j = 0; j < w; ++j) {
-				sb.append(board[i][j] == 0 ? '-' : board[i][j]);
+	private void analyze(final SearchLimits limits, final AnalysisCheckpoint checkpoint) {
+		engine.analyze(game, limits, new AnalysisListener() {
+
+			@Override
+			public void depthCompleted(final int depth, final List<MoveScore> scores) {
+				final StringBuilder sb = new StringBuilder(scores.size() * 8);
+				for (int i = 0; i < scores.size() - 1; ++i) {
+					sb.append(scores.get(i)).append(",");
+				}
+				sb.append(scores.get(scores.size() - 1));
+				out.println("depth " + depth + ": " + sb);
 			}
-			sb.append('\n');
+		}, checkpoint);
+	}
+
+	private void solve(final List<String> args) {
+		InputValidation.require(!game.getMode().equals(GameMode.GAME_OVER_MODE),
+				"there is no game");
+		InputValidation.require(args.size() == 1, "invalid number of arguments");
+
+		final SmallBoardSolver solver = new SmallBoardSolver(SearchBoard.of(game, false),
+				Runtime.getRuntime().availableProcessors(), SmallBoardSolver.DEFAULT_CAPACITY);
+		final int diff;
+		try {
+			diff = solver.solve();
+		} catch (final IllegalStateException e) {
+			throw new IllegalArgumentException("board too large to be solved: " + e.getMessage(), e);
+		}
+		final File file = new File(args.get(0));
+		try {
+			solver.write(file);
+		} catch (final IOException e) {
+			throw new IllegalArgumentException("can't write file " + args.get(0), e);
+		}
+		out.println(String.format("%d positions solved, %s %s with perfect play.",
+				solver.getNumOfPositions(), game.getCurPlayer(),
+				diff > 0 ? "wins by " + diff : diff < 0 ? "loses by " + -diff : "draws"));
+		loadTablebase(args);
+	}
+
+	private void loadTablebase(final List<String> args) {
+		InputValidation.require(args.size() == 1, "invalid number of arguments");
+
+		try {
+			engine.addSolvedTable(SolvedTable.open(new File(args.get(0))));
+		} catch (final IOException e) {
+			throw new IllegalArgumentException("can't read file " + args.get(0), e);
 		}
-		System.out.print(sb);
-		System.out.println("turn: " + game.getCurPlayer());
+	}
+
+	private void setProbCut(final List<String> args) {
+		InputValidation.require(args.size() == 1, "invalid number of arguments");
+
+		if ("off".equals(args.get(0))) {
+			engine.setProbCut(null);
+			return;
+		}
+		try {
+			engine.setProbCut(ProbCut.load(new File(args.get(0))));
+		} catch (final IOException e) {
+			throw new IllegalArgumentException("can't read file " + args.get(0), e);
+		}
+	}
+
+	private void setCheckpoint(final List<String> args) {
+		InputValidation.require(args.size() == 1, "invalid number of arguments");
+
+		checkpointFile = "off".equals(args.get(0)) ? null : new File(args.get(0));
+	}
+
+	private void batch(final List<String> args) {
+		InputValidation.require(args.size() == 1 || args.size() == 2, "invalid number of arguments");
+
+		final SearchLimits limits = args.size() == 1 ? DEFAULT_LIMITS : SearchLimits.valueOf(args.get(1));
+		engine.stopPondering();
+		try {
+			final BufferedReader in = new BufferedReader(new FileReader(args.get(0)));
+			try {
+				new BatchSolver(limits, engine.getTable()).solve(in, out);
+			} finally {
+				in.close();
+			}
+		} catch (final IOException e) {
+			throw new IllegalArgumentException("can't read file " + args.get(0), e);
+		}
+	}
+
+	private void lookup(final List<String> args) {
+		requireGameStarted();
+		InputValidation.require(args.size() == 1, "invalid number of arguments");
+
+		final File file = new File(args.get(0));
+		if (database == null || !file.equals(databaseFile)) {
+			try {
+				database = GameDatabase.open(file);
+			} catch (final IOException e) {
+				throw new IllegalArgumentException("can't read file " + args.get(0), e);
+			}
+			databaseFile = file;
+		}
+		final List<MoveStatistics> moves = database.lookup(game);
+		if (moves.isEmpty()) {
+			out.println("Position not found.");
+		}
+		for (final MoveStatistics move : moves) {
+			out.println(move);
+		}
+	}
+
+	private void showStatistics() {
+		final SearchStatistics statistics = engine.getLastStatistics();
+		InputValidation.require(statistics != null, "nothing searched yet");
+		out.println(statistics);
+	}
+
+	private void setPondering(final List<String> args) {
+		InputValidation.require(args.size() == 1, "invalid number of arguments");
+		final String state = args.get(0);
+		InputValidation.require("on".equals(state) || "off".equals(state), "invalid argument");
+		isPonderingEnabled = "on".equals(state);
+	}
+
+	private void play(final Position pos) {
+		setGame(game.moveTo(pos));
+		if (!game.canMove()) {
+			calculatePass();
+		}
+	}
+
+	private void print() {
+		requireGameStarted();
+		renderBuffer.print(game, out);
 	}
 
 	private void abort() {
 		requireGameStarted();
-		game = game.endGame();
+		setGame(game.endGame());
 		calculateWinner();
 	}
 
@@ -173,24 +513,37 @@ public class Shell {
 		}
 		sb.append(possibleMoves.get(possibleMoves.size() - 1));
 
-		System.out.println("Possible moves: " + sb);
+		out.println("Possible moves: " + sb);
+	}
+
+	private void setGame(final Game newGame) {
+		final Game oldGame = game;
+		game = newGame;
+		renderBuffer.gameChanged(oldGame, newGame);
+		if (listener != null) {
+			listener.gameChanged(oldGame, newGame);
+		}
 	}
 
 	private void requireGameStarted() {
-		InputValidation.require(game.getMode().equals(GameMode.NEW_MODE)
-				|| game.getMode().equals(GameMode.ACTIVE_MODE),
-				"game not started");
+		InputValidation.require(isGameStarted(), "game not started");
+	}
+
+	private boolean isGameStarted() {
+		return game.getMode().equals(GameMode.NEW_MODE)
+				|| game.getMode().equals(GameMode.ACTIVE_MODE);
 	}
 
-	private Position[] parseHole(final char x1, final String y1, final char x2, final String y2) {
-		final Position pos1 = parsePosition(x1, y1);
-		final Position pos2 = parsePosition(x2, y2);
+	private static Position[] parseHole(final Game game,
+			final char x1, final String y1, final char x2, final String y2) {
+		final Position pos1 = parsePosition(game, x1, y1);
+		final Position pos2 = parsePosition(game, x2, y2);
 		InputValidation.require(pos1.compareTo(pos2) <= 0,
 				"second position must be greater than the first one");
 		return new Position[] { pos1, pos2 };
 	}
 
-	private Position parsePosition(final char x, final String y) {
+	private static Position parsePosition(final Game game, final char x, final String y) {
 		final Option<Integer> parsedY = InputValidation.parseInt(y);
 		InputValidation.require(parsedY.isDefined(), "invalid position");
 		final Position pos = Position.valueOf(x - 'A' + 1, parsedY.get());
@@ -203,13 +556,13 @@ public class Shell {
 		if (!passed.canMove()) {
 			calculateWinner();
 		} else {
-			System.out.println(game.getCurPlayer() + " passes.");
-			game = passed;
+			out.println(game.getCurPlayer() + " passes.");
+			setGame(passed);
 		}
 	}
 
 	private void calculateWinner() {
-		game = game.endGame();
+		setGame(game.endGame());
 
 		final List<Cell> white = new ArrayList<Cell>();
 		final List<Cell> black = new ArrayList<Cell>();
@@ -225,12 +578,12 @@ public class Shell {
 		final int numOfBlack = black.size();
 
 		if (numOfWhite == numOfBlack) {
-			System.out.println("Game has ended in a draw.");
+			out.println("Game has ended in a draw.");
 		} else {
 			final Cell winner = numOfWhite > numOfBlack ? Cell.WHITE : Cell.BLACK;
 			final int max = Math.max(numOfWhite, numOfBlack);
 			final int min = Math.min(numOfWhite, numOfBlack);
-			System.out.println(String.format("Game Over! %s has won (%d:%d)!", winner, max, min));
+			out.println(String.format("Game Over! %s has won (%d:%d)!", winner, max, min));
 		}
 	}
 
@@ -0,0 +1,52 @@
+package othello.bench;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import othello.Game;
+import othello.Position;
+
+
+/**
+ * The standard boards all benchmarks of the engine run on. They cover square
+ * and rectangular boards, symmetric and asymmetric holes and a mid-game
+ * position.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class BenchmarkBoards {
+
+	private BenchmarkBoards() {
+
+	}
+
+	/**
+	 * Returns all benchmark boards.
+	 *
+	 * @return the boards by their names
+	 */
+	public static Map<String, Game> all() {
+		final Map<String, Game> games = new LinkedHashMap<String, Game>();
+		games.put("8x8", Game.valueOf(8, 8));
+		games.put("8x8 corner holes", Game.valueOf(8, 8)
+				.addHole(pos(1, 1), pos(1, 1))
+				.addHole(pos(8, 1), pos(8, 1))
+				.addHole(pos(1, 8), pos(1, 8))
+				.addHole(pos(8, 8), pos(8, 8)));
+		games.put("8x8 one hole", Game.valueOf(8, 8).addHole(pos(2, 7), pos(3, 8)));
+		games.put("10x6", Game.valueOf(10, 6));
+		games.put("12x12 ring hole", Game.valueOf(12, 12)
+				.addHole(pos(1, 6), pos(2, 7))
+				.addHole(pos(11, 6), pos(12, 7))
+				.addHole(pos(6, 1), pos(7, 2))
+				.addHole(pos(6, 11), pos(7, 12)));
+		games.put("8x8 mid-game", Game.valueOf(8, 8,
+				"--------,--------,--BWB---,--WWWB--,--BWWW--,---B-W--,--------,--------"));
+		return games;
+	}
+
+	private static Position pos(final int x, final int y) {
+		return Position.valueOf(x, y);
+	}
+}
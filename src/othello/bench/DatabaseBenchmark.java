@@ -0,0 +1,141 @@
+package othello.bench;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import othello.Game;
+import othello.Position;
+import othello.database.GameDatabase;
+import othello.database.GameDatabaseBuilder;
+import othello.database.GameRecord;
+import othello.database.GameRecordWriter;
+import othello.engine.SearchBoard;
+
+
+/**
+ * Measures the import and the lookups of a game database. Random games on an
+ * 8x8 board are written as game records and imported with one thread and with
+ * one thread per processor. Then the positions of the first moves of other
+ * random games are looked up.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class DatabaseBenchmark {
+
+	private static final int LOOKUPS = 10000;
+	private static final int LOOKUP_PLIES = 12;
+
+	private DatabaseBenchmark() {
+
+	}
+
+	/**
+	 * The entry point of the benchmark.
+	 *
+	 * @param args
+	 *        the number of games, 100000 if missing
+	 * @throws IOException
+	 *         if a temporary file can't be written
+	 */
+	public static void main(final String... args) throws IOException {
+		final int numOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		final File dir = new File(System.getProperty("java.io.tmpdir"));
+		final File records = File.createTempFile("othello-games", ".ogr", dir);
+		final File index = File.createTempFile("othello-games", ".idx", dir);
+		try {
+			long start = System.nanoTime();
+			final Random random = new Random(1);
+			final GameRecordWriter writer = new GameRecordWriter(new FileOutputStream(records));
+			try {
+				for (int i = 0; i < numOfGames; ++i) {
+					writer.write(randomGame(random, Integer.MAX_VALUE));
+				}
+			} finally {
+				writer.close();
+			}
+			System.out.println(String.format("%d games written in %.3fs, %d bytes",
+					numOfGames, (System.nanoTime() - start) / 1e9, records.length()));
+
+			final int processors = Runtime.getRuntime().availableProcessors();
+			for (final int threads : processors > 1 ? new int[] {1, processors} : new int[] {1}) {
+				index.delete();
+				start = System.nanoTime();
+				final GameDatabaseBuilder builder = new GameDatabaseBuilder(threads, dir);
+				final InputStream in = new FileInputStream(records);
+				try {
+					builder.importRecords(in);
+				} finally {
+					in.close();
+				}
+				final long entries = builder.build(index);
+				final double seconds = (System.nanoTime() - start) / 1e9;
+				System.out.println(String.format(
+						"%d threads: %d positions, %d entries in %.3fs (%.0f positions/s), %d bytes",
+						threads, builder.getPositions(), entries, seconds, builder.getPositions() / seconds,
+						index.length()));
+			}
+
+			final GameDatabase database = GameDatabase.open(index);
+			final long[] nanos = new long[LOOKUPS];
+			int found = 0;
+			for (int i = 0; i < LOOKUPS; ++i) {
+				final Game game = replay(randomGame(random, random.nextInt(LOOKUP_PLIES)));
+				start = System.nanoTime();
+				if (!database.lookup(game).isEmpty()) {
+					++found;
+				}
+				nanos[i] = System.nanoTime() - start;
+			}
+			Arrays.sort(nanos);
+			System.out.println(String.format("%d lookups, %d found: p50 %.3fms, p99 %.3fms, max %.3fms",
+					LOOKUPS, found, nanos[LOOKUPS / 2] / 1e6, nanos[LOOKUPS * 99 / 100] / 1e6,
+					nanos[LOOKUPS - 1] / 1e6));
+			database.close();
+		} finally {
+			records.delete();
+			index.delete();
+		}
+	}
+
+	private static GameRecord randomGame(final Random random, final int maxMoves) {
+		final Game start = Game.valueOf(8, 8);
+		final SearchBoard board = SearchBoard.of(start, false);
+		final byte[] encoded = board.encode();
+		final int[] moves = new int[board.getNumOfEmpties()];
+		final List<Position> played = new ArrayList<Position>();
+		while (played.size() < maxMoves) {
+			int numOfMoves = board.generateMoves(moves);
+			if (numOfMoves == 0) {
+				board.makePass();
+				numOfMoves = board.generateMoves(moves);
+				if (numOfMoves == 0) {
+					break;
+				}
+			}
+			final int move = moves[random.nextInt(numOfMoves)];
+			played.add(board.toPosition(move));
+			board.makeMove(move);
+		}
+		return new GameRecord(encoded, played,
+				board.count(SearchBoard.BLACK) - board.count(SearchBoard.WHITE));
+	}
+
+	private static Game replay(final GameRecord record) {
+		Game game = Game.valueOf(8, 8);
+		for (final Position move : record.getMoves()) {
+			if (!game.canMove()) {
+				game = game.passMove();
+			}
+			game = game.moveTo(move);
+		}
+		return game;
+	}
+}
@@ -0,0 +1,113 @@
+package othello.bench;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import othello.Game;
+import othello.Position;
+import othello.engine.SearchBoard;
+import othello.engine.Zobrist;
+
+
+/**
+ * Checks that the hashes of the search boards tell holes apart. Two boards
+ * which differ only by a hole must have different hashes and different
+ * canonical hashes, and moves and undos on a board with holes must keep its
+ * hash equal to the one calculated from scratch. Geometries must not share
+ * keys. Prints each check and exits with status 1 if one fails.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class HashCheck {
+
+	private static boolean failed;
+
+	private HashCheck() {
+
+	}
+
+	/**
+	 * The entry point of the check.
+	 *
+	 * @param args
+	 *        not used
+	 */
+	public static void main(final String... args) {
+		final Game plain = Game.valueOf(8, 8);
+		final Game holed = Game.valueOf(8, 8).addHole(pos(1, 1), pos(1, 1));
+		final SearchBoard plainBoard = SearchBoard.of(plain);
+		final SearchBoard holedBoard = SearchBoard.of(holed);
+		check("8x8 with and without a hole at A1: hashes differ",
+				plainBoard.getHash() != holedBoard.getHash());
+		check("8x8 with and without a hole at A1: canonical hashes differ",
+				plainBoard.getCanonicalHash() != holedBoard.getCanonicalHash());
+
+		check("4x2 and 2x64: keys differ", !shareKeys(Zobrist.of(4, 2), Zobrist.of(2, 64)));
+		check("4x2 and 3x33: keys differ", !shareKeys(Zobrist.of(4, 2), Zobrist.of(3, 33)));
+
+		for (final Map.Entry<String, Game> entry : BenchmarkBoards.all().entrySet()) {
+			check(entry.getKey() + ": hash after moves and undos", replay(entry.getValue()));
+		}
+		if (failed) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Plays the first legal move a few times and compares the hash with the
+	 * one of a board created from the resulting game, then undoes all moves.
+	 */
+	private static boolean replay(final Game game) {
+		final SearchBoard board = SearchBoard.of(game);
+		final long start = board.getHash();
+		Game current = game;
+		int moves = 0;
+		for (int i = 0; i < 6; ++i) {
+			final int[] legal = new int[board.getNumOfEmpties()];
+			if (board.generateMoves(legal) == 0) {
+				break;
+			}
+			final Position pos = board.toPosition(legal[0]);
+			board.makeMove(legal[0]);
+			current = current.moveTo(pos);
+			moves += 1;
+			if (board.getHash() != SearchBoard.of(current).getHash()) {
+				return false;
+			}
+		}
+		for (int i = 0; i < moves; ++i) {
+			board.undo();
+		}
+		return board.getHash() == start;
+	}
+
+	/**
+	 * Checks whether the side key or one of the first disc keys of a geometry
+	 * is a key of another one.
+	 */
+	private static boolean shareKeys(final Zobrist a, final Zobrist b) {
+		final Set<Long> keys = new HashSet<Long>();
+		for (int sq = 0; sq < 16; ++sq) {
+			keys.add(Long.valueOf(b.key(sq, SearchBoard.BLACK)));
+			keys.add(Long.valueOf(b.key(sq, SearchBoard.WHITE)));
+		}
+		keys.add(Long.valueOf(b.side()));
+		boolean shared = keys.contains(Long.valueOf(a.side()));
+		for (int sq = 0; sq < 16; ++sq) {
+			shared |= keys.contains(Long.valueOf(a.key(sq, SearchBoard.BLACK)))
+					|| keys.contains(Long.valueOf(a.key(sq, SearchBoard.WHITE)));
+		}
+		return shared;
+	}
+
+	private static void check(final String name, final boolean ok) {
+		System.out.println((ok ? "ok      " : "FAILED  ") + name);
+		failed |= !ok;
+	}
+
+	private static Position pos(final int x, final int y) {
+		return Position.valueOf(x, y);
+	}
+}
@@ -0,0 +1,223 @@
+package othello.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import othello.InputValidation;
+import othello.Option;
+import othello.server.GameServer;
+import othello.server.SessionExecutors;
+
+
+/**
+ * Opens many sessions to a game server at the same time and plays a game in
+ * each of them. The latency of every command is measured and the median and
+ * the 99th percentile are printed.
+ * <p>
+ * If no host is given, a server is started in the same JVM. Then the heap which
+ * is used by the open sessions is measured too.
+ * <p>
+ * Usage: LoadTestClient sessions commands [host port]
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class LoadTestClient {
+
+	private static final double GIGABYTE = 1024.0 * 1024.0 * 1024.0;
+
+	private LoadTestClient() {
+
+	}
+
+	/**
+	 * The entry point of the load test.
+	 *
+	 * @param args
+	 *        the number of sessions, the number of commands per session and
+	 *        optionally the host and the port of the server
+	 * @throws Exception
+	 *         if the test fails
+	 */
+	public static void main(final String... args) throws Exception {
+		InputValidation.require(args.length == 2 || args.length == 4, "invalid number of arguments");
+		final Option<Integer> numOfSessions = InputValidation.parseInt(args[0]);
+		final Option<Integer> numOfCommands = InputValidation.parseInt(args[1]);
+		InputValidation.require(numOfSessions.isDefined() && numOfCommands.isDefined(), "invalid number");
+
+		GameServer server = null;
+		final String host;
+		final int port;
+		if (args.length == 4) {
+			host = args[2];
+			final Option<Integer> parsedPort = InputValidation.parseInt(args[3]);
+			InputValidation.require(parsedPort.isDefined(), "invalid port");
+			port = parsedPort.get();
+		} else {
+			server = new GameServer(0, GameServer.DEFAULT_TABLE_SIZE, null);
+			host = "localhost";
+			port = server.start();
+		}
+
+		final long heapBefore = usedHeap();
+		final ExecutorService executor = SessionExecutors.newSessionExecutor();
+		final List<Client> clients = connect(executor, host, port, numOfSessions.get());
+		final long[] latencies = play(executor, clients, numOfCommands.get());
+		final long heapAfter = usedHeap();
+
+		Arrays.sort(latencies);
+		System.out.println(String.format("%d sessions, %d commands, %s threads",
+				clients.size(), latencies.length,
+				SessionExecutors.isVirtual() ? "virtual" : "platform"));
+		System.out.println(String.format("p50: %.3fms, p99: %.3fms, max: %.3fms",
+				percentile(latencies, 0.50) / 1e6,
+				percentile(latencies, 0.99) / 1e6,
+				latencies[latencies.length - 1] / 1e6));
+		if (server != null) {
+			final double perSession = Math.max(1.0, heapAfter - heapBefore) / clients.size();
+			System.out.println(String.format("heap: %.1fKB per session, %.0f sessions per GB",
+					perSession / 1024, GIGABYTE / perSession));
+		}
+
+		for (final Client client : clients) {
+			client.close();
+		}
+		executor.shutdown();
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+	private static List<Client> connect(final ExecutorService executor, final String host,
+			final int port, final int numOfSessions) throws Exception {
+		final List<Callable<Client>> tasks = new ArrayList<Callable<Client>>();
+		for (int i = 0; i < numOfSessions; ++i) {
+			tasks.add(new Callable<Client>() {
+
+				@Override
+				public Client call() throws IOException {
+					return new Client(host, port);
+				}
+			});
+		}
+		final List<Client> clients = new ArrayList<Client>();
+		for (final Future<Client> future : executor.invokeAll(tasks)) {
+			clients.add(get(future));
+		}
+		return clients;
+	}
+
+	private static long[] play(final ExecutorService executor, final List<Client> clients,
+			final int numOfCommands) throws Exception {
+		final List<Callable<long[]>> tasks = new ArrayList<Callable<long[]>>();
+		for (final Client client : clients) {
+			tasks.add(new Callable<long[]>() {
+
+				@Override
+				public long[] call() throws IOException {
+					return client.play(numOfCommands);
+				}
+			});
+		}
+		final long[] latencies = new long[clients.size() * numOfCommands];
+		int i = 0;
+		for (final Future<long[]> future : executor.invokeAll(tasks)) {
+			final long[] result = get(future);
+			System.arraycopy(result, 0, latencies, i, result.length);
+			i += result.length;
+		}
+		return latencies;
+	}
+
+	private static <T> T get(final Future<T> future) throws Exception {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			throw (Exception) e.getCause();
+		}
+	}
+
+	private static long percentile(final long[] sorted, final double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))];
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; ++i) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * A single session of the load test.
+	 */
+	private static final class Client {
+
+		private final Socket socket;
+		private final BufferedReader in;
+		private final PrintStream out;
+
+		Client(final String host, final int port) throws IOException {
+			socket = new Socket(host, port);
+			socket.setTcpNoDelay(true);
+			in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+			out = new PrintStream(socket.getOutputStream(), true);
+			readResponse();
+		}
+
+		long[] play(final int numOfCommands) throws IOException {
+			final long[] latencies = new long[numOfCommands];
+			String command = "newGame 8 8";
+			for (int i = 0; i < numOfCommands; ++i) {
+				final long start = System.nanoTime();
+				out.println(command);
+				final String response = readResponse();
+				latencies[i] = System.nanoTime() - start;
+
+				if (response.contains("Game Over") || response.contains("Error!")) {
+					command = "newGame 8 8";
+				} else {
+					command = i % 2 == 0 ? "ai 1" : "possibleMoves";
+				}
+			}
+			return latencies;
+		}
+
+		void close() throws IOException {
+			out.println("quit");
+			socket.close();
+		}
+
+		private String readResponse() throws IOException {
+			final StringBuilder sb = new StringBuilder();
+			while (!endsWithPrompt(sb)) {
+				final int c = in.read();
+				if (c < 0) {
+					throw new IOException("connection closed");
+				}
+				sb.append((char) c);
+			}
+			return sb.toString();
+		}
+
+		private static boolean endsWithPrompt(final StringBuilder sb) {
+			final int start = sb.length() - GameServer.PROMPT.length();
+			return start >= 0 && sb.indexOf(GameServer.PROMPT, start) == start;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package othello.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+
+import othello.Game;
+import othello.Position;
+import othello.Shell;
+import othello.engine.Engine;
+
+
+/**
+ * Measures the "print" command of the shell on the largest board, first after
+ * each of a number of moves and then repeatedly without any change since the
+ * last print. The output is discarded.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class PrintBenchmark {
+
+	private PrintBenchmark() {
+
+	}
+
+	/**
+	 * The entry point of the benchmark.
+	 *
+	 * @param args
+	 *        the number of prints without changes, 20000 if missing, and the
+	 *        number of moves, 200 if missing
+	 */
+	public static void main(final String... args) {
+		final int prints = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		final int moves = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		for (int run = 0; run < 2; ++run) {
+			System.out.println(run == 0 ? "warm-up" : "measurement");
+			measure(prints, moves);
+		}
+	}
+
+	private static void measure(final int prints, final int moves) {
+		final Shell shell = new Shell(new Engine(), new PrintStream(new OutputStream() {
+
+			@Override
+			public void write(final int b) {
+			}
+
+			@Override
+			public void write(final byte[] b, final int off, final int len) {
+			}
+		}));
+		shell.handleInput("newGame 26 98");
+		Game game = Game.valueOf(26, 98);
+
+		long afterMove = 0;
+		int played = 0;
+		for (; played < moves; ++played) {
+			final List<Position> possible = game.getPossibleMoves();
+			if (possible.isEmpty()) {
+				break;
+			}
+			final Position move = Collections.min(possible);
+			game = game.moveTo(move);
+			shell.handleInput("move " + move);
+			final long start = System.nanoTime();
+			shell.handleInput("print");
+			afterMove += System.nanoTime() - start;
+		}
+
+		final long start = System.nanoTime();
+		for (int i = 0; i < prints; ++i) {
+			shell.handleInput("print");
+		}
+		final long unchanged = System.nanoTime() - start;
+		System.out.println(String.format("26x98 print unchanged %7.2fus, after a move %7.2fus",
+				unchanged / 1e3 / prints, afterMove / 1e3 / Math.max(1, played)));
+	}
+}
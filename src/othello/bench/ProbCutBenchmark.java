@@ -0,0 +1,144 @@
+package othello.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import othello.Game;
+import othello.Position;
+import othello.engine.Evaluator;
+import othello.engine.HeapTranspositionTable;
+import othello.engine.ProbCut;
+import othello.engine.SearchBoard;
+import othello.engine.SearchLimits;
+import othello.engine.SearchResult;
+import othello.engine.Searcher;
+
+
+/**
+ * Compares searches with and without Multi-ProbCut. It measures the depth
+ * which is reached in the same time on mid-game states, and the accuracy loss
+ * of fixed-depth searches on endgame states: the exact value of the best move
+ * minus the exact value of the chosen move, both calculated by a full-width
+ * search to the end of the game.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class ProbCutBenchmark {
+
+	private ProbCutBenchmark() {
+
+	}
+
+	/**
+	 * The entry point of the benchmark.
+	 *
+	 * @param args
+	 *        the parameter file, the geometry as "WxH" (8x8), the time per
+	 *        mid-game search in ms (1000), the number of states (20), the
+	 *        empty squares of the endgame states (16) and the depth of their
+	 *        searches (8)
+	 * @throws IOException
+	 *         if the parameter file can't be read
+	 */
+	public static void main(final String... args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("usage: ProbCutBenchmark <file> [WxH] [ms] [states] [empties] [depth]");
+			return;
+		}
+		final ProbCut probCut = ProbCut.load(new File(args[0]));
+		final String[] size = (args.length > 1 ? args[1] : "8x8").split("x");
+		final SearchBoard start = SearchBoard.of(
+				Game.valueOf(Integer.parseInt(size[0]), Integer.parseInt(size[1])));
+		final long millis = args.length > 2 ? Long.parseLong(args[2]) : 1000L;
+		final int states = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+		final int endgameEmpties = args.length > 4 ? Integer.parseInt(args[4]) : 16;
+		final int depth = args.length > 5 ? Integer.parseInt(args[5]) : 8;
+
+		final int numOfSquares = ProbCut.numOfSquares(start);
+		final long[] depths = new long[2];
+		final long[] nodes = new long[2];
+		for (int i = 0; i < states; ++i) {
+			final SearchBoard board = play(start, new Random(i), numOfSquares / 2);
+			for (int mpc = 0; mpc < 2; ++mpc) {
+				final Searcher searcher = new Searcher(board.copy(), new HeapTranspositionTable());
+				searcher.setProbCut(mpc == 1 ? probCut : null);
+				final SearchResult result = searcher.search(SearchLimits.ofMillis(millis));
+				depths[mpc] += result.getDepth();
+				nodes[mpc] += result.getNodes();
+			}
+		}
+		for (int mpc = 0; mpc < 2; ++mpc) {
+			System.out.println(String.format("%s %dms %-11s depth %5.2f, nodes %10d",
+					ProbCut.geometryOf(start), millis, mpc == 1 ? "probcut" : "full-width",
+					(double) depths[mpc] / states, nodes[mpc] / states));
+		}
+
+		final long[] loss = new long[2];
+		final int[] misses = new int[2];
+		final long[] endgameNodes = new long[2];
+		for (int i = 0; i < states; ++i) {
+			final SearchBoard board = play(start, new Random(1000 + i), endgameEmpties);
+			final int[] moves = new int[board.getNumOfEmpties()];
+			final int numOfMoves = board.generateMoves(moves);
+			if (numOfMoves == 0) {
+				continue;
+			}
+			int best = Integer.MIN_VALUE;
+			for (int j = 0; j < numOfMoves; ++j) {
+				best = Math.max(best, exactValue(board, moves[j]));
+			}
+			for (int mpc = 0; mpc < 2; ++mpc) {
+				final Searcher searcher = new Searcher(board.copy(), new HeapTranspositionTable());
+				searcher.setProbCut(mpc == 1 ? probCut : null);
+				final SearchResult result = searcher.search(SearchLimits.ofDepth(depth));
+				final Position move = result.getBestMove();
+				final int value = exactValue(board, board.square(move.getX(), move.getY()));
+				loss[mpc] += best - value;
+				misses[mpc] += best > value ? 1 : 0;
+				endgameNodes[mpc] += result.getNodes();
+			}
+		}
+		for (int mpc = 0; mpc < 2; ++mpc) {
+			System.out.println(String.format(
+					"%s %d empties depth %d %-11s loss %5.2f discs, %2d/%d inexact, nodes %9d",
+					ProbCut.geometryOf(start), endgameEmpties, depth,
+					mpc == 1 ? "probcut" : "full-width", (double) loss[mpc] / states, misses[mpc],
+					states, endgameNodes[mpc] / states));
+		}
+	}
+
+	private static SearchBoard play(final SearchBoard start, final Random random,
+			final int numOfEmpties) {
+		while (true) {
+			final SearchBoard board = start.copy();
+			final int[] moves = new int[board.getNumOfEmpties()];
+			while (board.getNumOfEmpties() > numOfEmpties) {
+				final int numOfMoves = board.generateMoves(moves);
+				if (numOfMoves > 0) {
+					board.makeMove(moves[random.nextInt(numOfMoves)]);
+				} else if (board.canMove(board.getOpponent())) {
+					board.makePass();
+				} else {
+					break;
+				}
+			}
+			if (board.getNumOfEmpties() == numOfEmpties && board.canMove(board.getPlayer())) {
+				return board;
+			}
+		}
+	}
+
+	/**
+	 * Returns the final disc difference after a move with perfect play.
+	 */
+	private static int exactValue(final SearchBoard board, final int move) {
+		final SearchBoard child = board.copy();
+		child.makeMove(move);
+		final Searcher searcher = new Searcher(child, new HeapTranspositionTable());
+		final int score = -searcher.score(child.getNumOfEmpties(), Long.MAX_VALUE);
+		return score > Evaluator.WIN ? score - Evaluator.WIN
+				: score < -Evaluator.WIN ? score + Evaluator.WIN : 0;
+	}
+}
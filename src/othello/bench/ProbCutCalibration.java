@@ -0,0 +1,175 @@
+package othello.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import othello.Game;
+import othello.engine.Evaluator;
+import othello.engine.HeapTranspositionTable;
+import othello.engine.ProbCut;
+import othello.engine.SearchBoard;
+import othello.engine.Searcher;
+
+
+/**
+ * Fits the {@link ProbCut} regressions of board geometries. For each geometry
+ * random game states of all stages are sampled, each is searched full-width
+ * to every depth up to a maximum, and the score of each depth is paired with
+ * the score of its shallow depth. A regression is fitted for each stage and
+ * depth which has enough pairs. The samples are searched in parallel, each
+ * with its own small transposition table.
+ * <p>
+ * The regressions are merged into the parameter file if it exists, so
+ * geometries can be calibrated one after another.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class ProbCutCalibration {
+
+	private static final int MIN_PAIRS = 20;
+	private static final int TABLE_SIZE = 1 << 16;
+	private static final int NONE = Integer.MIN_VALUE;
+
+	private ProbCutCalibration() {
+
+	}
+
+	/**
+	 * The entry point of the calibration.
+	 *
+	 * @param args
+	 *        the parameter file, the number of samples per geometry, the
+	 *        maximum depth and the geometries as "WxH", for example
+	 *        <code>probcut.txt 400 8 8x8 10x10</code>
+	 * @throws IOException
+	 *         if the parameter file can't be read or written
+	 * @throws InterruptedException
+	 *         if the calibration is interrupted
+	 * @throws ExecutionException
+	 *         if a search fails
+	 */
+	public static void main(final String... args)
+			throws IOException, InterruptedException, ExecutionException {
+		if (args.length < 4) {
+			System.err.println("usage: ProbCutCalibration <file> <samples> <maxDepth> <WxH>...");
+			return;
+		}
+		final File file = new File(args[0]);
+		final int samples = Integer.parseInt(args[1]);
+		final int maxDepth = Math.min(ProbCut.MAX_DEPTH, Integer.parseInt(args[2]));
+		final ProbCut probCut = file.isFile() ? ProbCut.load(file) : new ProbCut();
+		final ExecutorService pool =
+				Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			for (int i = 3; i < args.length; ++i) {
+				final String[] size = args[i].split("x");
+				final SearchBoard start = SearchBoard.of(
+						Game.valueOf(Integer.parseInt(size[0]), Integer.parseInt(size[1])));
+				final long begin = System.nanoTime();
+				calibrate(probCut, start, samples, maxDepth, pool);
+				System.out.println(String.format("%s: %d samples in %.1fs",
+						ProbCut.geometryOf(start), samples, (System.nanoTime() - begin) / 1e9));
+			}
+		} finally {
+			pool.shutdown();
+		}
+		probCut.save(file);
+	}
+
+	private static void calibrate(final ProbCut probCut, final SearchBoard start,
+			final int samples, final int maxDepth, final ExecutorService pool)
+			throws InterruptedException, ExecutionException {
+		final int numOfSquares = ProbCut.numOfSquares(start);
+		final List<Future<int[]>> results = new ArrayList<Future<int[]>>(samples);
+		for (int i = 0; i < samples; ++i) {
+			final long seed = i;
+			results.add(pool.submit(new Callable<int[]>() {
+
+				@Override
+				public int[] call() {
+					return sample(start.copy(), new Random(seed), maxDepth);
+				}
+			}));
+		}
+
+		final double[][][] shallowScores = new double[ProbCut.NUM_STAGES][maxDepth + 1][samples];
+		final double[][][] deepScores = new double[ProbCut.NUM_STAGES][maxDepth + 1][samples];
+		final int[][] pairs = new int[ProbCut.NUM_STAGES][maxDepth + 1];
+		for (final Future<int[]> result : results) {
+			final int[] scores = result.get();
+			final int stage = ProbCut.stage(scores[0], numOfSquares);
+			for (int depth = ProbCut.MIN_DEPTH; depth <= maxDepth; ++depth) {
+				final int shallow = scores[ProbCut.shallowDepth(depth)];
+				if (scores[depth] != NONE && shallow != NONE) {
+					final int n = pairs[stage][depth]++;
+					shallowScores[stage][depth][n] = shallow;
+					deepScores[stage][depth][n] = scores[depth];
+				}
+			}
+		}
+
+		final String geometry = ProbCut.geometryOf(start);
+		for (int stage = 0; stage < ProbCut.NUM_STAGES; ++stage) {
+			for (int depth = ProbCut.MIN_DEPTH; depth <= maxDepth; ++depth) {
+				final int n = pairs[stage][depth];
+				if (n < MIN_PAIRS) {
+					continue;
+				}
+				final ProbCut.Regression regression = ProbCut.Regression.fit(
+						ProbCut.shallowDepth(depth), shallowScores[stage][depth],
+						deepScores[stage][depth], n);
+				if (regression.getSlope() > 0) {
+					probCut.put(geometry, stage, depth, regression);
+					System.out.println(String.format("%s stage %d depth %2d: %s", geometry, stage,
+							depth, regression));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Plays random moves from the start and searches the reached game state
+	 * to each depth.
+	 *
+	 * @return the empty squares of the game state at index 0 and the score of
+	 *         each depth at its index, NONE if the depth reaches the end of the
+	 *         game
+	 */
+	private static int[] sample(final SearchBoard board, final Random random, final int maxDepth) {
+		final int[] moves = new int[board.getNumOfEmpties()];
+		final int plies = random.nextInt(Math.max(1, board.getNumOfEmpties() - ProbCut.MIN_DEPTH));
+		for (int i = 0; i < plies; ++i) {
+			final int numOfMoves = board.generateMoves(moves);
+			if (numOfMoves > 0) {
+				board.makeMove(moves[random.nextInt(numOfMoves)]);
+			} else if (board.canMove(board.getOpponent())) {
+				board.makePass();
+			} else {
+				break;
+			}
+		}
+
+		final int[] scores = new int[maxDepth + 1];
+		scores[0] = board.getNumOfEmpties();
+		final Searcher searcher = new Searcher(board, new HeapTranspositionTable(TABLE_SIZE));
+		for (int depth = 1; depth <= maxDepth; ++depth) {
+			scores[depth] = NONE;
+			if (depth < board.getNumOfEmpties()) {
+				final int score = searcher.score(depth, Long.MAX_VALUE);
+				if (!Evaluator.isFinalScore(score)) {
+					scores[depth] = score;
+				}
+			}
+		}
+		return scores;
+	}
+}
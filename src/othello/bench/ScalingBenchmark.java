@@ -0,0 +1,132 @@
+package othello.bench;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import othello.Game;
+import othello.Position;
+import othello.distributed.Coordinator;
+import othello.distributed.WorkerStatistics;
+import othello.engine.HeapTranspositionTable;
+import othello.engine.SearchBoard;
+import othello.engine.SearchLimits;
+import othello.engine.SearchResult;
+import othello.engine.Searcher;
+
+
+/**
+ * Measures how a distributed search scales with the number of local worker
+ * processes. The same search is run with 1 to n workers. For each run the time,
+ * the speedup and the efficiency compared to a single worker and the share of
+ * the time each worker spent searching are printed.
+ * <p>
+ * Optionally an endgame is solved while one worker is killed in the middle,
+ * and the score is checked against a solution in this process.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class ScalingBenchmark {
+
+	private static final long CONNECT_MILLIS = 30000;
+	private static final long KILL_DELAY_MILLIS = 200;
+	private static final int ENDGAME_EMPTIES = 14;
+
+	private ScalingBenchmark() {
+
+	}
+
+	/**
+	 * The entry point of the benchmark.
+	 *
+	 * @param args
+	 *        the maximum number of workers, 4 if missing, the depth, 8 if
+	 *        missing, and "kill" to test the loss of a worker
+	 * @throws IOException
+	 *         if the workers can't be started
+	 * @throws InterruptedException
+	 *         if the benchmark is interrupted
+	 */
+	public static void main(final String... args) throws IOException, InterruptedException {
+		final int maxWorkers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		final int depth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		final boolean isKilling = args.length > 2 && args[2].equals("kill");
+		final Game warmUp = BenchmarkBoards.all().get("8x8");
+		final Game game = BenchmarkBoards.all().get("8x8 mid-game");
+
+		long singleNanos = 0;
+		for (int n = 1; n <= maxWorkers; ++n) {
+			final Coordinator coordinator = new Coordinator();
+			try {
+				coordinator.launchLocalWorkers(n);
+				if (!coordinator.awaitWorkers(n, CONNECT_MILLIS)) {
+					throw new IllegalStateException("workers did not connect");
+				}
+				coordinator.search(warmUp, depth);
+				final List<WorkerStatistics> before = coordinator.getWorkerStatistics();
+
+				final long start = System.nanoTime();
+				final SearchResult result = coordinator.search(game, depth);
+				final long nanos = System.nanoTime() - start;
+				if (n == 1) {
+					singleNanos = nanos;
+				}
+				final double speedup = (double) singleNanos / nanos;
+				System.out.println(String.format(
+						"%d workers: %8.1fms, speedup %.2f, efficiency %5.1f%%, %s %s",
+						n, nanos / 1e6, speedup, 100 * speedup / n, result.getBestMove(),
+						result.formatScore()));
+				final List<WorkerStatistics> after = coordinator.getWorkerStatistics();
+				for (int i = 0; i < after.size(); ++i) {
+					final WorkerStatistics w = after.get(i);
+					final long units = w.getUnits() - before.get(i).getUnits();
+					final long nodes = w.getNodes() - before.get(i).getNodes();
+					final long searchNanos = w.getSearchNanos() - before.get(i).getSearchNanos();
+					System.out.println(String.format("  worker %d: %4d units, %9d nodes, busy %5.1f%%",
+							w.getId(), units, nodes, 100.0 * searchNanos / nanos));
+				}
+
+				if (isKilling && n > 1) {
+					killDuringSearch(coordinator);
+				}
+			} finally {
+				coordinator.close();
+			}
+		}
+	}
+
+	private static void killDuringSearch(final Coordinator coordinator) throws InterruptedException {
+		final Game game = endgame();
+		final SearchResult expected = new Searcher(SearchBoard.of(game), new HeapTranspositionTable())
+				.search(SearchLimits.INFINITE);
+		final Thread killer = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(KILL_DELAY_MILLIS);
+				} catch (final InterruptedException e) {
+					return;
+				}
+				coordinator.killLocalWorker(0);
+			}
+		});
+		killer.start();
+		final SearchResult result = coordinator.search(game, SearchLimits.MAX_DEPTH);
+		killer.join();
+		System.out.println(String.format("  killed worker 0: %d workers left, %s, expected %s",
+				coordinator.getNumOfWorkers(), result.formatScore(), expected.formatScore()));
+	}
+
+	private static Game endgame() {
+		final Random random = new Random(1);
+		Game game = Game.valueOf(8, 8);
+		while (SearchBoard.of(game).getNumOfEmpties() > ENDGAME_EMPTIES) {
+			final List<Position> moves = new ArrayList<Position>(game.getPossibleMoves());
+			game = game.moveTo(moves.get(random.nextInt(moves.size())));
+		}
+		return game;
+	}
+}
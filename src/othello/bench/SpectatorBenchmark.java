@@ -0,0 +1,180 @@
+package othello.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import othello.InputValidation;
+import othello.Option;
+import othello.server.GameServer;
+import othello.server.SessionExecutors;
+
+
+/**
+ * Measures the fan-out of a hosted game to many spectators. A server is
+ * started in the same JVM, one session plays moves on a large board and all
+ * spectators read the broadcast until the session ends.
+ * <p>
+ * Usage: SpectatorBenchmark spectators moves [width height]
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class SpectatorBenchmark {
+
+	private SpectatorBenchmark() {
+
+	}
+
+	/**
+	 * The entry point of the benchmark.
+	 *
+	 * @param args
+	 *        the number of spectators, the number of moves and optionally the
+	 *        size of the board, which is 26x98 by default
+	 * @throws Exception
+	 *         if the benchmark fails
+	 */
+	public static void main(final String... args) throws Exception {
+		InputValidation.require(args.length == 2 || args.length == 4, "invalid number of arguments");
+		final int numOfSpectators = parse(args[0]);
+		final int numOfMoves = parse(args[1]);
+		final int width = args.length == 4 ? parse(args[2]) : 26;
+		final int height = args.length == 4 ? parse(args[3]) : 98;
+
+		final GameServer server = new GameServer(0, GameServer.DEFAULT_TABLE_SIZE, null);
+		final int port = server.start();
+		final ExecutorService executor = SessionExecutors.newSessionExecutor();
+
+		final Connection host = new Connection(port);
+		host.command("newGame " + width + " " + height);
+		final String id = host.command("id").split("\n")[0].trim();
+
+		final List<Future<long[]>> results = new ArrayList<Future<long[]>>();
+		for (int i = 0; i < numOfSpectators; ++i) {
+			final Connection spectator = new Connection(port);
+			spectator.send("watch " + id);
+			results.add(executor.submit(new Callable<long[]>() {
+
+				@Override
+				public long[] call() throws IOException {
+					return spectator.watch();
+				}
+			}));
+		}
+		Thread.sleep(500);
+
+		final long start = System.nanoTime();
+		int moves = 0;
+		for (; moves < numOfMoves; ++moves) {
+			final String response = host.command("possibleMoves");
+			final int i = response.indexOf("Possible moves: ");
+			if (i < 0) {
+				break;
+			}
+			final String list = response.substring(i + 16).split("\\s")[0];
+			host.command("move " + list.split(",")[0]);
+		}
+		final long hostNanos = System.nanoTime() - start;
+		host.command("abort");
+		host.send("quit");
+
+		long messages = 0;
+		long bytes = 0;
+		long snapshots = 0;
+		for (final Future<long[]> result : results) {
+			final long[] counts = result.get();
+			messages += counts[0];
+			bytes += counts[1];
+			snapshots += counts[2];
+		}
+		final long totalNanos = System.nanoTime() - start;
+		final long fullPrint = (long) (width + 1) * height + "turn: black\n".length();
+
+		System.out.println(String.format("%d spectators, %d moves on %dx%d, %s threads",
+				numOfSpectators, moves, width, height,
+				SessionExecutors.isVirtual() ? "virtual" : "platform"));
+		System.out.println(String.format("host: %.3fms per move", hostNanos / 1e6 / Math.max(1, moves)));
+		System.out.println(String.format("delivered %d messages in %.0fms (%.0f messages/s)",
+				messages, totalNanos / 1e6, messages * 1e9 / totalNanos));
+		System.out.println(String.format("%.1f bytes per message, a full print is %d bytes",
+				(double) bytes / Math.max(1, messages), fullPrint));
+		System.out.println(String.format("%d snapshots, %.2f per spectator",
+				snapshots, (double) snapshots / Math.max(1, numOfSpectators)));
+
+		executor.shutdown();
+		server.stop();
+	}
+
+	private static int parse(final String str) {
+		final Option<Integer> value = InputValidation.parseInt(str);
+		InputValidation.require(value.isDefined(), "invalid number");
+		return value.get();
+	}
+
+	/**
+	 * A connection to the server.
+	 */
+	private static final class Connection {
+
+		private final BufferedReader in;
+		private final PrintStream out;
+
+		Connection(final int port) throws IOException {
+			final Socket socket = new Socket("localhost", port);
+			socket.setTcpNoDelay(true);
+			in = new BufferedReader(new InputStreamReader(socket.getInputStream()), 1 << 16);
+			out = new PrintStream(socket.getOutputStream(), true);
+			readResponse();
+		}
+
+		void send(final String command) {
+			out.println(command);
+		}
+
+		String command(final String command) throws IOException {
+			send(command);
+			return readResponse();
+		}
+
+		/**
+		 * Reads the broadcast until the hosted game ends.
+		 *
+		 * @return the number of messages, bytes and snapshots
+		 */
+		long[] watch() throws IOException {
+			final long[] counts = new long[3];
+			in.readLine();
+			String line = in.readLine();
+			while (line != null && !"end".equals(line)) {
+				++counts[0];
+				counts[1] += line.length() + 1;
+				if (line.startsWith("snapshot")) {
+					++counts[2];
+				}
+				line = in.readLine();
+			}
+			return counts;
+		}
+
+		private String readResponse() throws IOException {
+			final StringBuilder sb = new StringBuilder();
+			while (sb.length() < GameServer.PROMPT.length()
+					|| sb.indexOf(GameServer.PROMPT, sb.length() - GameServer.PROMPT.length()) < 0) {
+				final int c = in.read();
+				if (c < 0) {
+					throw new IOException("connection closed");
+				}
+				sb.append((char) c);
+			}
+			return sb.toString();
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package othello.bench;
+
+import java.util.Map;
+
+import othello.Game;
+import othello.engine.SearchBoard;
+import othello.engine.SearchLimits;
+import othello.engine.SearchResult;
+import othello.engine.Searcher;
+import othello.engine.HeapTranspositionTable;
+
+
+/**
+ * Compares searches with and without symmetry-canonical hashing. For each
+ * benchmark board a fixed depth is searched with an empty transposition table
+ * and the visited nodes, the hit rate of the table and the time are printed.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class SymmetryBenchmark {
+
+	private SymmetryBenchmark() {
+
+	}
+
+	/**
+	 * The entry point of the benchmark.
+	 *
+	 * @param args
+	 *        the depth, 9 if missing
+	 */
+	public static void main(final String... args) {
+		final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+		for (int run = 0; run < 2; ++run) {
+			System.out.println(run == 0 ? "warm-up" : "measurement");
+			for (final Map.Entry<String, Game> entry : BenchmarkBoards.all().entrySet()) {
+				final String name = entry.getKey();
+				final Game game = entry.getValue();
+				System.out.println(String.format("%-24s plain     %s", name, measure(game, depth, false)));
+				System.out.println(String.format("%-24s canonical %s", name, measure(game, depth, true)));
+			}
+		}
+	}
+
+	private static String measure(final Game game, final int depth, final boolean useSymmetries) {
+		final CountingTable table = new CountingTable();
+		final SearchBoard board = SearchBoard.of(game, useSymmetries);
+		final SearchResult result = new Searcher(board, table).search(SearchLimits.ofDepth(depth));
+		return String.format("symmetries %d, nodes %9d, hits %5.1f%%, %6dms, %s",
+				board.getNumOfSymmetries() + 1, result.getNodes(),
+				100.0 * table.hits / Math.max(1, table.probes), result.getMillis(),
+				result.getBestMove());
+	}
+
+	/**
+	 * A transposition table which counts its probes and hits.
+	 */
+	private static final class CountingTable extends HeapTranspositionTable {
+
+		private long probes;
+		private long hits;
+
+		@Override
+		public long probe(final long hash) {
+			final long data = super.probe(hash);
+			++probes;
+			if (data != 0L) {
+				++hits;
+			}
+			return data;
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package othello.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import othello.Board;
+import othello.Game;
+import othello.Position;
+import othello.engine.SearchBoard;
+
+
+/**
+ * Generates reproducible workloads for the shell, the batch mode and the
+ * benchmarks from a seed. The same seed always produces the same output.
+ * <ul>
+ * <li>"games" writes shell scripts of complete random games: a newGame
+ * command, random hole rectangles which {@link Game#addHole} accepts and the
+ * moves up to the end of the game.</li>
+ * <li>"positions" writes mid-game positions for the batch mode, one newGame
+ * command per position with the cells in its data syntax and the holes as
+ * '#'.</li>
+ * <li>"stress" writes positions like "positions" on random sizes close to
+ * {@link Board#MAX_WIDTH} and {@link Board#MAX_HEIGHT}.</li>
+ * </ul>
+ * The moves are chosen uniformly from the legal ones. The newGame syntax lets
+ * black move first, so a position in which white has to move is written with
+ * the colors swapped.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class WorkloadGenerator {
+
+	private static final int MAX_HOLE_TRIES = 20;
+
+	private final Random random;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param seed
+	 *        the seed
+	 */
+	public WorkloadGenerator(final long seed) {
+		random = new Random(seed);
+	}
+
+	/**
+	 * The entry point of the generator, which writes to the standard output.
+	 *
+	 * @param args
+	 *        the kind, the seed, the count and for "games" and "positions" the
+	 *        width, the height and the maximum number of holes (0 if missing),
+	 *        for example <code>positions 42 1000 8 8 2</code>
+	 */
+	public static void main(final String... args) {
+		if (args.length < 3 || !"stress".equals(args[0]) && args.length < 5) {
+			System.err.println(
+					"usage: WorkloadGenerator games|positions <seed> <count> <w> <h> [holes]");
+			System.err.println("       WorkloadGenerator stress <seed> <count>");
+			return;
+		}
+		final WorkloadGenerator generator = new WorkloadGenerator(Long.parseLong(args[1]));
+		final int count = Integer.parseInt(args[2]);
+		final int width = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+		final int height = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+		final int holes = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < count; ++i) {
+			final List<String> lines;
+			if ("games".equals(args[0])) {
+				lines = generator.game(width, height, holes);
+			} else if ("positions".equals(args[0])) {
+				lines = generator.position(width, height, holes);
+			} else if ("stress".equals(args[0])) {
+				lines = generator.stressPosition();
+			} else {
+				System.err.println("unknown kind " + args[0]);
+				return;
+			}
+			for (final String line : lines) {
+				sb.append(line).append('\n');
+			}
+			System.out.print(sb);
+			sb.setLength(0);
+		}
+		System.out.println("quit");
+	}
+
+	/**
+	 * Generates the shell commands of a complete random game.
+	 *
+	 * @param width
+	 *        the width of the board
+	 * @param height
+	 *        the height of the board
+	 * @param maxHoles
+	 *        the maximum number of hole rectangles
+	 * @return the commands
+	 */
+	public List<String> game(final int width, final int height, final int maxHoles) {
+		final List<String> lines = new ArrayList<String>();
+		lines.add("newGame " + width + " " + height);
+		final Game game = addHoles(Game.valueOf(width, height), maxHoles, lines);
+		final SearchBoard board = SearchBoard.of(game, false);
+		final int[] moves = new int[board.getNumOfEmpties()];
+		while (true) {
+			final int move = randomMove(board, moves);
+			if (move < 0) {
+				break;
+			}
+			lines.add("move " + board.toPosition(move));
+		}
+		return lines;
+	}
+
+	/**
+	 * Generates a random mid-game position for the batch mode. Between a
+	 * quarter and three quarters of the empty squares are filled.
+	 *
+	 * @param width
+	 *        the width of the board
+	 * @param height
+	 *        the height of the board
+	 * @param maxHoles
+	 *        the maximum number of hole rectangles
+	 * @return the newGame command
+	 */
+	public List<String> position(final int width, final int height, final int maxHoles) {
+		final Game game = addHoles(Game.valueOf(width, height), maxHoles, new ArrayList<String>());
+		final SearchBoard board = SearchBoard.of(game, false);
+		final int[] moves = new int[board.getNumOfEmpties()];
+		final int plies =
+				board.getNumOfEmpties() / 4 + random.nextInt(board.getNumOfEmpties() / 2 + 1);
+		int ply = 0;
+		while (ply < plies && randomMove(board, moves) >= 0) {
+			++ply;
+		}
+		if (!board.canMove(board.getPlayer()) && board.canMove(board.getOpponent())) {
+			board.makePass();
+		}
+		final List<String> lines = new ArrayList<String>(1);
+		lines.add("newGame " + width + " " + height + " " + data(board));
+		return lines;
+	}
+
+	/**
+	 * Generates a random mid-game position on a board whose width and height
+	 * are at most 4 below their maximum.
+	 *
+	 * @return the newGame command
+	 */
+	public List<String> stressPosition() {
+		final int width = Board.MAX_WIDTH - 2 * random.nextInt(3);
+		final int height = Board.MAX_HEIGHT - 2 * random.nextInt(3);
+		return position(width, height, 0);
+	}
+
+	private Game addHoles(final Game start, final int maxHoles, final List<String> lines) {
+		Game game = start;
+		final Board board = start.getBoard();
+		final int holes = maxHoles > 0 ? random.nextInt(maxHoles + 1) : 0;
+		for (int i = 0; i < holes; ++i) {
+			for (int tries = 0; tries < MAX_HOLE_TRIES; ++tries) {
+				final int x1 = 1 + random.nextInt(board.getWidth());
+				final int y1 = 1 + random.nextInt(board.getHeight());
+				final int x2 = Math.min(board.getWidth(),
+						x1 + random.nextInt(Math.max(1, board.getWidth() / 4)));
+				final int y2 = Math.min(board.getHeight(),
+						y1 + random.nextInt(Math.max(1, board.getHeight() / 4)));
+				final Position from = Position.valueOf(x1, y1);
+				final Position to = Position.valueOf(x2, y2);
+				if (game.getBoard().containsCell(from, to)) {
+					continue;
+				}
+				final Game holed = game.addHole(from, to);
+				if (holed.canMove()) {
+					game = holed;
+					lines.add("hole " + from + ":" + to);
+					break;
+				}
+			}
+		}
+		return game;
+	}
+
+	/**
+	 * Makes a random legal move, or passes first if the player can't move.
+	 *
+	 * @return the move, -1 if the game is over
+	 */
+	private int randomMove(final SearchBoard board, final int[] moves) {
+		int numOfMoves = board.generateMoves(moves);
+		if (numOfMoves == 0) {
+			if (!board.canMove(board.getOpponent())) {
+				return -1;
+			}
+			board.makePass();
+			numOfMoves = board.generateMoves(moves);
+		}
+		final int move = moves[random.nextInt(numOfMoves)];
+		board.makeMove(move);
+		return move;
+	}
+
+	private static String data(final SearchBoard board) {
+		final boolean swap = board.getPlayer() == SearchBoard.WHITE;
+		final StringBuilder sb = new StringBuilder(board.getHeight() * (board.getWidth() + 1));
+		for (int y = 1; y <= board.getHeight(); ++y) {
+			if (y > 1) {
+				sb.append(',');
+			}
+			for (int x = 1; x <= board.getWidth(); ++x) {
+				final int value = board.get(board.square(x, y));
+				if (value == SearchBoard.BLACK) {
+					sb.append(swap ? 'W' : 'B');
+				} else if (value == SearchBoard.WHITE) {
+					sb.append(swap ? 'B' : 'W');
+				} else {
+					sb.append(value == SearchBoard.WALL ? '#' : '-');
+				}
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,146 @@
+package othello.database;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import othello.Game;
+import othello.InputValidation;
+import othello.engine.SearchBoard;
+
+
+/**
+ * A read-only database of finished games, which knows for every position
+ * that occurred in a game which moves were played and how the games ended.
+ * <p>
+ * The index is a file which starts with {@link #MAGIC} and the number of
+ * entries as longs. Each entry consists of the canonical hash of a position as
+ * a long, the canonical move as an int and the wins, draws and losses of the
+ * player who made the move as ints. The entries are sorted by hash and move,
+ * so the entries of a position are found by a binary search in the mapped
+ * file. Symmetric positions share their entries, so a game counts for all
+ * images of the positions it reached.
+ * <p>
+ * The index is built by {@link GameDatabaseBuilder}.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class GameDatabase implements Closeable {
+
+	/** The first long of an index. */
+	static final long MAGIC = 0x4f54484944583033L;
+
+	private static final int HEADER_BYTES = 16;
+	private static final int ENTRY_BYTES = 24;
+	private static final int SEGMENT_SHIFT = 26;
+
+	private final MappedByteBuffer[] segments;
+	private final long numOfEntries;
+
+	/**
+	 * Opens an index.
+	 *
+	 * @param index
+	 *        the index file
+	 * @return the database
+	 * @throws IOException
+	 *         if the file can't be mapped
+	 */
+	public static GameDatabase open(final File index) throws IOException {
+		final RandomAccessFile raf = new RandomAccessFile(index, "r");
+		try {
+			InputValidation.require(raf.length() >= HEADER_BYTES && raf.readLong() == MAGIC,
+					"no index");
+			final long numOfEntries = raf.readLong();
+			InputValidation.require(raf.length() == HEADER_BYTES + numOfEntries * ENTRY_BYTES,
+					"broken index");
+			final FileChannel channel = raf.getChannel();
+			final long entriesPerSegment = 1L << SEGMENT_SHIFT;
+			final MappedByteBuffer[] segments =
+					new MappedByteBuffer[(int) ((numOfEntries + entriesPerSegment - 1) >> SEGMENT_SHIFT)];
+			for (int i = 0; i < segments.length; ++i) {
+				final long first = i * entriesPerSegment;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+						HEADER_BYTES + first * ENTRY_BYTES,
+						Math.min(entriesPerSegment, numOfEntries - first) * ENTRY_BYTES);
+			}
+			return new GameDatabase(segments, numOfEntries);
+		} finally {
+			raf.close();
+		}
+	}
+
+	private GameDatabase(final MappedByteBuffer[] segments, final long numOfEntries) {
+		this.segments = segments;
+		this.numOfEntries = numOfEntries;
+	}
+
+	/**
+	 * Returns the number of entries, which is the number of different pairs of
+	 * position and move.
+	 *
+	 * @return the number of entries
+	 */
+	public long getNumOfEntries() {
+		return numOfEntries;
+	}
+
+	/**
+	 * Looks up how the games went on from a position.
+	 *
+	 * @param game
+	 *        the position
+	 * @return the statistics of each move which was played in the position,
+	 *         ordered from the most to the least played move
+	 */
+	public List<MoveStatistics> lookup(final Game game) {
+		final SearchBoard board = SearchBoard.of(game);
+		final int symmetry = board.getCanonicalSymmetry();
+		final long hash = board.getHash(symmetry);
+
+		long low = 0;
+		long high = numOfEntries;
+		while (low < high) {
+			final long middle = (low + high) >>> 1;
+			if (key(middle) < hash) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		final List<MoveStatistics> statistics = new ArrayList<MoveStatistics>();
+		for (long i = low; i < numOfEntries && key(i) == hash; ++i) {
+			final MappedByteBuffer segment = segments[(int) (i >> SEGMENT_SHIFT)];
+			final int offset = (int) (i & ((1L << SEGMENT_SHIFT) - 1)) * ENTRY_BYTES;
+			final int move = board.fromCanonical(segment.getInt(offset + 8), symmetry);
+			statistics.add(new MoveStatistics(board.toPosition(move), segment.getInt(offset + 12),
+					segment.getInt(offset + 16), segment.getInt(offset + 20)));
+		}
+		Collections.sort(statistics);
+		return statistics;
+	}
+
+	/**
+	 * Releases the index. The memory is unmapped when the database is garbage
+	 * collected.
+	 */
+	@Override
+	public void close() {
+		for (int i = 0; i < segments.length; ++i) {
+			segments[i] = null;
+		}
+	}
+
+	private long key(final long i) {
+		final MappedByteBuffer segment = segments[(int) (i >> SEGMENT_SHIFT)];
+		return segment.getLong((int) (i & ((1L << SEGMENT_SHIFT) - 1)) * ENTRY_BYTES);
+	}
+}
@@ -0,0 +1,468 @@
+package othello.database;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import othello.InputValidation;
+import othello.Option;
+import othello.Position;
+import othello.engine.SearchBoard;
+
+
+/**
+ * Builds the index of a {@link GameDatabase} from files of game records.
+ * <p>
+ * The records are read in batches, each batch is replayed by a worker of a
+ * pool. A worker looks up the canonical hash of every position before a move,
+ * sorts the positions of its batch by hash and move, counts the results of
+ * equal positions and writes them to a temporary run file. When all records
+ * are imported, the runs and the entries of an existing index are merged into
+ * the new index. Therefore the memory use only depends on the size of a batch
+ * and not on the number of games.
+ *
+ * @version 0.1
+ * @since JDK1.7, Oct 19, 2026
+ */
+public final class GameDatabaseBuilder {
+
+	private static final int BATCH_SIZE = 4096;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final int numOfThreads;
+	private final ExecutorService pool;
+	private final File tempDir;
+	private final List<File> runs = new ArrayList<File>();
+	private final AtomicLong games = new AtomicLong();
+	private final AtomicLong invalidGames = new AtomicLong();
+	private final AtomicLong positions = new AtomicLong();
+
+	/**
+	 * The entry point of an import.
+	 *
+	 * @param args
+	 *        the index file, which is extended if it exists, followed by the
+	 *        files of game records
+	 * @throws IOException
+	 *         if a file can't be read or written
+	 */
+	public static void main(final String... args) throws IOException {
+		InputValidation.require(args.length >= 2, "usage: GameDatabaseBuilder <index> <records>...");
+		final File index = new File(args[0]);
+		final GameDatabaseBuilder builder = new GameDatabaseBuilder(
+				Runtime.getRuntime().availableProcessors(), index.getAbsoluteFile().getParentFile());
+		final long start = System.nanoTime();
+		for (int i = 1; i < args.length; ++i) {
+			final InputStream in = new FileInputStream(args[i]);
+			try {
+				builder.importRecords(in);
+			} finally {
+				in.close();
+			}
+		}
+		final long entries = builder.build(index);
+		final double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(String.format(
+				"%d games (%d invalid), %d positions, %d entries in %.3fs (%.0f positions/s)",
+				builder.getGames(), builder.getInvalidGames(), builder.getPositions(), entries, seconds,
+				builder.getPositions() / seconds));
+	}
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param numOfThreads
+	 *        the number of threads which replay games
+	 * @param tempDir
+	 *        the directory of the temporary run files
+	 */
+	public GameDatabaseBuilder(final int numOfThreads, final File tempDir) {
+		InputValidation.require(numOfThreads > 0, "invalid number of threads");
+		this.numOfThreads = numOfThreads;
+		this.pool = Executors.newFixedThreadPool(numOfThreads);
+		this.tempDir = tempDir;
+	}
+
+	/**
+	 * Imports all records of a stream. At most a few batches per thread are
+	 * held in memory at the same time.
+	 *
+	 * @param in
+	 *        the stream of game records
+	 * @throws IOException
+	 *         if the stream can't be read or a run can't be written
+	 */
+	public void importRecords(final InputStream in) throws IOException {
+		final GameRecordReader reader = new GameRecordReader(in);
+		final Queue<Future<File>> pending = new ArrayDeque<Future<File>>();
+		List<GameRecord> batch = new ArrayList<GameRecord>(BATCH_SIZE);
+		for (Option<GameRecord> record = reader.read(); record.isDefined(); record = reader.read()) {
+			batch.add(record.get());
+			if (batch.size() == BATCH_SIZE) {
+				pending.add(pool.submit(task(batch)));
+				batch = new ArrayList<GameRecord>(BATCH_SIZE);
+				if (pending.size() >= numOfThreads * 2) {
+					runs.add(get(pending.remove()));
+				}
+			}
+		}
+		if (!batch.isEmpty()) {
+			pending.add(pool.submit(task(batch)));
+		}
+		while (!pending.isEmpty()) {
+			runs.add(get(pending.remove()));
+		}
+	}
+
+	/**
+	 * Writes the index. The entries of an existing index are kept. The builder
+	 * can't be used afterwards.
+	 *
+	 * @param index
+	 *        the index file
+	 * @return the number of entries of the index
+	 * @throws IOException
+	 *         if a file can't be read or written
+	 */
+	public long build(final File index) throws IOException {
+		pool.shutdown();
+		final List<DataInputStream> inputs = new ArrayList<DataInputStream>();
+		final File temp = File.createTempFile("othello-index", ".tmp", tempDir);
+		try {
+			if (index.exists()) {
+				final DataInputStream in = open(index);
+				inputs.add(in);
+				InputValidation.require(in.readLong() == GameDatabase.MAGIC, "no index");
+				in.readLong();
+			}
+			for (final File run : runs) {
+				inputs.add(open(run));
+			}
+			final long count = merge(inputs, temp);
+			if (index.exists() && !index.delete() || !temp.renameTo(index)) {
+				throw new IOException("can't replace " + index);
+			}
+			return count;
+		} finally {
+			for (final DataInputStream in : inputs) {
+				in.close();
+			}
+			for (final File run : runs) {
+				run.delete();
+			}
+			runs.clear();
+			temp.delete();
+		}
+	}
+
+	/**
+	 * Returns the number of imported games.
+	 *
+	 * @return the games
+	 */
+	public long getGames() {
+		return games.get();
+	}
+
+	/**
+	 * Returns the number of games which have not been imported because their
+	 * start position is invalid or they contain an illegal move.
+	 *
+	 * @return the invalid games
+	 */
+	public long getInvalidGames() {
+		return invalidGames.get();
+	}
+
+	/**
+	 * Returns the number of imported positions.
+	 *
+	 * @return the positions
+	 */
+	public long getPositions() {
+		return positions.get();
+	}
+
+	private Callable<File> task(final List<GameRecord> batch) {
+		return new Callable<File>() {
+
+			@Override
+			public File call() throws IOException {
+				return writeRun(replay(batch));
+			}
+		};
+	}
+
+	private Entries replay(final List<GameRecord> batch) {
+		final Entries entries = new Entries();
+		for (final GameRecord record : batch) {
+			final int size = entries.size;
+			final SearchBoard board;
+			try {
+				board = SearchBoard.decode(record.getStart());
+			} catch (final IllegalArgumentException e) {
+				invalidGames.incrementAndGet();
+				continue;
+			}
+			boolean isValid = true;
+			for (final Position move : record.getMoves()) {
+				if (!board.canMove(board.getPlayer())) {
+					board.makePass();
+				}
+				final int sq = board.square(move.getX(), move.getY());
+				if (move.getX() > board.getWidth() || move.getY() > board.getHeight()
+						|| !board.isLegal(sq, board.getPlayer())) {
+					isValid = false;
+					break;
+				}
+				final int symmetry = board.getCanonicalSymmetry();
+				final int sign = board.getPlayer() == SearchBoard.BLACK ? 1 : -1;
+				entries.add(board.getHash(symmetry), board.toCanonical(sq, symmetry),
+						Integer.signum(sign * record.getResult()) + 1);
+				board.makeMove(sq);
+			}
+			if (isValid) {
+				games.incrementAndGet();
+				positions.addAndGet(entries.size - size);
+			} else {
+				invalidGames.incrementAndGet();
+				entries.size = size;
+			}
+		}
+		entries.sort();
+		return entries;
+	}
+
+	private File writeRun(final Entries entries) throws IOException {
+		final File run = File.createTempFile("othello-run", ".tmp", tempDir);
+		final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(run), BUFFER_SIZE));
+		try {
+			int i = 0;
+			while (i < entries.size) {
+				final long key = entries.keys[i];
+				final int move = entries.values[i] >> 2;
+				final int[] counts = new int[3];
+				while (i < entries.size && entries.keys[i] == key && entries.values[i] >> 2 == move) {
+					++counts[entries.values[i] & 3];
+					++i;
+				}
+				writeEntry(out, key, move, counts[2], counts[1], counts[0]);
+			}
+		} finally {
+			out.close();
+		}
+		return run;
+	}
+
+	private static long merge(final List<DataInputStream> inputs, final File index) throws IOException {
+		final PriorityQueue<Cursor> queue = new PriorityQueue<Cursor>();
+		for (final DataInputStream in : inputs) {
+			final Cursor cursor = new Cursor(in);
+			if (cursor.next()) {
+				queue.add(cursor);
+			}
+		}
+
+		long count = 0;
+		final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(index), BUFFER_SIZE));
+		try {
+			out.writeLong(GameDatabase.MAGIC);
+			out.writeLong(0L);
+			while (!queue.isEmpty()) {
+				final Cursor first = queue.remove();
+				int wins = first.wins;
+				int draws = first.draws;
+				int losses = first.losses;
+				while (!queue.isEmpty() && queue.peek().compareTo(first) == 0) {
+					final Cursor other = queue.remove();
+					wins += other.wins;
+					draws += other.draws;
+					losses += other.losses;
+					if (other.next()) {
+						queue.add(other);
+					}
+				}
+				writeEntry(out, first.key, first.move, wins, draws, losses);
+				++count;
+				if (first.next()) {
+					queue.add(first);
+				}
+			}
+		} finally {
+			out.close();
+		}
+
+		final RandomAccessFile raf = new RandomAccessFile(index, "rw");
+		try {
+			raf.seek(8);
+			raf.writeLong(count);
+		} finally {
+			raf.close();
+		}
+		return count;
+	}
+
+	private static void writeEntry(final DataOutputStream out, final long key, final int move,
+			final int wins, final int draws, final int losses) throws IOException {
+		out.writeLong(key);
+		out.writeInt(move);
+		out.writeInt(wins);
+		out.writeInt(draws);
+		out.writeInt(losses);
+	}
+
+	private static DataInputStream open(final File file) throws IOException {
+		return new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+	}
+
+	private static File get(final Future<File> future) throws IOException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("import interrupted");
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * The positions of a batch. A value is the canonical move shifted left by
+	 * two bits together with the result of the player who has to move: 0 for a
+	 * loss, 1 for a draw and 2 for a win.
+	 */
+	private static final class Entries {
+
+		private long[] keys = new long[BATCH_SIZE * 64];
+		private int[] values = new int[keys.length];
+		private int size;
+
+		void add(final long key, final int move, final int result) {
+			if (size == keys.length) {
+				final long[] newKeys = new long[size * 2];
+				final int[] newValues = new int[size * 2];
+				System.arraycopy(keys, 0, newKeys, 0, size);
+				System.arraycopy(values, 0, newValues, 0, size);
+				keys = newKeys;
+				values = newValues;
+			}
+			keys[size] = key;
+			values[size] = move << 2 | result;
+			++size;
+		}
+
+		void sort() {
+			sort(0, size - 1);
+		}
+
+		private void sort(final int low, final int high) {
+			if (high - low < 16) {
+				for (int i = low + 1; i <= high; ++i) {
+					final long key = keys[i];
+					final int value = values[i];
+					int j = i - 1;
+					while (j >= low && compare(keys[j], values[j], key, value) > 0) {
+						keys[j + 1] = keys[j];
+						values[j + 1] = values[j];
+						--j;
+					}
+					keys[j + 1] = key;
+					values[j + 1] = value;
+				}
+				return;
+			}
+			final int middle = (low + high) >>> 1;
+			final long pivotKey = keys[middle];
+			final int pivotValue = values[middle];
+			int i = low;
+			int j = high;
+			while (i <= j) {
+				while (compare(keys[i], values[i], pivotKey, pivotValue) < 0) {
+					++i;
+				}
+				while (compare(keys[j], values[j], pivotKey, pivotValue) > 0) {
+					--j;
+				}
+				if (i <= j) {
+					swap(i++, j--);
+				}
+			}
+			sort(low, j);
+			sort(i, high);
+		}
+
+		private void swap(final int i, final int j) {
+			final long key = keys[i];
+			keys[i] = keys[j];
+			keys[j] = key;
+			final int value = values[i];
+			values[i] = values[j];
+			values[j] = value;
+		}
+
+		private static int compare(final long key1, final int value1, final long key2, final int value2) {
+			final int c = Long.compare(key1, key2);
+			return c != 0 ? c : Integer.compare(value1, value2);
+		}
+	}
+
+	/**
+	 * The current entry of a run or an index during the merge.
+	 */
+	private static final class Cursor implements Comparable<Cursor> {
+
+		private final DataInputStream in;
+		private long key;
+		private int move;
+		private int wins;
+		private int draws;
+		private int losses;
+
+		Cursor(final DataInputStream in) {
+			this.in = in;
+		}
+
+		boolean next() throws IOException {
+			try {
+				key = in.readLong();
+			} catch (final EOFException e) {
+				return false;
+			}
+			move = in.readInt();
+			wins = in.readInt();
+			draws = in.readInt();
+			losses = in.readInt();
+			return true;
+		}
+
+		@Override
+		public int compareTo(final Cursor other) {
+			final int c = Long.compare(key, other.key);
+			return c != 0 ? c : Integer.compare(move, other.move);
+		}
+	}
+}
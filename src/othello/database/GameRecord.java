@@ -0,0 +1,93 @@
+package othello.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import othello.Game;
+import othello.InputValidation;
+import othello.Position;
+import othello.engine.SearchBoard;
+
+
+/**
+ * A finished game: its start position, the moves of both players and the
+ * result. Passes are not recorded, a player who can't move passes
+ * implicitly.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class GameRecord {
+
+	private final byte[] start;
+	private final List<Position> moves;
+	private final int result;
+
+	/**
+	 * Creates a record by playing a game from its start position.
+	 *
+	 * @param start
+	 *        the start position
+	 * @param moves
+	 *        the moves of both players without passes
+	 * @return the record, whose result is the disc difference at the end
+	 */
+	public static GameRecord of(final Game start, final List<Position> moves) {
+		final SearchBoard board = SearchBoard.of(start, false);
+		final byte[] encoded = board.encode();
+		for (final Position move : moves) {
+			final int sq = board.square(move.getX(), move.getY());
+			if (!board.canMove(board.getPlayer())) {
+				board.makePass();
+			}
+			InputValidation.require(board.isLegal(sq, board.getPlayer()), "illegal move " + move);
+			board.makeMove(sq);
+		}
+		return new GameRecord(encoded, moves,
+				board.count(SearchBoard.BLACK) - board.count(SearchBoard.WHITE));
+	}
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param start
+	 *        the start position in the encoding of {@link SearchBoard#encode()}
+	 * @param moves
+	 *        the moves of both players without passes
+	 * @param result
+	 *        the disc difference of the black player at the end
+	 */
+	public GameRecord(final byte[] start, final List<Position> moves, final int result) {
+		this.start = start.clone();
+		this.moves = Collections.unmodifiableList(new ArrayList<Position>(moves));
+		this.result = result;
+	}
+
+	/**
+	 * Returns the start position.
+	 *
+	 * @return the start position in the encoding of {@link SearchBoard#encode()}
+	 */
+	public byte[] getStart() {
+		return start.clone();
+	}
+
+	/**
+	 * Returns the moves.
+	 *
+	 * @return the moves of both players without passes
+	 */
+	public List<Position> getMoves() {
+		return moves;
+	}
+
+	/**
+	 * Returns the result.
+	 *
+	 * @return the disc difference of the black player at the end
+	 */
+	public int getResult() {
+		return result;
+	}
+}
@@ -0,0 +1,69 @@
+package othello.database;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import othello.InputValidation;
+import othello.Option;
+import othello.Position;
+
+
+/**
+ * Reads game records in the format of {@link GameRecordWriter}.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class GameRecordReader implements Closeable {
+
+	private final DataInputStream in;
+
+	/**
+	 * Creates a new instance and checks the start of the file.
+	 *
+	 * @param in
+	 *        the stream to read from
+	 * @throws IOException
+	 *         if the stream can't be read
+	 */
+	public GameRecordReader(final InputStream in) throws IOException {
+		this.in = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+		InputValidation.require(this.in.readInt() == GameRecordWriter.MAGIC, "no game records");
+	}
+
+	/**
+	 * Reads the next record.
+	 *
+	 * @return the record or none at the end of the stream
+	 * @throws IOException
+	 *         if the stream can't be read or ends inside a record
+	 */
+	public Option<GameRecord> read() throws IOException {
+		final int startLength;
+		try {
+			startLength = in.readUnsignedShort();
+		} catch (final EOFException e) {
+			return Option.none();
+		}
+		final byte[] start = new byte[startLength];
+		in.readFully(start);
+		final int numOfMoves = in.readUnsignedShort();
+		final List<Position> moves = new ArrayList<Position>(numOfMoves);
+		for (int i = 0; i < numOfMoves; ++i) {
+			final int x = in.readUnsignedByte();
+			moves.add(Position.valueOf(x, in.readUnsignedByte()));
+		}
+		return Option.some(new GameRecord(start, moves, in.readShort()));
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
@@ -0,0 +1,70 @@
+package othello.database;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import othello.Position;
+
+
+/**
+ * Writes game records in the binary game-record format. A file starts with
+ * the int {@link #MAGIC}, followed by the records. A record consists of
+ * <ul>
+ * <li>the length of the start position as an unsigned short and the start
+ * position in the encoding of {@link othello.engine.SearchBoard#encode()},
+ * <li>the number of moves as an unsigned short and each move as two bytes, its
+ * x-value and its y-value,
+ * <li>the disc difference of the black player at the end as a short.
+ * </ul>
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class GameRecordWriter implements Closeable {
+
+	/** The first int of a file of game records. */
+	public static final int MAGIC = 0x4f475231;
+
+	private final DataOutputStream out;
+
+	/**
+	 * Creates a new instance and writes the start of the file.
+	 *
+	 * @param out
+	 *        the stream to write to
+	 * @throws IOException
+	 *         if the stream can't be written
+	 */
+	public GameRecordWriter(final OutputStream out) throws IOException {
+		this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+		this.out.writeInt(MAGIC);
+	}
+
+	/**
+	 * Writes a record.
+	 *
+	 * @param record
+	 *        the record
+	 * @throws IOException
+	 *         if the stream can't be written
+	 */
+	public void write(final GameRecord record) throws IOException {
+		final byte[] start = record.getStart();
+		out.writeShort(start.length);
+		out.write(start);
+		out.writeShort(record.getMoves().size());
+		for (final Position move : record.getMoves()) {
+			out.write(move.getX());
+			out.write(move.getY());
+		}
+		out.writeShort(record.getResult());
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
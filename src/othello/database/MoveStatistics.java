@@ -0,0 +1,100 @@
+package othello.database;
+
+import othello.Position;
+
+
+/**
+ * How the games of a database which reached a position went on after a move.
+ * The results are counted from the view of the player who made the move.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class MoveStatistics implements Comparable<MoveStatistics> {
+
+	private final Position move;
+	private final int wins;
+	private final int draws;
+	private final int losses;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param move
+	 *        the move
+	 * @param wins
+	 *        the won games
+	 * @param draws
+	 *        the drawn games
+	 * @param losses
+	 *        the lost games
+	 */
+	public MoveStatistics(final Position move, final int wins, final int draws, final int losses) {
+		this.move = move;
+		this.wins = wins;
+		this.draws = draws;
+		this.losses = losses;
+	}
+
+	/**
+	 * Returns the move.
+	 *
+	 * @return the move
+	 */
+	public Position getMove() {
+		return move;
+	}
+
+	/**
+	 * Returns the won games.
+	 *
+	 * @return the wins
+	 */
+	public int getWins() {
+		return wins;
+	}
+
+	/**
+	 * Returns the drawn games.
+	 *
+	 * @return the draws
+	 */
+	public int getDraws() {
+		return draws;
+	}
+
+	/**
+	 * Returns the lost games.
+	 *
+	 * @return the losses
+	 */
+	public int getLosses() {
+		return losses;
+	}
+
+	/**
+	 * Returns the number of games.
+	 *
+	 * @return the games
+	 */
+	public int getGames() {
+		return wins + draws + losses;
+	}
+
+	/**
+	 * Orders the most played move first.
+	 */
+	@Override
+	public int compareTo(final MoveStatistics other) {
+		if (getGames() != other.getGames()) {
+			return getGames() > other.getGames() ? -1 : 1;
+		}
+		return move.compareTo(other.move);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: %d games, %d wins, %d draws, %d losses (%.1f%%)", move, getGames(),
+				wins, draws, losses, 100.0 * (wins + 0.5 * draws) / Math.max(1, getGames()));
+	}
+}
@@ -0,0 +1,308 @@
+package othello.distributed;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import othello.Game;
+import othello.InputValidation;
+import othello.Position;
+import othello.distributed.WorkerConnection.UnitResult;
+import othello.engine.SearchBoard;
+import othello.engine.SearchLimits;
+import othello.engine.SearchResult;
+import othello.engine.SearchStatistics;
+import othello.engine.Searcher;
+
+
+/**
+ * Distributes a search over worker processes which connect over local
+ * sockets. Each iteration of the iterative deepening splits the root into one
+ * work unit per move. The moves are ordered by the scores of the previous
+ * iteration. The first move is searched alone with the full window, the
+ * remaining moves are searched in parallel and each one is sent with the best
+ * score found up to that moment as its window.
+ * <p>
+ * If a worker dies, its unit is searched by another worker. The search only
+ * fails if no worker is left.
+ *
+ * @version 0.1
+ * @since JDK1.7, Oct 19, 2026
+ */
+public class Coordinator implements Closeable {
+
+	private static final long POLL_MILLIS = 100;
+
+	private final ServerSocket serverSocket;
+	private final BlockingDeque<WorkUnit> units = new LinkedBlockingDeque<WorkUnit>();
+	private final BlockingQueue<UnitResult> results = new LinkedBlockingQueue<UnitResult>();
+	private final List<WorkerConnection> workers = new CopyOnWriteArrayList<WorkerConnection>();
+	private final List<Thread> threads = new CopyOnWriteArrayList<Thread>();
+	private final List<Process> processes = new CopyOnWriteArrayList<Process>();
+	private int nextUnitId;
+
+	/**
+	 * Creates a new instance which accepts workers on any free port of the
+	 * loopback address.
+	 *
+	 * @throws IOException
+	 *         if no port can be bound
+	 */
+	public Coordinator() throws IOException {
+		serverSocket = new ServerSocket(0, 64, InetAddress.getLoopbackAddress());
+		final Thread acceptor = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				accept();
+			}
+		}, "othello-coordinator");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/**
+	 * Returns the port the workers have to connect to.
+	 *
+	 * @return the port
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Starts worker processes on this machine with the same Java installation
+	 * and class path as this process.
+	 *
+	 * @param numOfWorkers
+	 *        the number of workers
+	 * @throws IOException
+	 *         if a process can't be started
+	 */
+	public void launchLocalWorkers(final int numOfWorkers) throws IOException {
+		final String java = System.getProperty("java.home")
+				+ File.separator + "bin" + File.separator + "java";
+		for (int i = 0; i < numOfWorkers; ++i) {
+			processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+					Worker.class.getName(), String.valueOf(getPort())).inheritIO().start());
+		}
+	}
+
+	/**
+	 * Kills a worker process which has been started by
+	 * {@link #launchLocalWorkers(int)}, to test the handling of dead workers.
+	 *
+	 * @param index
+	 *        the index of the process in the order of launching
+	 */
+	public void killLocalWorker(final int index) {
+		InputValidation.require(index >= 0 && index < processes.size(), "invalid worker");
+		processes.get(index).destroy();
+	}
+
+	/**
+	 * Waits until a number of workers are connected.
+	 *
+	 * @param numOfWorkers
+	 *        the number of workers
+	 * @param millis
+	 *        the maximum time to wait
+	 * @return true if the workers are connected
+	 * @throws InterruptedException
+	 *         if the thread is interrupted while waiting
+	 */
+	public boolean awaitWorkers(final int numOfWorkers, final long millis) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + millis;
+		while (getNumOfWorkers() < numOfWorkers) {
+			if (System.currentTimeMillis() > deadline) {
+				return false;
+			}
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of connected workers.
+	 *
+	 * @return the number of workers
+	 */
+	public int getNumOfWorkers() {
+		int count = 0;
+		for (final WorkerConnection worker : workers) {
+			if (worker.isAlive()) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns what each worker has done so far, including dead workers.
+	 *
+	 * @return the statistics in the order of connection
+	 */
+	public List<WorkerStatistics> getWorkerStatistics() {
+		final List<WorkerStatistics> statistics = new ArrayList<WorkerStatistics>();
+		for (final WorkerConnection worker : workers) {
+			statistics.add(worker.getStatistics());
+		}
+		return statistics;
+	}
+
+	/**
+	 * Searches the best move of a game state.
+	 *
+	 * @param game
+	 *        the game state
+	 * @param depth
+	 *        the depth of the search
+	 * @return the result of the search, whose principal variation only
+	 *         contains the best move
+	 * @throws InterruptedException
+	 *         if the thread is interrupted while waiting for the workers
+	 */
+	public synchronized SearchResult search(final Game game, final int depth) throws InterruptedException {
+		InputValidation.require(depth > 0 && depth <= SearchLimits.MAX_DEPTH, "invalid depth");
+		final long start = System.nanoTime();
+		final SearchBoard board = SearchBoard.of(game, false);
+		final int[] moves = new int[board.getNumOfEmpties()];
+		final int numOfMoves = board.generateMoves(moves);
+		if (numOfMoves == 0) {
+			return new SearchResult(null, 0, 0, 0, new ArrayList<Position>(), new SearchStatistics());
+		}
+
+		final byte[][] positions = new byte[board.size()][];
+		for (int i = 0; i < numOfMoves; ++i) {
+			board.makeMove(moves[i]);
+			positions[moves[i]] = board.encode();
+			board.undo();
+		}
+
+		final int[] scores = new int[board.size()];
+		int bestMove = moves[0];
+		int bestScore = 0;
+		final int maxDepth = Math.min(depth, board.getNumOfEmpties());
+		for (int d = 1; d <= maxDepth; ++d) {
+			final AtomicInteger alpha = new AtomicInteger(-Searcher.INFINITY);
+			submit(new WorkUnit(nextUnitId++, moves[0], d - 1, positions[moves[0]], alpha));
+			bestMove = collect(1, scores, moves[0]);
+			for (int i = 1; i < numOfMoves; ++i) {
+				submit(new WorkUnit(nextUnitId++, moves[i], d - 1, positions[moves[i]], alpha));
+			}
+			bestMove = collect(numOfMoves - 1, scores, bestMove);
+			bestScore = scores[bestMove];
+			sortByScore(moves, numOfMoves, scores, bestMove);
+		}
+
+		final List<Position> pv = new ArrayList<Position>();
+		pv.add(board.toPosition(bestMove));
+		return new SearchResult(board.toPosition(bestMove), bestScore, maxDepth,
+				(System.nanoTime() - start) / 1000000L, pv, new SearchStatistics());
+	}
+
+	/**
+	 * Closes the connections to all workers and stops the processes which have
+	 * been started by {@link #launchLocalWorkers(int)}.
+	 */
+	@Override
+	public synchronized void close() {
+		try {
+			serverSocket.close();
+		} catch (final IOException e) {
+			// the socket is closed anyway
+		}
+		for (final Thread thread : threads) {
+			thread.interrupt();
+		}
+		for (final WorkerConnection worker : workers) {
+			worker.close();
+		}
+		for (final Process process : processes) {
+			process.destroy();
+		}
+	}
+
+	private void submit(final WorkUnit unit) {
+		units.add(unit);
+	}
+
+	private int collect(final int numOfResults, final int[] scores, final int bestMove)
+			throws InterruptedException {
+		int best = bestMove;
+		int received = 0;
+		while (received < numOfResults) {
+			final UnitResult result = results.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+			if (result == null) {
+				if (getNumOfWorkers() == 0) {
+					units.clear();
+					throw new IllegalStateException("no workers left");
+				}
+				continue;
+			}
+			++received;
+			scores[result.getUnit().getMove()] = result.getScore();
+			if (result.getUnit().improve(result.getScore())) {
+				best = result.getUnit().getMove();
+			}
+		}
+		return best;
+	}
+
+	private static void sortByScore(final int[] moves, final int numOfMoves, final int[] scores,
+			final int bestMove) {
+		final Integer[] sorted = new Integer[numOfMoves];
+		for (int i = 0; i < numOfMoves; ++i) {
+			sorted[i] = Integer.valueOf(moves[i]);
+		}
+		Arrays.sort(sorted, new Comparator<Integer>() {
+
+			@Override
+			public int compare(final Integer a, final Integer b) {
+				if (a.intValue() == b.intValue()) {
+					return 0;
+				}
+				if (a.intValue() == bestMove || b.intValue() == bestMove) {
+					return a.intValue() == bestMove ? -1 : 1;
+				}
+				return scores[b.intValue()] < scores[a.intValue()] ? -1
+						: scores[b.intValue()] == scores[a.intValue()] ? 0 : 1;
+			}
+		});
+		for (int i = 0; i < numOfMoves; ++i) {
+			moves[i] = sorted[i].intValue();
+		}
+	}
+
+	private void accept() {
+		while (!serverSocket.isClosed()) {
+			try {
+				final Socket socket = serverSocket.accept();
+				socket.setTcpNoDelay(true);
+				final int id = workers.size();
+				final WorkerConnection worker = new WorkerConnection(id, socket, units, results);
+				workers.add(worker);
+				final Thread thread = new Thread(worker, "othello-worker-" + id);
+				thread.setDaemon(true);
+				threads.add(thread);
+				thread.start();
+			} catch (final IOException e) {
+				// the server socket has been closed
+			}
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package othello.distributed;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import othello.engine.Searcher;
+
+
+/**
+ * A move at the root of a distributed search which has to be searched to a
+ * fixed depth. The window of the unit is not fixed: it is taken from the best
+ * score of the root at the moment the unit is sent to a worker, so units which
+ * are sent later are searched with a narrower window.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+final class WorkUnit {
+
+	private final int id;
+	private final int move;
+	private final int depth;
+	private final byte[] position;
+	private final AtomicInteger alpha;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param id
+	 *        the id
+	 * @param move
+	 *        the square of the root move
+	 * @param depth
+	 *        the remaining depth after the root move
+	 * @param position
+	 *        the encoded position after the root move
+	 * @param alpha
+	 *        the best score of the root so far, which is shared by all units of
+	 *        an iteration
+	 */
+	WorkUnit(final int id, final int move, final int depth, final byte[] position,
+			final AtomicInteger alpha) {
+		this.id = id;
+		this.move = move;
+		this.depth = depth;
+		this.position = position;
+		this.alpha = alpha;
+	}
+
+	int getId() {
+		return id;
+	}
+
+	int getMove() {
+		return move;
+	}
+
+	int getDepth() {
+		return depth;
+	}
+
+	byte[] getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns the lower bound of the window from the view of the player who has
+	 * to move after the root move.
+	 *
+	 * @return the lower bound
+	 */
+	int getAlpha() {
+		return -Searcher.INFINITY;
+	}
+
+	/**
+	 * Returns the upper bound of the window from the view of the player who has
+	 * to move after the root move, which is the negated best score of the root.
+	 *
+	 * @return the upper bound
+	 */
+	int getBeta() {
+		return -alpha.get();
+	}
+
+	/**
+	 * Saves the score of the root move if it is the best so far. Only the
+	 * coordinator calls it, the workers only read the best score.
+	 *
+	 * @param score
+	 *        the score from the view of the root
+	 * @return true if the score is the best so far
+	 */
+	boolean improve(final int score) {
+		if (score <= alpha.get()) {
+			return false;
+		}
+		alpha.set(score);
+		return true;
+	}
+}
@@ -0,0 +1,106 @@
+package othello.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import othello.InputValidation;
+import othello.Option;
+import othello.engine.HeapTranspositionTable;
+import othello.engine.SearchBoard;
+import othello.engine.Searcher;
+import othello.engine.TranspositionTable;
+
+
+/**
+ * A process which searches work units for a {@link Coordinator}. It connects
+ * to the coordinator and answers one unit after another until the connection
+ * is closed. All units share the transposition table of the worker, so a unit
+ * profits from the earlier iterations of the same search.
+ * <p>
+ * A unit consists of its type {@link #UNIT}, its id, the depth, the alpha-beta
+ * window and the position in the compact encoding of
+ * {@link SearchBoard#encode()} preceded by its length. The answer consists of
+ * the id, the score, the visited nodes and the search time in nanoseconds.
+ * There is no message to end the connection; the coordinator closes it.
+ *
+ * @version 0.1
+ * @since JDK1.7, Oct 19, 2026
+ */
+public final class Worker {
+
+	/** The type of a message which contains a work unit. */
+	static final int UNIT = 1;
+
+	private final TranspositionTable table;
+
+	/**
+	 * The entry point of a worker process.
+	 *
+	 * @param args
+	 *        the port of the coordinator on the loopback address
+	 * @throws IOException
+	 *         if the coordinator can't be reached
+	 */
+	public static void main(final String... args) throws IOException {
+		InputValidation.require(args.length == 1, "usage: Worker <port>");
+		final Option<Integer> port = InputValidation.parseInt(args[0]);
+		InputValidation.require(port.isDefined(), "invalid port");
+		final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port.get());
+		try {
+			new Worker(new HeapTranspositionTable()).serve(socket);
+		} finally {
+			socket.close();
+		}
+	}
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param table
+	 *        the transposition table which is shared by all units
+	 */
+	public Worker(final TranspositionTable table) {
+		this.table = table;
+	}
+
+	/**
+	 * Answers work units until the connection is closed.
+	 *
+	 * @param socket
+	 *        the connection to the coordinator
+	 * @throws IOException
+	 *         if the connection fails
+	 */
+	public void serve(final Socket socket) throws IOException {
+		socket.setTcpNoDelay(true);
+		final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		try {
+			while (in.read() == UNIT) {
+				final int id = in.readInt();
+				final int depth = in.readInt();
+				final int alpha = in.readInt();
+				final int beta = in.readInt();
+				final byte[] position = new byte[in.readUnsignedShort()];
+				in.readFully(position);
+
+				final long start = System.nanoTime();
+				final Searcher searcher = new Searcher(SearchBoard.decode(position), table);
+				final int score = searcher.score(depth, alpha, beta, Long.MAX_VALUE);
+				out.writeInt(id);
+				out.writeInt(score);
+				out.writeLong(searcher.getNodes());
+				out.writeLong(System.nanoTime() - start);
+				out.flush();
+			}
+		} catch (final EOFException e) {
+			// the coordinator has closed the connection
+		}
+	}
+}
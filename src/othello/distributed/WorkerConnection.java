@@ -0,0 +1,158 @@
+package othello.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+
+
+/**
+ * The side of the coordinator of the connection to a worker. It takes a unit
+ * from the shared queue, sends it with the current window and waits for the
+ * answer. If the connection fails, the unit is put back at the head of the
+ * queue, so another worker searches it next.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+final class WorkerConnection implements Runnable {
+
+	private final int id;
+	private final Socket socket;
+	private final BlockingDeque<WorkUnit> units;
+	private final BlockingQueue<UnitResult> results;
+	private volatile boolean isAlive = true;
+	private int completedUnits;
+	private long nodes;
+	private long searchNanos;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param id
+	 *        the id of the worker
+	 * @param socket
+	 *        the connection to the worker
+	 * @param units
+	 *        the queue of units which are not searched yet
+	 * @param results
+	 *        the queue the results are put into
+	 */
+	WorkerConnection(final int id, final Socket socket, final BlockingDeque<WorkUnit> units,
+			final BlockingQueue<UnitResult> results) {
+		this.id = id;
+		this.socket = socket;
+		this.units = units;
+		this.results = results;
+	}
+
+	@Override
+	public void run() {
+		WorkUnit unit = null;
+		try {
+			final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			while (true) {
+				unit = units.take();
+				out.write(Worker.UNIT);
+				out.writeInt(unit.getId());
+				out.writeInt(unit.getDepth());
+				out.writeInt(unit.getAlpha());
+				out.writeInt(unit.getBeta());
+				out.writeShort(unit.getPosition().length);
+				out.write(unit.getPosition());
+				out.flush();
+
+				final int unitId = in.readInt();
+				final int score = in.readInt();
+				final long unitNodes = in.readLong();
+				final long unitNanos = in.readLong();
+				if (unitId != unit.getId()) {
+					throw new IOException("unexpected unit " + unitId);
+				}
+				synchronized (this) {
+					++completedUnits;
+					nodes += unitNodes;
+					searchNanos += unitNanos;
+				}
+				results.add(new UnitResult(unit, -score, unitNodes));
+				unit = null;
+			}
+		} catch (final IOException e) {
+			if (unit != null) {
+				units.addFirst(unit);
+			}
+		} catch (final InterruptedException e) {
+			// the coordinator is closed
+		} finally {
+			isAlive = false;
+			close();
+		}
+	}
+
+	/**
+	 * Checks whether the worker is still connected.
+	 *
+	 * @return true if the worker is connected
+	 */
+	boolean isAlive() {
+		return isAlive;
+	}
+
+	/**
+	 * Closes the connection, which lets the worker end.
+	 */
+	void close() {
+		try {
+			socket.close();
+		} catch (final IOException e) {
+			// the socket is closed anyway
+		}
+	}
+
+	/**
+	 * Returns what the worker has done so far.
+	 *
+	 * @return the statistics
+	 */
+	synchronized WorkerStatistics getStatistics() {
+		return new WorkerStatistics(id, isAlive, completedUnits, nodes, searchNanos);
+	}
+
+	/**
+	 * The answer of a worker to a unit.
+	 */
+	static final class UnitResult {
+
+		private final WorkUnit unit;
+		private final int score;
+		private final long nodes;
+
+		UnitResult(final WorkUnit unit, final int score, final long nodes) {
+			this.unit = unit;
+			this.score = score;
+			this.nodes = nodes;
+		}
+
+		WorkUnit getUnit() {
+			return unit;
+		}
+
+		/**
+		 * Returns the score of the root move.
+		 *
+		 * @return the score from the view of the root
+		 */
+		int getScore() {
+			return score;
+		}
+
+		long getNodes() {
+			return nodes;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package othello.distributed;
+
+
+/**
+ * What a single worker of a {@link Coordinator} has done so far.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class WorkerStatistics {
+
+	private final int id;
+	private final boolean isAlive;
+	private final int units;
+	private final long nodes;
+	private final long searchNanos;
+
+	WorkerStatistics(final int id, final boolean isAlive, final int units, final long nodes,
+			final long searchNanos) {
+		this.id = id;
+		this.isAlive = isAlive;
+		this.units = units;
+		this.nodes = nodes;
+		this.searchNanos = searchNanos;
+	}
+
+	/**
+	 * Returns the id of the worker, which is its number in the order of
+	 * connection.
+	 *
+	 * @return the id
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Checks whether the worker is still connected.
+	 *
+	 * @return true if the worker is connected
+	 */
+	public boolean isAlive() {
+		return isAlive;
+	}
+
+	/**
+	 * Returns the number of completed units.
+	 *
+	 * @return the units
+	 */
+	public int getUnits() {
+		return units;
+	}
+
+	/**
+	 * Returns the nodes the worker has visited for its completed units.
+	 *
+	 * @return the nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the time the worker has spent searching its completed units.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getSearchNanos() {
+		return searchNanos;
+	}
+
+	/**
+	 * Returns the ratio of a period the worker has spent searching.
+	 *
+	 * @param nanos
+	 *        the period in nanoseconds
+	 * @return the ratio between 0 and 1
+	 */
+	public double getUtilization(final long nanos) {
+		return nanos > 0 ? Math.min(1.0, (double) searchNanos / nanos) : 0.0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("worker %d%s: %d units, %d nodes, %.3fms searching",
+				id, isAlive ? "" : " (dead)", units, nodes, searchNanos / 1e6);
+	}
+}
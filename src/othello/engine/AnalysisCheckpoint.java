@@ -0,0 +1,334 @@
+package othello.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import othello.InputValidation;
+import othello.Position;
+
+
+/**
+ * The state of a long analysis, kept in a memory-mapped file so that the
+ * analysis can be resumed after the process has ended. It contains the
+ * analyzed game state, the scores of the deepest completed depth, the scores
+ * of the moves which are already finished at the next depth, the principal
+ * variation and the time and nodes spent so far.
+ * <p>
+ * The file holds two slots which are written alternately, each with a
+ * sequence number and a checksum. A crash while a slot is written leaves the
+ * other one intact, and the valid slot with the higher sequence number is
+ * read.
+ * <p>
+ * The transposition table is not part of the checkpoint. An engine whose
+ * table is mapped to a file keeps it, see
+ * {@link OffHeapTranspositionTable#map(File, long)}.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class AnalysisCheckpoint implements Closeable {
+
+	/** The time between two checkpoints written during a depth. */
+	public static final long INTERVAL_MILLIS = 10000L;
+
+	private static final long MAGIC = 0x4f54484350543031L;
+	private static final int HEADER_BYTES = 16;
+	private static final int SLOT_HEADER_BYTES = 16;
+
+	private final RandomAccessFile file;
+	private final MappedByteBuffer buffer;
+	private final int slotBytes;
+	private final byte[] encoding;
+	private long sequence;
+	private int depth;
+	private List<MoveScore> scores = Collections.emptyList();
+	private List<MoveScore> partialScores = Collections.emptyList();
+	private List<Position> principalVariation = Collections.emptyList();
+	private long millis;
+	private long nodes;
+
+	/**
+	 * Creates an empty checkpoint for a game state. An existing file is
+	 * overwritten.
+	 *
+	 * @param file
+	 *        the file
+	 * @param board
+	 *        the game state which is analyzed
+	 * @return the checkpoint
+	 * @throws IOException
+	 *         if the file can't be mapped
+	 */
+	public static AnalysisCheckpoint create(final File file, final SearchBoard board)
+			throws IOException {
+		final byte[] encoding = board.encode();
+		final int slotBytes = SLOT_HEADER_BYTES + 64 + encoding.length
+				+ board.getNumOfEmpties() * 24 + SearchLimits.MAX_DEPTH * 8;
+		final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			raf.setLength(0);
+			raf.setLength(HEADER_BYTES + 2L * slotBytes);
+			final AnalysisCheckpoint checkpoint = new AnalysisCheckpoint(raf, slotBytes, encoding);
+			checkpoint.buffer.putLong(0, MAGIC);
+			checkpoint.buffer.putInt(8, slotBytes);
+			checkpoint.write();
+			return checkpoint;
+		} catch (final IOException e) {
+			raf.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens the checkpoint of an earlier analysis of a game state.
+	 *
+	 * @param file
+	 *        the file
+	 * @param board
+	 *        the game state which is analyzed
+	 * @return the checkpoint if the file contains one of the game state.
+	 *         Otherwise an exception is thrown.
+	 * @throws IOException
+	 *         if the file can't be mapped
+	 */
+	public static AnalysisCheckpoint resume(final File file, final SearchBoard board)
+			throws IOException {
+		InputValidation.require(file.isFile(), "no checkpoint found");
+		final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			InputValidation.require(raf.length() >= HEADER_BYTES && raf.readLong() == MAGIC,
+					"no checkpoint");
+			final int slotBytes = raf.readInt();
+			InputValidation.require(slotBytes > SLOT_HEADER_BYTES
+					&& raf.length() == HEADER_BYTES + 2L * slotBytes, "broken checkpoint");
+			final AnalysisCheckpoint checkpoint =
+					new AnalysisCheckpoint(raf, slotBytes, board.encode());
+			InputValidation.require(checkpoint.read(), "checkpoint belongs to another game state");
+			return checkpoint;
+		} catch (final IOException e) {
+			raf.close();
+			throw e;
+		} catch (final IllegalArgumentException e) {
+			raf.close();
+			throw e;
+		}
+	}
+
+	private AnalysisCheckpoint(final RandomAccessFile file, final int slotBytes,
+			final byte[] encoding) throws IOException {
+		this.file = file;
+		this.slotBytes = slotBytes;
+		this.encoding = encoding;
+		buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, file.length());
+	}
+
+	/**
+	 * Returns the deepest completed depth.
+	 *
+	 * @return the depth, 0 if no depth has been completed
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the scores of the deepest completed depth.
+	 *
+	 * @return the scores, ordered from the best to the worst move
+	 */
+	public List<MoveScore> getScores() {
+		return scores;
+	}
+
+	/**
+	 * Returns the scores of the moves which have been finished at the depth
+	 * after the deepest completed one.
+	 *
+	 * @return the scores
+	 */
+	public List<MoveScore> getPartialScores() {
+		return partialScores;
+	}
+
+	/**
+	 * Returns the principal variation of the deepest completed depth.
+	 *
+	 * @return the principal variation
+	 */
+	public List<Position> getPrincipalVariation() {
+		return principalVariation;
+	}
+
+	/**
+	 * Returns the time the analysis has run in all sessions.
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getMillis() {
+		return millis;
+	}
+
+	/**
+	 * Returns the nodes the analysis has visited in all sessions.
+	 *
+	 * @return the nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Writes a new state and forces it to the disk.
+	 *
+	 * @param depth
+	 *        the deepest completed depth
+	 * @param scores
+	 *        the scores of this depth
+	 * @param partialScores
+	 *        the scores of the moves finished at the next depth
+	 * @param principalVariation
+	 *        the principal variation
+	 * @param millis
+	 *        the time of all sessions
+	 * @param nodes
+	 *        the nodes of all sessions
+	 */
+	public void update(final int depth, final List<MoveScore> scores,
+			final List<MoveScore> partialScores, final List<Position> principalVariation,
+			final long millis, final long nodes) {
+		this.depth = depth;
+		this.scores = Collections.unmodifiableList(new ArrayList<MoveScore>(scores));
+		this.partialScores = Collections.unmodifiableList(new ArrayList<MoveScore>(partialScores));
+		this.principalVariation =
+				Collections.unmodifiableList(new ArrayList<Position>(principalVariation));
+		this.millis = millis;
+		this.nodes = nodes;
+		write();
+	}
+
+	@Override
+	public void close() throws IOException {
+		file.close();
+	}
+
+	private void write() {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(slotBytes);
+		final DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			out.writeShort(encoding.length);
+			out.write(encoding);
+			out.writeInt(depth);
+			writeScores(out, scores);
+			writeScores(out, partialScores);
+			out.writeShort(principalVariation.size());
+			for (final Position pos : principalVariation) {
+				out.writeByte(pos.getX());
+				out.writeByte(pos.getY());
+			}
+			out.writeLong(millis);
+			out.writeLong(nodes);
+		} catch (final IOException e) {
+			throw new IllegalStateException(e);
+		}
+		final byte[] payload = bytes.toByteArray();
+		if (payload.length > slotBytes - SLOT_HEADER_BYTES) {
+			throw new IllegalStateException("checkpoint exceeds its slot");
+		}
+
+		++sequence;
+		final int slot = HEADER_BYTES + (int) (sequence & 1) * slotBytes;
+		final CRC32 crc = new CRC32();
+		crc.update(payload, 0, payload.length);
+		buffer.putLong(slot, 0L);
+		for (int i = 0; i < payload.length; ++i) {
+			buffer.put(slot + SLOT_HEADER_BYTES + i, payload[i]);
+		}
+		buffer.putInt(slot + 8, payload.length);
+		buffer.putInt(slot + 12, (int) crc.getValue());
+		buffer.force();
+		buffer.putLong(slot, sequence);
+		buffer.force();
+	}
+
+	private boolean read() throws IOException {
+		long bestSequence = 0;
+		byte[] best = null;
+		for (int i = 0; i < 2; ++i) {
+			final int slot = HEADER_BYTES + i * slotBytes;
+			final long slotSequence = buffer.getLong(slot);
+			final int length = buffer.getInt(slot + 8);
+			if (slotSequence <= bestSequence || length <= 0
+					|| length > slotBytes - SLOT_HEADER_BYTES) {
+				continue;
+			}
+			final byte[] payload = new byte[length];
+			for (int j = 0; j < length; ++j) {
+				payload[j] = buffer.get(slot + SLOT_HEADER_BYTES + j);
+			}
+			final CRC32 crc = new CRC32();
+			crc.update(payload, 0, length);
+			if ((int) crc.getValue() == buffer.getInt(slot + 12)) {
+				bestSequence = slotSequence;
+				best = payload;
+			}
+		}
+		if (best == null) {
+			return false;
+		}
+
+		final DataInputStream in = new DataInputStream(new ByteArrayInputStream(best));
+		final byte[] stored = new byte[in.readUnsignedShort()];
+		in.readFully(stored);
+		if (!Arrays.equals(stored, encoding)) {
+			return false;
+		}
+		sequence = bestSequence;
+		depth = in.readInt();
+		scores = Collections.unmodifiableList(readScores(in));
+		partialScores = Collections.unmodifiableList(readScores(in));
+		final int pvLength = in.readUnsignedShort();
+		final List<Position> pv = new ArrayList<Position>(pvLength);
+		for (int i = 0; i < pvLength; ++i) {
+			final int x = in.readUnsignedByte();
+			pv.add(Position.valueOf(x, in.readUnsignedByte()));
+		}
+		principalVariation = Collections.unmodifiableList(pv);
+		millis = in.readLong();
+		nodes = in.readLong();
+		return true;
+	}
+
+	private static void writeScores(final DataOutputStream out, final List<MoveScore> scores)
+			throws IOException {
+		out.writeShort(scores.size());
+		for (final MoveScore score : scores) {
+			out.writeByte(score.getMove().getX());
+			out.writeByte(score.getMove().getY());
+			out.writeInt(score.getScore());
+		}
+	}
+
+	private static List<MoveScore> readScores(final DataInputStream in) throws IOException {
+		final int size = in.readUnsignedShort();
+		final List<MoveScore> scores = new ArrayList<MoveScore>(size);
+		for (int i = 0; i < size; ++i) {
+			final int x = in.readUnsignedByte();
+			final Position move = Position.valueOf(x, in.readUnsignedByte());
+			scores.add(new MoveScore(move, in.readInt()));
+		}
+		return scores;
+	}
+}
@@ -0,0 +1,24 @@
+package othello.engine;
+
+import java.util.List;
+
+
+/**
+ * Receives the results of an analysis as soon as a depth is completed.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public interface AnalysisListener {
+
+	/**
+	 * Is called after all possible moves have been searched to a depth.
+	 *
+	 * @param depth
+	 *        the completed depth
+	 * @param scores
+	 *        the scores of all possible moves, ordered from the best to the
+	 *        worst move
+	 */
+	void depthCompleted(int depth, List<MoveScore> scores);
+}
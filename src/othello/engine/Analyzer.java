@@ -0,0 +1,322 @@
+package othello.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.FlightRecorder;
+
+import othello.Position;
+
+
+/**
+ * Calculates the scores of all possible moves of a game state. Each possible
+ * move is searched by its own task, the tasks of a depth run in parallel and
+ * share the transposition table. The scores of a depth are reported as soon as
+ * all moves have been searched to that depth.
+ *
+ * @version 0.1
+ * @since JDK11, Oct 19, 2026
+ */
+public class Analyzer {
+
+	private final ExecutorService pool;
+	private final List<Searcher> searchers = new ArrayList<Searcher>();
+	private final List<Integer> moves = new ArrayList<Integer>();
+	private final SearchStatistics iterations = new SearchStatistics();
+	private final SearchBoard board;
+	private final TranspositionTable table;
+	private volatile boolean stopped;
+	private final Map<Position, List<Position>> variations =
+			new ConcurrentHashMap<Position, List<Position>>();
+	private AnalysisCheckpoint checkpoint;
+	private int completedDepth;
+	private List<Position> principalVariation = Collections.emptyList();
+	private long checkpointStart;
+	private long checkpointNodes;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param board
+	 *        the board to analyze, which is not changed
+	 * @param table
+	 *        the transposition table
+	 * @param pool
+	 *        the pool the tasks run in
+	 */
+	public Analyzer(final SearchBoard board, final TranspositionTable table,
+			final ExecutorService pool) {
+		this.pool = pool;
+		this.board = board;
+		this.table = table;
+		final int[] buffer = new int[board.getNumOfEmpties()];
+		final int numOfMoves = board.generateMoves(buffer);
+		for (int i = 0; i < numOfMoves; ++i) {
+			final SearchBoard child = board.copy();
+			child.makeMove(buffer[i]);
+			searchers.add(new Searcher(child, table));
+			moves.add(Integer.valueOf(buffer[i]));
+		}
+	}
+
+	/**
+	 * Stops the analysis as soon as possible.
+	 */
+	public void stop() {
+		stopped = true;
+		for (final Searcher searcher : searchers) {
+			searcher.stop();
+		}
+	}
+
+	/**
+	 * Returns the number of nodes all tasks have visited so far.
+	 *
+	 * @return the nodes
+	 */
+	public long getNodes() {
+		long nodes = 0;
+		for (final Searcher searcher : searchers) {
+			nodes += searcher.getNodes();
+		}
+		return nodes;
+	}
+
+	/**
+	 * Returns the merged statistics of all tasks together with the completed
+	 * iterations of the analysis.
+	 *
+	 * @return the statistics
+	 */
+	public SearchStatistics getStatistics() {
+		final SearchStatistics statistics = new SearchStatistics();
+		for (final SearchStatistics.Iteration iteration : iterations.getIterations()) {
+			statistics.iterationCompleted(iteration.getDepth(), iteration.getNanos(), iteration.getNodes());
+		}
+		for (final Searcher searcher : searchers) {
+			statistics.add(searcher.getStatistics());
+		}
+		statistics.setNanos(iterations.getNanos());
+		return statistics;
+	}
+
+	/**
+	 * Analyzes all possible moves.
+	 *
+	 * @param limits
+	 *        the limits of the analysis
+	 * @param listener
+	 *        the listener which receives the scores of each completed depth
+	 * @return the scores of the deepest completed depth, ordered from the best
+	 *         to the worst move
+	 */
+	public List<MoveScore> analyze(final SearchLimits limits, final AnalysisListener listener) {
+		return analyze(limits, listener, null);
+	}
+
+	/**
+	 * Analyzes all possible moves and keeps a checkpoint of the analysis. The
+	 * analysis continues after the deepest completed depth of the checkpoint,
+	 * which is reported to the listener first, and the moves the checkpoint
+	 * already contains at the next depth are not searched again. The
+	 * checkpoint is written after each depth, every
+	 * {@link AnalysisCheckpoint#INTERVAL_MILLIS} during a depth and when the
+	 * analysis stops.
+	 *
+	 * @param limits
+	 *        the limits of the analysis
+	 * @param listener
+	 *        the listener which receives the scores of each completed depth
+	 * @param checkpoint
+	 *        the checkpoint of the game state of this analyzer, null if none
+	 * @return the scores of the deepest completed depth, ordered from the best
+	 *         to the worst move
+	 */
+	public List<MoveScore> analyze(final SearchLimits limits, final AnalysisListener listener,
+			final AnalysisCheckpoint checkpoint) {
+		final SearchEvent event = FlightRecorder.isInitialized() ? new SearchEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		final long start = System.nanoTime();
+		final long deadline;
+		if (limits.isClocked()) {
+			deadline = start + new TimeManager(limits, board.getNumOfEmpties(), start).getOptimumNanos();
+		} else {
+			deadline = limits.isTimed() ? start + limits.getMillis() * 1000000L : Long.MAX_VALUE;
+		}
+
+		List<MoveScore> completed = Collections.emptyList();
+		if (searchers.isEmpty()) {
+			return completed;
+		}
+		completedDepth = 0;
+		List<MoveScore> known = Collections.emptyList();
+		if (checkpoint != null) {
+			this.checkpoint = checkpoint;
+			checkpointStart = start;
+			completedDepth = checkpoint.getDepth();
+			known = checkpoint.getPartialScores();
+			if (completedDepth > 0) {
+				completed = checkpoint.getScores();
+				principalVariation = checkpoint.getPrincipalVariation();
+				listener.depthCompleted(completedDepth, completed);
+			}
+		}
+		final int maxDepth = Math.min(limits.getDepth(),
+				searchers.get(0).getBoard().getNumOfEmpties() + 1);
+		for (int depth = completedDepth + 1; depth <= maxDepth && !stopped; ++depth) {
+			final SearchIterationEvent iterationEvent =
+					event != null ? new SearchIterationEvent() : null;
+			if (iterationEvent != null) {
+				iterationEvent.begin();
+			}
+			final long iterationStart = System.nanoTime();
+			final long iterationNodes = getNodes();
+			final List<MoveScore> scores = searchDepth(depth, deadline, completed, known);
+			known = Collections.emptyList();
+			if (stopped) {
+				writeCheckpoint(completed, scores);
+				break;
+			}
+			iterations.iterationCompleted(depth, System.nanoTime() - iterationStart,
+					getNodes() - iterationNodes);
+			if (iterationEvent != null) {
+				iterationEvent.complete(depth, getNodes() - iterationNodes);
+			}
+			Collections.sort(scores);
+			completed = scores;
+			completedDepth = depth;
+			principalVariation = new ArrayList<Position>();
+			principalVariation.add(scores.get(0).getMove());
+			final List<Position> variation = variations.get(scores.get(0).getMove());
+			if (variation != null) {
+				principalVariation.addAll(variation);
+			}
+			writeCheckpoint(completed, Collections.<MoveScore> emptyList());
+			listener.depthCompleted(depth, scores);
+		}
+		iterations.setNanos(System.nanoTime() - start);
+		if (event != null) {
+			event.complete("analyze", board, completedDepth, getStatistics());
+		}
+		return completed;
+	}
+
+	/**
+	 * Searches all moves to a depth.
+	 *
+	 * @return the scores of the finished moves, which are all moves unless the
+	 *         analysis has been stopped
+	 */
+	private List<MoveScore> searchDepth(final int depth, final long deadline,
+			final List<MoveScore> completed, final List<MoveScore> known) {
+		final MoveScore[] scores = new MoveScore[searchers.size()];
+		final int[] results = new int[searchers.size()];
+		final CompletionService<Integer> service = new ExecutorCompletionService<Integer>(pool);
+		int pending = 0;
+		for (int i = 0; i < searchers.size(); ++i) {
+			final Searcher searcher = searchers.get(i);
+			final Position move = searcher.getBoard().toPosition(moves.get(i).intValue());
+			for (final MoveScore score : known) {
+				if (score.getMove().equals(move)) {
+					scores[i] = score;
+				}
+			}
+			if (scores[i] != null) {
+				continue;
+			}
+			final int index = i;
+			service.submit(new Callable<Integer>() {
+
+				@Override
+				public Integer call() {
+					results[index] = -searcher.score(depth - 1, deadline);
+					variations.put(searcher.getBoard().toPosition(moves.get(index).intValue()),
+							searcher.principalVariation(depth - 1));
+					return Integer.valueOf(index);
+				}
+			});
+			++pending;
+		}
+
+		long nextCheckpoint = System.nanoTime() + AnalysisCheckpoint.INTERVAL_MILLIS * 1000000L;
+		boolean interrupted = false;
+		while (pending > 0) {
+			final Future<Integer> result;
+			try {
+				result = checkpoint == null
+						? service.take()
+						: service.poll(nextCheckpoint - System.nanoTime(), TimeUnit.NANOSECONDS);
+			} catch (final InterruptedException e) {
+				stop();
+				interrupted = true;
+				continue;
+			}
+			if (result != null) {
+				--pending;
+				final int i = get(result);
+				final Searcher searcher = searchers.get(i);
+				if (searcher.isStopped()) {
+					stop();
+				} else {
+					scores[i] = new MoveScore(
+							searcher.getBoard().toPosition(moves.get(i).intValue()), results[i]);
+				}
+			}
+			if (checkpoint != null && System.nanoTime() >= nextCheckpoint) {
+				writeCheckpoint(completed, finished(scores));
+				nextCheckpoint = System.nanoTime() + AnalysisCheckpoint.INTERVAL_MILLIS * 1000000L;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		return finished(scores);
+	}
+
+	private void writeCheckpoint(final List<MoveScore> completed, final List<MoveScore> partial) {
+		if (checkpoint == null) {
+			return;
+		}
+		checkpoint.update(completedDepth, completed, partial, principalVariation,
+				checkpoint.getMillis() + (System.nanoTime() - checkpointStart) / 1000000L,
+				checkpoint.getNodes() + getNodes() - checkpointNodes);
+		checkpointStart = System.nanoTime();
+		checkpointNodes = getNodes();
+		if (table instanceof OffHeapTranspositionTable
+				&& ((OffHeapTranspositionTable) table).isMapped()) {
+			((OffHeapTranspositionTable) table).flush();
+		}
+	}
+
+	private static List<MoveScore> finished(final MoveScore[] scores) {
+		final List<MoveScore> finished = new ArrayList<MoveScore>(scores.length);
+		for (final MoveScore score : scores) {
+			if (score != null) {
+				finished.add(score);
+			}
+		}
+		return finished;
+	}
+
+	private static int get(final Future<Integer> future) {
+		try {
+			return future.get().intValue();
+		} catch (final InterruptedException e) {
+			throw new IllegalStateException(e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
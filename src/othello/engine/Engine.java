@@ -0,0 +1,358 @@
+package othello.engine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import othello.Game;
+import othello.Option;
+
+
+/**
+ * The entry point to the search. An engine owns a transposition table which
+ * is kept between searches, therefore the results of earlier searches speed up
+ * later ones.
+ * <p>
+ * The engine can ponder: while the opponent thinks about his move, the current
+ * game state is searched in a background thread. Because the whole state is
+ * searched, the replies to every move the opponent can do end up in the
+ * transposition table and are reused by the next search, regardless of which
+ * move was actually played.
+ * <p>
+ * Analyses run on a work-stealing pool with one worker per processor.
+ * <p>
+ * A search or analysis which runs in one thread can be stopped or limited in
+ * time from another thread, see {@link #stop()} and {@link #limitTime(long)}.
+ * <p>
+ * Positions of small boards for which a {@link SolvedTable} has been added
+ * are not searched, their best move is looked up.
+ *
+ * @version 0.1
+ * @since JDK1.7, Oct 19, 2026
+ */
+public class Engine {
+
+	private final TranspositionTable table;
+	private ExecutorService pool;
+	private volatile SearchStatistics lastStatistics;
+	private Searcher ponderSearcher;
+	private Thread ponderThread;
+	private volatile Searcher searcher;
+	private volatile Analyzer analyzer;
+	private volatile boolean isStopRequested;
+	private volatile long deadline = Long.MAX_VALUE;
+	private final List<SolvedTable> solvedTables = new CopyOnWriteArrayList<SolvedTable>();
+	private volatile ProbCut probCut;
+
+	/**
+	 * Creates a new instance with a transposition table of the default size.
+	 */
+	public Engine() {
+		this(new HeapTranspositionTable());
+	}
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param table
+	 *        the transposition table
+	 */
+	public Engine(final TranspositionTable table) {
+		this(table, null);
+	}
+
+	/**
+	 * Creates a new instance which runs its analyses on a given pool. This
+	 * makes it possible to share one pool between several engines.
+	 *
+	 * @param table
+	 *        the transposition table
+	 * @param pool
+	 *        the pool, null if the engine should create its own
+	 */
+	public Engine(final TranspositionTable table, final ExecutorService pool) {
+		this.table = table;
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns the transposition table.
+	 *
+	 * @return the transposition table
+	 */
+	public TranspositionTable getTable() {
+		return table;
+	}
+
+	/**
+	 * Searches the best move of the current player of a game. If the engine
+	 * ponders, pondering is stopped first.
+	 *
+	 * @param game
+	 *        the game
+	 * @param limits
+	 *        the limits of the search
+	 * @return the result of the search
+	 */
+	public SearchResult search(final Game game, final SearchLimits limits) {
+		return search(game, limits, null);
+	}
+
+	/**
+	 * Searches the best move of the current player of a game and reports each
+	 * completed iteration. If the engine ponders, pondering is stopped first.
+	 *
+	 * @param game
+	 *        the game
+	 * @param limits
+	 *        the limits of the search
+	 * @param listener
+	 *        the listener which receives the result of each iteration, null if
+	 *        none
+	 * @return the result of the search
+	 */
+	public SearchResult search(final Game game, final SearchLimits limits,
+			final SearchListener listener) {
+		stopPondering();
+		final SearchBoard board = SearchBoard.of(game);
+		for (final SolvedTable solved : solvedTables) {
+			final Option<SearchResult> result = solved.search(board);
+			if (result.isDefined()) {
+				lastStatistics = result.get().getStatistics();
+				return result.get();
+			}
+		}
+		final Searcher current = new Searcher(board, table);
+		current.setProbCut(probCut);
+		searcher = current;
+		if (isStopRequested) {
+			current.stop();
+		}
+		final long currentDeadline = deadline;
+		if (currentDeadline != Long.MAX_VALUE) {
+			current.setDeadline(currentDeadline);
+		}
+		final SearchResult result;
+		try {
+			result = current.search(limits, listener);
+		} finally {
+			searcher = null;
+		}
+		lastStatistics = result.getStatistics();
+		return result;
+	}
+
+	/**
+	 * Adds the exact values of a small board. The table is used by all later
+	 * searches of positions with its geometry. A table which was loaded from
+	 * the same file or has the same geometry is replaced and closed.
+	 *
+	 * @param solved
+	 *        the table
+	 * @throws IOException
+	 *         if a replaced table can't be closed
+	 */
+	public void addSolvedTable(final SolvedTable solved) throws IOException {
+		final List<SolvedTable> replaced = new ArrayList<SolvedTable>();
+		synchronized (solvedTables) {
+			for (final SolvedTable old : solvedTables) {
+				if (old.getFile().equals(solved.getFile()) || old.hasGeometryOf(solved)) {
+					replaced.add(old);
+				}
+			}
+			solvedTables.removeAll(replaced);
+			solvedTables.add(solved);
+		}
+		for (final SolvedTable old : replaced) {
+			old.close();
+		}
+	}
+
+	/**
+	 * Sets the Multi-ProbCut parameters of later searches for a move. The
+	 * analysis of all moves stays full-width.
+	 *
+	 * @param probCut
+	 *        the parameters, null to search full-width
+	 */
+	public void setProbCut(final ProbCut probCut) {
+		this.probCut = probCut;
+	}
+
+	/**
+	 * Calculates the scores of all possible moves of the current player of a
+	 * game. If the engine ponders, pondering is stopped first.
+	 *
+	 * @param game
+	 *        the game
+	 * @param limits
+	 *        the limits of the analysis
+	 * @param listener
+	 *        the listener which receives the scores of each completed depth
+	 * @return the scores of the deepest completed depth
+	 */
+	public List<MoveScore> analyze(final Game game, final SearchLimits limits,
+			final AnalysisListener listener) {
+		return analyze(game, limits, listener, null);
+	}
+
+	/**
+	 * Calculates the scores of all possible moves of the current player of a
+	 * game and keeps a checkpoint, see
+	 * {@link Analyzer#analyze(SearchLimits, AnalysisListener, AnalysisCheckpoint)}.
+	 * If the engine ponders, pondering is stopped first.
+	 *
+	 * @param game
+	 *        the game
+	 * @param limits
+	 *        the limits of the analysis
+	 * @param listener
+	 *        the listener which receives the scores of each completed depth
+	 * @param checkpoint
+	 *        the checkpoint of the game, null if none
+	 * @return the scores of the deepest completed depth
+	 */
+	public List<MoveScore> analyze(final Game game, final SearchLimits limits,
+			final AnalysisListener listener, final AnalysisCheckpoint checkpoint) {
+		stopPondering();
+		final Analyzer current = new Analyzer(SearchBoard.of(game), table, getPool());
+		analyzer = current;
+		if (isStopRequested) {
+			current.stop();
+		}
+		final List<MoveScore> scores;
+		try {
+			scores = current.analyze(limits, listener, checkpoint);
+		} finally {
+			analyzer = null;
+		}
+		lastStatistics = current.getStatistics();
+		return scores;
+	}
+
+	/**
+	 * Stops the running search or analysis, which returns the result of its
+	 * deepest completed iteration. If nothing is running, the next search or
+	 * analysis is stopped as soon as it starts, until {@link #clearStop()} is
+	 * called. It can be called from any thread and does not wait.
+	 */
+	public void stop() {
+		isStopRequested = true;
+		final Searcher currentSearcher = searcher;
+		if (currentSearcher != null) {
+			currentSearcher.stop();
+		}
+		final Analyzer currentAnalyzer = analyzer;
+		if (currentAnalyzer != null) {
+			currentAnalyzer.stop();
+		}
+	}
+
+	/**
+	 * Forgets a call of {@link #stop()} and {@link #limitTime(long)}, so the
+	 * next search or analysis runs until its limits are reached.
+	 */
+	public void clearStop() {
+		isStopRequested = false;
+		deadline = Long.MAX_VALUE;
+	}
+
+	/**
+	 * Lets the running search stop after some time, even if its limits allow
+	 * it to run longer. If no search is running, the time limits the next
+	 * search, like {@link #stop()}, until {@link #clearStop()} is called.
+	 *
+	 * @param millis
+	 *        the time from now in milliseconds
+	 */
+	public void limitTime(final long millis) {
+		deadline = System.nanoTime() + millis * 1000000L;
+		final Searcher current = searcher;
+		if (current != null) {
+			current.setDeadline(deadline);
+		}
+	}
+
+	/**
+	 * Returns the statistics of the last search or analysis.
+	 *
+	 * @return the statistics, null if nothing has been searched yet
+	 */
+	public SearchStatistics getLastStatistics() {
+		return lastStatistics;
+	}
+
+	/**
+	 * Returns the pool which runs the tasks of an analysis. It is created when
+	 * it is used for the first time.
+	 *
+	 * @return the pool
+	 */
+	public synchronized ExecutorService getPool() {
+		if (pool == null) {
+			pool = new ForkJoinPool();
+		}
+		return pool;
+	}
+
+	/**
+	 * Starts to search a game in the background until
+	 * {@link #stopPondering()} is called. A running ponder search is stopped
+	 * first.
+	 *
+	 * @param game
+	 *        the game
+	 */
+	public synchronized void startPondering(final Game game) {
+		stopPondering();
+		final Searcher searcher = new Searcher(SearchBoard.of(game), table);
+		searcher.setProbCut(probCut);
+		final Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				searcher.search(SearchLimits.INFINITE);
+			}
+		}, "othello-ponder");
+		thread.setDaemon(true);
+		ponderSearcher = searcher;
+		ponderThread = thread;
+		thread.start();
+	}
+
+	/**
+	 * Stops pondering and waits until the background search has finished. It
+	 * does nothing if the engine does not ponder.
+	 */
+	public synchronized void stopPondering() {
+		if (ponderThread == null) {
+			return;
+		}
+		ponderSearcher.stop();
+		boolean interrupted = false;
+		while (ponderThread.isAlive()) {
+			try {
+				ponderThread.join();
+			} catch (final InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		ponderSearcher = null;
+		ponderThread = null;
+	}
+
+	/**
+	 * Checks whether the engine ponders.
+	 *
+	 * @return true if a background search is running
+	 */
+	public synchronized boolean isPondering() {
+		return ponderThread != null;
+	}
+}
@@ -0,0 +1,150 @@
+package othello.engine;
+
+
+/**
+ * Estimates how good a game state is for the player who has to move. The
+ * estimation uses a weight for each square, the mobility of both players and
+ * the number of stable discs.
+ * <p>
+ * The weights are calculated from the walls around a square and not from a
+ * fixed table, because boards can have any size and holes. A square whose
+ * lines are all closed by walls can never be flipped, like a corner. A square
+ * next to such a square is dangerous, because it gives the corner away.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public class Evaluator {
+
+	/**
+	 * The version of the evaluation. It is increased whenever the scores
+	 * change, so scores which were saved by an older version are not used.
+	 */
+	public static final int VERSION = 2;
+
+	/** The score of a won game without the disc difference. */
+	public static final int WIN = 1 << 20;
+
+	private static final int CORNER_WEIGHT = 20;
+	private static final int EDGE_WEIGHT = 4;
+	private static final int DEFAULT_WEIGHT = 1;
+	private static final int NEXT_TO_CORNER_WEIGHT = -8;
+	private static final int MOBILITY_WEIGHT = 3;
+	private static final int STABLE_WEIGHT = 6;
+
+	/**
+	 * Calculates the score of a finished game, which is based on the disc
+	 * difference.
+	 *
+	 * @param board
+	 *        the board
+	 * @return the score from the view of the player who has to move
+	 */
+	public static int finalScore(final SearchBoard board) {
+		return finalScore(board.count(board.getPlayer()) - board.count(board.getOpponent()));
+	}
+
+	/**
+	 * Calculates the score of a finished game from its disc difference.
+	 *
+	 * @param diff
+	 *        the disc difference from the view of the player who has to move
+	 * @return the score
+	 */
+	public static int finalScore(final int diff) {
+		if (diff > 0) {
+			return WIN + diff;
+		}
+		return diff < 0 ? -WIN + diff : 0;
+	}
+
+	/**
+	 * Checks whether a score belongs to a finished game.
+	 *
+	 * @param score
+	 *        the score
+	 * @return true if the score is an exact game result
+	 */
+	public static boolean isFinalScore(final int score) {
+		return Math.abs(score) > WIN;
+	}
+
+	private final int[] weights;
+
+	/**
+	 * Creates a new instance for the geometry and the holes of a board.
+	 *
+	 * @param board
+	 *        the board
+	 */
+	public Evaluator(final SearchBoard board) {
+		weights = new int[board.size()];
+		final int[] dirs = board.getDirections();
+		for (int sq = 0; sq < weights.length; ++sq) {
+			if (board.get(sq) == SearchBoard.WALL) {
+				continue;
+			}
+			int closed = 0;
+			for (int i = 0; i < 4; ++i) {
+				if (board.get(sq + dirs[i]) == SearchBoard.WALL
+						|| board.get(sq + dirs[i + 4]) == SearchBoard.WALL) {
+					++closed;
+				}
+			}
+			weights[sq] = closed == 4 ? CORNER_WEIGHT : closed == 3 ? EDGE_WEIGHT : DEFAULT_WEIGHT;
+		}
+		for (int sq = 0; sq < weights.length; ++sq) {
+			if (weights[sq] != CORNER_WEIGHT) {
+				continue;
+			}
+			for (final int dir : dirs) {
+				final int next = sq + dir;
+				if (board.get(next) != SearchBoard.WALL && weights[next] != CORNER_WEIGHT) {
+					weights[next] = NEXT_TO_CORNER_WEIGHT;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the weight of a square, which can be used to order moves.
+	 *
+	 * @param sq
+	 *        the square
+	 * @return the weight
+	 */
+	public int weight(final int sq) {
+		return weights[sq];
+	}
+
+	/**
+	 * Estimates the score of a game state.
+	 *
+	 * @param board
+	 *        the board
+	 * @param stable
+	 *        the stable discs of the board
+	 * @return the score from the view of the player who has to move
+	 */
+	public int evaluate(final SearchBoard board, final StableDiscs stable) {
+		final int player = board.getPlayer();
+		final int opponent = board.getOpponent();
+		final int myMoves = board.countMoves(player);
+		final int opMoves = board.countMoves(opponent);
+		if (myMoves == 0 && opMoves == 0) {
+			return finalScore(board);
+		}
+
+		int score = MOBILITY_WEIGHT * (myMoves - opMoves)
+				+ STABLE_WEIGHT * (stable.count(player) - stable.count(opponent));
+		for (int sq = 0; sq < weights.length; ++sq) {
+			final int value = board.get(sq);
+			if (value == player) {
+				score += weights[sq];
+			} else if (value == opponent) {
+				score -= weights[sq];
+			}
+		}
+		return score;
+	}
+}
@@ -0,0 +1,65 @@
+package othello.engine;
+
+import java.util.Arrays;
+
+
+/**
+ * A transposition table which saves its entries in two arrays on the heap.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public class HeapTranspositionTable extends TranspositionTable {
+
+	/** The default number of entries. */
+	public static final int DEFAULT_SIZE = 1 << 20;
+
+	private final long[] keys;
+	private final long[] data;
+	private final int mask;
+
+	/**
+	 * Creates a new instance with the default size.
+	 */
+	public HeapTranspositionTable() {
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Creates a new instance. The size is rounded up to the next power of two.
+	 *
+	 * @param size
+	 *        the minimum number of entries
+	 */
+	public HeapTranspositionTable(final int size) {
+		final int capacity = (int) capacityOf(size);
+		keys = new long[capacity];
+		data = new long[capacity];
+		mask = capacity - 1;
+	}
+
+	@Override
+	public long probe(final long hash) {
+		final int i = (int) hash & mask;
+		final long d = data[i];
+		return (keys[i] ^ d) == hash ? d : 0L;
+	}
+
+	@Override
+	public void store(final long hash, final long packed) {
+		final int i = (int) hash & mask;
+		keys[i] = hash ^ packed;
+		data[i] = packed;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, 0L);
+		Arrays.fill(data, 0L);
+	}
+
+	@Override
+	public long getCapacity() {
+		return keys.length;
+	}
+}
@@ -0,0 +1,62 @@
+package othello.engine;
+
+import othello.Position;
+
+
+/**
+ * The score of a single possible move. Move scores are ordered from the best
+ * to the worst move. Moves with the same score are ordered like their
+ * positions.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class MoveScore implements Comparable<MoveScore> {
+
+	private final Position move;
+	private final int score;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param move
+	 *        the move
+	 * @param score
+	 *        the score from the view of the player who moves
+	 */
+	public MoveScore(final Position move, final int score) {
+		this.move = move;
+		this.score = score;
+	}
+
+	/**
+	 * Returns the move.
+	 *
+	 * @return the move
+	 */
+	public Position getMove() {
+		return move;
+	}
+
+	/**
+	 * Returns the score.
+	 *
+	 * @return the score
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	@Override
+	public int compareTo(final MoveScore other) {
+		if (score != other.score) {
+			return score > other.score ? -1 : 1;
+		}
+		return move.compareTo(other.move);
+	}
+
+	@Override
+	public String toString() {
+		return move + "(" + SearchResult.formatScore(score) + ")";
+	}
+}
@@ -0,0 +1,212 @@
+package othello.engine;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import othello.InputValidation;
+
+
+/**
+ * A transposition table which saves its entries outside of the heap, therefore
+ * a large table does not slow down the garbage collector. The table is split
+ * into segments of at most 1GB, because a single buffer can't be larger than
+ * 2GB, so the table can have any size the machine can hold.
+ * <p>
+ * Each entry consists of two longs, the key xor the data and the data. They are
+ * accessed through a {@link VarHandle}: the data is written first and the key
+ * is published with release semantics, a reader acquires the key before it
+ * reads the data. An entry which was torn by two writers fails the xor check
+ * and is treated as missing, so no lock is needed.
+ * <p>
+ * The table can be backed by a file. The file starts with a header of a magic
+ * number and the capacity as longs, then the version of the file format and
+ * {@link Evaluator#VERSION} as ints. If it matches, the entries of an earlier
+ * run are used again. Otherwise the table starts empty, so entries with other
+ * keys, another packing or scores of another evaluation are never used.
+ *
+ * @version 0.1
+ * @since JDK9, Oct 19, 2026
+ */
+public class OffHeapTranspositionTable extends TranspositionTable implements Closeable {
+
+	private static final VarHandle LONGS =
+			MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+	private static final long MAGIC = 0x3142415454484f4fL;
+	private static final int FORMAT_VERSION = 2;
+	private static final int HEADER_BYTES = 64;
+	private static final int ENTRY_SHIFT = 4;
+	private static final int MAX_SEGMENT_SHIFT = 26;
+	private static final long MEGABYTE = 1024L * 1024L;
+
+	/**
+	 * Creates a table in memory which is not backed by a file. Its size counts
+	 * against -XX:MaxDirectMemorySize, which is the maximum heap size by
+	 * default.
+	 *
+	 * @param megabytes
+	 *        the size of the table, which is rounded down to a power of two
+	 * @return the table
+	 */
+	public static OffHeapTranspositionTable allocate(final long megabytes) {
+		final long capacity = capacityOfMegabytes(megabytes);
+		final ByteBuffer[] segments = new ByteBuffer[numOfSegments(capacity)];
+		for (int i = 0; i < segments.length; ++i) {
+			segments[i] = ByteBuffer.allocateDirect(
+					(int) (segmentCapacity(capacity) << ENTRY_SHIFT)).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		return new OffHeapTranspositionTable(capacity, segments, null);
+	}
+
+	/**
+	 * Creates a table which is backed by a file. If the file contains a table of
+	 * the same size and versions, its entries are kept. Otherwise the file is
+	 * cleared.
+	 *
+	 * @param file
+	 *        the file
+	 * @param megabytes
+	 *        the size of the table, which is rounded down to a power of two
+	 * @return the table
+	 * @throws IOException
+	 *         if the file can't be mapped
+	 */
+	public static OffHeapTranspositionTable map(final File file, final long megabytes)
+			throws IOException {
+		final long capacity = capacityOfMegabytes(megabytes);
+		final long segmentBytes = segmentCapacity(capacity) << ENTRY_SHIFT;
+		final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			final FileChannel channel = raf.getChannel();
+			final boolean isCompatible = raf.length() == HEADER_BYTES + (capacity << ENTRY_SHIFT);
+			raf.setLength(HEADER_BYTES + (capacity << ENTRY_SHIFT));
+
+			final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+			header.order(ByteOrder.LITTLE_ENDIAN);
+			final ByteBuffer[] segments = new ByteBuffer[numOfSegments(capacity)];
+			for (int i = 0; i < segments.length; ++i) {
+				segments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+						HEADER_BYTES + i * segmentBytes, segmentBytes).order(ByteOrder.LITTLE_ENDIAN);
+			}
+
+			final OffHeapTranspositionTable table =
+					new OffHeapTranspositionTable(capacity, segments, header);
+			if (!isCompatible || header.getLong(0) != MAGIC || header.getLong(8) != capacity
+					|| header.getInt(16) != FORMAT_VERSION || header.getInt(20) != Evaluator.VERSION) {
+				table.clear();
+				header.putLong(0, MAGIC);
+				header.putLong(8, capacity);
+				header.putInt(16, FORMAT_VERSION);
+				header.putInt(20, Evaluator.VERSION);
+				header.force();
+			}
+			return table;
+		} finally {
+			raf.close();
+		}
+	}
+
+	private final long mask;
+	private final int segmentShift;
+	private final long segmentMask;
+	private final ByteBuffer[] segments;
+	private final MappedByteBuffer header;
+
+	private OffHeapTranspositionTable(final long capacity, final ByteBuffer[] segments,
+			final MappedByteBuffer header) {
+		this.mask = capacity - 1;
+		this.segmentShift = Long.numberOfTrailingZeros(segmentCapacity(capacity));
+		this.segmentMask = segmentCapacity(capacity) - 1;
+		this.segments = segments;
+		this.header = header;
+	}
+
+	@Override
+	public long probe(final long hash) {
+		final long i = hash & mask;
+		final ByteBuffer segment = segments[(int) (i >>> segmentShift)];
+		final int offset = (int) (i & segmentMask) << ENTRY_SHIFT;
+		final long key = (long) LONGS.getAcquire(segment, offset);
+		final long d = (long) LONGS.get(segment, offset + 8);
+		return (key ^ d) == hash ? d : 0L;
+	}
+
+	@Override
+	public void store(final long hash, final long packed) {
+		final long i = hash & mask;
+		final ByteBuffer segment = segments[(int) (i >>> segmentShift)];
+		final int offset = (int) (i & segmentMask) << ENTRY_SHIFT;
+		LONGS.set(segment, offset + 8, packed);
+		LONGS.setRelease(segment, offset, hash ^ packed);
+	}
+
+	@Override
+	public void clear() {
+		final byte[] zeros = new byte[1 << 16];
+		for (final ByteBuffer segment : segments) {
+			final ByteBuffer view = segment.duplicate();
+			view.clear();
+			while (view.hasRemaining()) {
+				view.put(zeros, 0, Math.min(zeros.length, view.remaining()));
+			}
+		}
+	}
+
+	@Override
+	public long getCapacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Checks whether the table is backed by a file.
+	 *
+	 * @return true if the table is backed by a file
+	 */
+	public boolean isMapped() {
+		return header != null;
+	}
+
+	/**
+	 * Writes all entries to the file. It does nothing if the table is not
+	 * backed by a file.
+	 */
+	public void flush() {
+		if (header == null) {
+			return;
+		}
+		for (final ByteBuffer segment : segments) {
+			((MappedByteBuffer) segment).force();
+		}
+		header.force();
+	}
+
+	/**
+	 * Writes all entries to the file. The memory is released when the table
+	 * is garbage collected.
+	 */
+	@Override
+	public void close() {
+		flush();
+	}
+
+	private static long capacityOfMegabytes(final long megabytes) {
+		InputValidation.require(megabytes > 0, "invalid table size");
+		return Long.highestOneBit((megabytes * MEGABYTE) >>> ENTRY_SHIFT);
+	}
+
+	private static long segmentCapacity(final long capacity) {
+		return Math.min(capacity, 1L << MAX_SEGMENT_SHIFT);
+	}
+
+	private static int numOfSegments(final long capacity) {
+		return (int) (capacity / segmentCapacity(capacity));
+	}
+}
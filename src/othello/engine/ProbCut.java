@@ -0,0 +1,349 @@
+package othello.engine;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.TreeMap;
+
+import othello.InputValidation;
+
+
+/**
+ * The parameters of Multi-ProbCut, which prunes a node when a shallow search
+ * predicts with high probability that the deep search would fail high or
+ * low.
+ * <p>
+ * The score of a deep search is modelled as a linear function of the score of
+ * a shallow search of the same node plus a normally distributed error:
+ * <code>deep = slope * shallow + intercept + e</code>. A node is cut off if
+ * the shallow search shows that the predicted deep score lies more than
+ * {@link #THRESHOLD} standard deviations above beta or below alpha. The
+ * regressions are fitted by {@link othello.bench.ProbCutCalibration}
+ * separately for each board geometry, each stage of the game and each depth,
+ * which makes the pruning "multi".
+ * <p>
+ * The parameters are kept in a text file with one regression per line:
+ * <code>geometry stage depth shallow slope intercept sigma samples</code>.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class ProbCut {
+
+	/** The smallest depth at which a node can be cut off. */
+	public static final int MIN_DEPTH = 3;
+
+	/** The largest depth which can have a regression. */
+	public static final int MAX_DEPTH = 16;
+
+	/** The number of stages, which divide the game by its empty squares. */
+	public static final int NUM_STAGES = 6;
+
+	/** The number of standard deviations a prediction must lie outside the window. */
+	public static final double THRESHOLD = 1.5;
+
+	private final Map<String, Regression[][]> parameters = new TreeMap<String, Regression[][]>();
+
+	/**
+	 * Loads parameters.
+	 *
+	 * @param file
+	 *        the file
+	 * @return the parameters
+	 * @throws IOException
+	 *         if the file can't be read
+	 */
+	public static ProbCut load(final File file) throws IOException {
+		final ProbCut probCut = new ProbCut();
+		final BufferedReader in = new BufferedReader(new FileReader(file));
+		try {
+			String line;
+			while ((line = in.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				final String[] fields = line.split("\\s+");
+				InputValidation.require(fields.length == 8, "invalid probcut parameters");
+				try {
+					probCut.put(fields[0], Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+							new Regression(Integer.parseInt(fields[3]), Double.parseDouble(fields[4]),
+									Double.parseDouble(fields[5]), Double.parseDouble(fields[6]),
+									Integer.parseInt(fields[7])));
+				} catch (final NumberFormatException e) {
+					throw new IllegalArgumentException("invalid probcut parameters", e);
+				}
+			}
+		} finally {
+			in.close();
+		}
+		return probCut;
+	}
+
+	/**
+	 * Saves the parameters.
+	 *
+	 * @param file
+	 *        the file
+	 * @throws IOException
+	 *         if the file can't be written
+	 */
+	public void save(final File file) throws IOException {
+		final PrintWriter out = new PrintWriter(new FileWriter(file));
+		try {
+			out.println("# geometry stage depth shallow slope intercept sigma samples");
+			for (final Map.Entry<String, Regression[][]> entry : parameters.entrySet()) {
+				for (int stage = 0; stage < NUM_STAGES; ++stage) {
+					for (int depth = 0; depth <= MAX_DEPTH; ++depth) {
+						final Regression r = entry.getValue()[stage][depth];
+						if (r != null) {
+							out.println(String.format(java.util.Locale.ROOT,
+									"%s %d %d %d %.6f %.3f %.3f %d", entry.getKey(), stage, depth,
+									r.shallow, r.slope, r.intercept, r.sigma, r.samples));
+						}
+					}
+				}
+			}
+		} finally {
+			out.close();
+		}
+		if (out.checkError()) {
+			throw new IOException("can't write " + file);
+		}
+	}
+
+	/**
+	 * Sets the regression of a geometry, stage and depth.
+	 *
+	 * @param geometry
+	 *        the geometry as returned by {@link #geometryOf(SearchBoard)}
+	 * @param stage
+	 *        the stage
+	 * @param depth
+	 *        the depth of the deep search
+	 * @param regression
+	 *        the regression
+	 */
+	public void put(final String geometry, final int stage, final int depth,
+			final Regression regression) {
+		InputValidation.require(stage >= 0 && stage < NUM_STAGES, "invalid stage");
+		InputValidation.require(depth >= MIN_DEPTH && depth <= MAX_DEPTH, "invalid depth");
+		InputValidation.require(regression.shallow > 0 && regression.shallow < depth
+				&& regression.slope > 0 && regression.sigma >= 0, "invalid regression");
+		Regression[][] regressions = parameters.get(geometry);
+		if (regressions == null) {
+			regressions = new Regression[NUM_STAGES][MAX_DEPTH + 1];
+			parameters.put(geometry, regressions);
+		}
+		regressions[stage][depth] = regression;
+	}
+
+	/**
+	 * Returns the regressions of the geometry of a board. A depth beyond the
+	 * deepest calibrated one uses the regression of the calibrated depth of
+	 * the same parity, with the shallow depth shifted along: the fitted
+	 * parameters change only slowly with the depth, while searching deep
+	 * enough to calibrate them is expensive.
+	 *
+	 * @param board
+	 *        the board
+	 * @return the regressions indexed by stage and depth, null if the
+	 *         geometry has not been calibrated
+	 */
+	Regression[][] forBoard(final SearchBoard board) {
+		final Regression[][] calibrated = parameters.get(geometryOf(board));
+		if (calibrated == null) {
+			return null;
+		}
+		final Regression[][] regressions = new Regression[NUM_STAGES][];
+		for (int stage = 0; stage < NUM_STAGES; ++stage) {
+			regressions[stage] = calibrated[stage].clone();
+			for (int depth = MIN_DEPTH + 2; depth <= MAX_DEPTH; ++depth) {
+				final Regression r = regressions[stage][depth - 2];
+				if (regressions[stage][depth] == null && r != null) {
+					regressions[stage][depth] = new Regression(r.shallow + 1, r.slope, r.intercept,
+							r.sigma, r.samples);
+				}
+			}
+		}
+		return regressions;
+	}
+
+	/**
+	 * Returns the geometry of a board, which is its size and the number of
+	 * holes, for example "8x8" or "10x10/4".
+	 *
+	 * @param board
+	 *        the board
+	 * @return the geometry
+	 */
+	public static String geometryOf(final SearchBoard board) {
+		final int holes = board.getWidth() * board.getHeight() - numOfSquares(board);
+		return board.getWidth() + "x" + board.getHeight() + (holes > 0 ? "/" + holes : "");
+	}
+
+	/**
+	 * Returns the number of squares of a board which are not holes.
+	 *
+	 * @param board
+	 *        the board
+	 * @return the number of squares
+	 */
+	public static int numOfSquares(final SearchBoard board) {
+		return board.getNumOfEmpties() + board.count(SearchBoard.BLACK)
+				+ board.count(SearchBoard.WHITE);
+	}
+
+	/**
+	 * Returns the stage of a game state.
+	 *
+	 * @param numOfEmpties
+	 *        the empty squares
+	 * @param numOfSquares
+	 *        all squares which are not holes
+	 * @return the stage, 0 near the end of the game
+	 */
+	public static int stage(final int numOfEmpties, final int numOfSquares) {
+		return Math.min(NUM_STAGES - 1, numOfEmpties * NUM_STAGES / numOfSquares);
+	}
+
+	/**
+	 * Returns the depth of the shallow search which predicts a deep search.
+	 *
+	 * @param depth
+	 *        the depth of the deep search
+	 * @return the shallow depth
+	 */
+	public static int shallowDepth(final int depth) {
+		return (depth - 1) / 2;
+	}
+
+	/**
+	 * A fitted linear model of the deep score.
+	 */
+	public static final class Regression {
+
+		private final int shallow;
+		private final double slope;
+		private final double intercept;
+		private final double sigma;
+		private final int samples;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param shallow
+		 *        the depth of the shallow search
+		 * @param slope
+		 *        the slope
+		 * @param intercept
+		 *        the intercept
+		 * @param sigma
+		 *        the standard deviation of the error
+		 * @param samples
+		 *        the number of samples it was fitted to
+		 */
+		public Regression(final int shallow, final double slope, final double intercept,
+				final double sigma, final int samples) {
+			this.shallow = shallow;
+			this.slope = slope;
+			this.intercept = intercept;
+			this.sigma = sigma;
+			this.samples = samples;
+		}
+
+		/**
+		 * Fits a regression by least squares.
+		 *
+		 * @param shallow
+		 *        the depth of the shallow search
+		 * @param shallowScores
+		 *        the scores of the shallow searches
+		 * @param deepScores
+		 *        the scores of the deep searches
+		 * @param n
+		 *        the number of samples
+		 * @return the regression
+		 */
+		public static Regression fit(final int shallow, final double[] shallowScores,
+				final double[] deepScores, final int n) {
+			double sumX = 0;
+			double sumY = 0;
+			for (int i = 0; i < n; ++i) {
+				sumX += shallowScores[i];
+				sumY += deepScores[i];
+			}
+			final double meanX = sumX / n;
+			final double meanY = sumY / n;
+			double sxx = 0;
+			double sxy = 0;
+			for (int i = 0; i < n; ++i) {
+				sxx += (shallowScores[i] - meanX) * (shallowScores[i] - meanX);
+				sxy += (shallowScores[i] - meanX) * (deepScores[i] - meanY);
+			}
+			final double slope = sxx > 0 ? sxy / sxx : 1.0;
+			final double intercept = meanY - slope * meanX;
+			double squares = 0;
+			for (int i = 0; i < n; ++i) {
+				final double error = deepScores[i] - slope * shallowScores[i] - intercept;
+				squares += error * error;
+			}
+			return new Regression(shallow, slope, intercept, Math.sqrt(squares / Math.max(1, n - 2)), n);
+		}
+
+		/**
+		 * Returns the depth of the shallow search.
+		 *
+		 * @return the shallow depth
+		 */
+		public int getShallow() {
+			return shallow;
+		}
+
+		/**
+		 * Returns the slope.
+		 *
+		 * @return the slope
+		 */
+		public double getSlope() {
+			return slope;
+		}
+
+		/**
+		 * Returns the intercept.
+		 *
+		 * @return the intercept
+		 */
+		public double getIntercept() {
+			return intercept;
+		}
+
+		/**
+		 * Returns the standard deviation of the error.
+		 *
+		 * @return the standard deviation
+		 */
+		public double getSigma() {
+			return sigma;
+		}
+
+		/**
+		 * Returns the number of samples.
+		 *
+		 * @return the samples
+		 */
+		public int getSamples() {
+			return samples;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d: %.3f * x + %.1f (sigma %.1f, %d samples)", shallow, slope,
+					intercept, sigma, samples);
+		}
+	}
+}
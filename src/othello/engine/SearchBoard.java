@@ -0,0 +1,690 @@
+package othello.engine;
+
+import java.util.Map;
+
+import othello.Board;
+import othello.Cell;
+import othello.Game;
+import othello.InputValidation;
+import othello.Position;
+
+
+/**
+ * A mutable representation of a game state which is used by the search. In
+ * contrast to {@link Board} it is possible to change a search board in place.
+ * Every move can be undone, which makes it cheap to walk through the game
+ * tree.
+ * <p>
+ * The squares are saved in a one dimensional array which has a border of
+ * walls around the board. Holes are saved as walls too, therefore a ray never
+ * has to check whether it left the board.
+ * <p>
+ * Besides its own hash a board can keep the hashes of all its symmetric
+ * images. The smallest of them is the canonical hash, which is the same for
+ * all symmetric game states. A move which is saved together with the
+ * canonical hash has to be mapped by the symmetry which produced it.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class SearchBoard {
+
+	/** The value of a free square. */
+	public static final int EMPTY = 0;
+
+	/** The value of a square of the black player. */
+	public static final int BLACK = 1;
+
+	/** The value of a square of the white player. */
+	public static final int WHITE = 2;
+
+	/** The value of a square which can never be used. */
+	public static final int WALL = 3;
+
+	private static final int ENCODING_HEADER = 3;
+
+	/**
+	 * Creates a search board from a game which keeps the hashes of all valid
+	 * symmetries.
+	 *
+	 * @param game
+	 *        the game
+	 * @return a new search board with the state of the game
+	 */
+	public static SearchBoard of(final Game game) {
+		return of(game, true);
+	}
+
+	/**
+	 * Creates a search board from a game.
+	 *
+	 * @param game
+	 *        the game
+	 * @param useSymmetries
+	 *        whether the hashes of the symmetric images should be kept
+	 * @return a new search board with the state of the game
+	 */
+	public static SearchBoard of(final Game game, final boolean useSymmetries) {
+		final Board board = game.getBoard();
+		final SearchBoard searchBoard = new SearchBoard(board.getWidth(), board.getHeight());
+		for (final Map.Entry<Position, Cell> entry : board.getCells().entrySet()) {
+			final Position pos = entry.getKey();
+			searchBoard.put(searchBoard.square(pos.getX(), pos.getY()), valueOf(entry.getValue()));
+		}
+		searchBoard.player = valueOf(game.getCurPlayer());
+		searchBoard.init(useSymmetries);
+		return searchBoard;
+	}
+
+	/**
+	 * Creates a search board from its compact encoding, which keeps the hashes
+	 * of all valid symmetries.
+	 *
+	 * @param data
+	 *        the encoding as returned by {@link #encode()}
+	 * @return a new search board with the encoded state
+	 */
+	public static SearchBoard decode(final byte[] data) {
+		InputValidation.require(data.length >= ENCODING_HEADER, "invalid encoding");
+		final int width = data[0];
+		final int height = data[1];
+		InputValidation.require(width >= Board.MIN_WIDTH && width <= Board.MAX_WIDTH
+				&& height >= Board.MIN_HEIGHT && height <= Board.MAX_HEIGHT
+				&& data.length == ENCODING_HEADER + (width * height + 3) / 4
+				&& (data[2] == BLACK || data[2] == WHITE), "invalid encoding");
+
+		final SearchBoard searchBoard = new SearchBoard(width, height);
+		for (int i = 0; i < width * height; ++i) {
+			final int value = data[ENCODING_HEADER + (i >> 2)] >> ((i & 3) << 1) & 3;
+			searchBoard.put(searchBoard.square(i % width + 1, i / width + 1), value);
+		}
+		searchBoard.player = data[2];
+		searchBoard.init(true);
+		return searchBoard;
+	}
+
+	/**
+	 * Returns the value of a square which belongs to a cell.
+	 *
+	 * @param cell
+	 *        the cell
+	 * @return the value of the square
+	 */
+	public static int valueOf(final Cell cell) {
+		switch (cell) {
+			case BLACK:
+				return BLACK;
+			case WHITE:
+				return WHITE;
+			default:
+				return WALL;
+		}
+	}
+
+	private final int width;
+	private final int height;
+	private final int stride;
+	private final int[] directions;
+	private final int[] squares;
+	private final Zobrist zobrist;
+
+	private final int[] empties;
+	private final int[] emptyIndex;
+	private int numOfEmpties;
+
+	private final int[] flipStack;
+	private int flipTop;
+	private final int[] moveStack;
+	private final int[] flipCountStack;
+	private int moveTop;
+
+	private int player = BLACK;
+	private long hash;
+
+	private int[][] symmetries;
+	private int[][] inverses;
+	private long[] symmetryHashes;
+
+	private SearchBoard(final int width, final int height) {
+		this.width = width;
+		this.height = height;
+		this.stride = width + 2;
+		this.directions = new int[] {
+				1, stride + 1, stride, stride - 1, -1, -stride - 1, -stride, -stride + 1 };
+		this.squares = new int[stride * (height + 2)];
+		for (int sq = 0; sq < squares.length; ++sq) {
+			final int x = sq % stride;
+			final int y = sq / stride;
+			squares[sq] = x == 0 || x > width || y == 0 || y > height ? WALL : EMPTY;
+		}
+		this.zobrist = Zobrist.of(width, height);
+		this.empties = new int[width * height];
+		this.emptyIndex = new int[squares.length];
+		this.flipStack = new int[width * height * 8];
+		this.moveStack = new int[width * height * 2 + 2];
+		this.flipCountStack = new int[moveStack.length];
+	}
+
+	private SearchBoard(final SearchBoard other) {
+		this.width = other.width;
+		this.height = other.height;
+		this.stride = other.stride;
+		this.directions = other.directions;
+		this.squares = other.squares.clone();
+		this.zobrist = other.zobrist;
+		this.empties = other.empties.clone();
+		this.emptyIndex = other.emptyIndex.clone();
+		this.numOfEmpties = other.numOfEmpties;
+		this.flipStack = new int[other.flipStack.length];
+		this.moveStack = new int[other.moveStack.length];
+		this.flipCountStack = new int[other.flipCountStack.length];
+		this.player = other.player;
+		this.hash = other.hash;
+		this.symmetries = other.symmetries;
+		this.inverses = other.inverses;
+		this.symmetryHashes = other.symmetryHashes.clone();
+	}
+
+	/**
+	 * Creates an independent copy of this board without its move history.
+	 *
+	 * @return a copy of this board
+	 */
+	public SearchBoard copy() {
+		return new SearchBoard(this);
+	}
+
+	/**
+	 * Encodes the current state compactly: the width, the height and the player
+	 * who has to move in one byte each, followed by the squares of the board
+	 * row by row with two bits per square. The move history is not encoded.
+	 *
+	 * @return the encoding
+	 */
+	public byte[] encode() {
+		final byte[] data = new byte[ENCODING_HEADER + (width * height + 3) / 4];
+		data[0] = (byte) width;
+		data[1] = (byte) height;
+		data[2] = (byte) player;
+		for (int i = 0; i < width * height; ++i) {
+			final int value = squares[square(i % width + 1, i / width + 1)];
+			data[ENCODING_HEADER + (i >> 2)] |= value << ((i & 3) << 1);
+		}
+		return data;
+	}
+
+	/**
+	 * Returns the width.
+	 *
+	 * @return the width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height.
+	 *
+	 * @return the height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the distance between two vertically neighboring squares.
+	 *
+	 * @return the stride
+	 */
+	public int getStride() {
+		return stride;
+	}
+
+	/**
+	 * Returns the number of squares including the border.
+	 *
+	 * @return the number of squares
+	 */
+	public int size() {
+		return squares.length;
+	}
+
+	/**
+	 * Returns the offsets of the eight directions.
+	 *
+	 * @return the offsets of the eight directions
+	 */
+	public int[] getDirections() {
+		return directions.clone();
+	}
+
+	/**
+	 * Returns the value of a square.
+	 *
+	 * @param sq
+	 *        the square
+	 * @return the value of the square
+	 */
+	public int get(final int sq) {
+		return squares[sq];
+	}
+
+	/**
+	 * Returns the player who has to move.
+	 *
+	 * @return the player who has to move
+	 */
+	public int getPlayer() {
+		return player;
+	}
+
+	/**
+	 * Returns the player who does not have to move.
+	 *
+	 * @return the opponent of the player who has to move
+	 */
+	public int getOpponent() {
+		return WALL - player;
+	}
+
+	/**
+	 * Returns the Zobrist hash of the current state.
+	 *
+	 * @return the hash
+	 */
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Returns the number of kept symmetries without the identity.
+	 *
+	 * @return the number of symmetries
+	 */
+	public int getNumOfSymmetries() {
+		return symmetries.length;
+	}
+
+	/**
+	 * Returns the symmetry whose hash is the canonical hash. 0 is the identity,
+	 * i is the symmetry at index i - 1 of {@link Symmetries#of(SearchBoard)}.
+	 *
+	 * @return the canonical symmetry
+	 */
+	public int getCanonicalSymmetry() {
+		int symmetry = 0;
+		long min = hash;
+		for (int i = 0; i < symmetryHashes.length; ++i) {
+			if (symmetryHashes[i] < min) {
+				min = symmetryHashes[i];
+				symmetry = i + 1;
+			}
+		}
+		return symmetry;
+	}
+
+	/**
+	 * Returns the hash of the image under a symmetry.
+	 *
+	 * @param symmetry
+	 *        the symmetry as returned by {@link #getCanonicalSymmetry()}
+	 * @return the hash
+	 */
+	public long getHash(final int symmetry) {
+		return symmetry == 0 ? hash : symmetryHashes[symmetry - 1];
+	}
+
+	/**
+	 * Returns the canonical hash, which is the same for all symmetric game
+	 * states.
+	 *
+	 * @return the canonical hash
+	 */
+	public long getCanonicalHash() {
+		return getHash(getCanonicalSymmetry());
+	}
+
+	/**
+	 * Maps a square onto its image under a symmetry.
+	 *
+	 * @param sq
+	 *        the square, which may be -1 for no move
+	 * @param symmetry
+	 *        the symmetry as returned by {@link #getCanonicalSymmetry()}
+	 * @return the image
+	 */
+	public int toCanonical(final int sq, final int symmetry) {
+		return symmetry == 0 || sq < 0 ? sq : symmetries[symmetry - 1][sq];
+	}
+
+	/**
+	 * Maps the image of a square under a symmetry back onto the square.
+	 *
+	 * @param sq
+	 *        the image, which may be -1 for no move
+	 * @param symmetry
+	 *        the symmetry as returned by {@link #getCanonicalSymmetry()}
+	 * @return the square
+	 */
+	public int fromCanonical(final int sq, final int symmetry) {
+		return symmetry == 0 || sq < 0 || sq >= inverses[symmetry - 1].length
+				? sq
+				: inverses[symmetry - 1][sq];
+	}
+
+	/**
+	 * Returns the Zobrist keys of the board geometry.
+	 *
+	 * @return the Zobrist keys
+	 */
+	public Zobrist getZobrist() {
+		return zobrist;
+	}
+
+	/**
+	 * Returns the number of free squares.
+	 *
+	 * @return the number of free squares
+	 */
+	public int getNumOfEmpties() {
+		return numOfEmpties;
+	}
+
+	/**
+	 * Returns the number of moves which have been made and not undone yet.
+	 *
+	 * @return the number of moves
+	 */
+	public int getPly() {
+		return moveTop;
+	}
+
+	/**
+	 * Returns the square of a position.
+	 *
+	 * @param x
+	 *        the x-value, starting with 1
+	 * @param y
+	 *        the y-value, starting with 1
+	 * @return the square
+	 */
+	public int square(final int x, final int y) {
+		return y * stride + x;
+	}
+
+	/**
+	 * Returns the position of a square.
+	 *
+	 * @param sq
+	 *        the square
+	 * @return the position
+	 */
+	public Position toPosition(final int sq) {
+		return Position.valueOf(sq % stride, sq / stride);
+	}
+
+	/**
+	 * Counts the discs of a player.
+	 *
+	 * @param who
+	 *        the player
+	 * @return the number of discs
+	 */
+	public int count(final int who) {
+		int count = 0;
+		for (final int value : squares) {
+			if (value == who) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Writes all possible moves of the player who has to move into an array.
+	 *
+	 * @param moves
+	 *        the array, which must be able to hold all free squares
+	 * @return the number of moves written
+	 */
+	public int generateMoves(final int[] moves) {
+		int count = 0;
+		for (int i = 0; i < numOfEmpties; ++i) {
+			final int sq = empties[i];
+			if (isLegal(sq, player)) {
+				moves[count++] = sq;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Counts the possible moves of a player.
+	 *
+	 * @param who
+	 *        the player
+	 * @return the number of possible moves
+	 */
+	public int countMoves(final int who) {
+		int count = 0;
+		for (int i = 0; i < numOfEmpties; ++i) {
+			if (isLegal(empties[i], who)) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Checks whether a player can move anywhere.
+	 *
+	 * @param who
+	 *        the player
+	 * @return true if the player has at least one possible move
+	 */
+	public boolean canMove(final int who) {
+		for (int i = 0; i < numOfEmpties; ++i) {
+			if (isLegal(empties[i], who)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether a player can move to a square.
+	 *
+	 * @param sq
+	 *        the square
+	 * @param who
+	 *        the player
+	 * @return true if the move flips at least one disc
+	 */
+	public boolean isLegal(final int sq, final int who) {
+		if (squares[sq] != EMPTY) {
+			return false;
+		}
+		final int other = WALL - who;
+		for (final int dir : directions) {
+			int cur = sq + dir;
+			if (squares[cur] != other) {
+				continue;
+			}
+			do {
+				cur += dir;
+			} while (squares[cur] == other);
+			if (squares[cur] == who) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Lets the player who has to move move to a square. The move must be legal.
+	 *
+	 * @param sq
+	 *        the square
+	 * @return the number of flipped discs
+	 */
+	public int makeMove(final int sq) {
+		final int other = WALL - player;
+		final int start = flipTop;
+		for (final int dir : directions) {
+			int cur = sq + dir;
+			while (squares[cur] == other) {
+				cur += dir;
+			}
+			if (squares[cur] != player) {
+				continue;
+			}
+			for (cur -= dir; cur != sq; cur -= dir) {
+				squares[cur] = player;
+				hash ^= zobrist.key(cur, other) ^ zobrist.key(cur, player);
+				flipSymmetries(cur, other, player);
+				flipStack[flipTop++] = cur;
+			}
+		}
+		squares[sq] = player;
+		hash ^= zobrist.key(sq, player) ^ zobrist.side();
+		placeSymmetries(sq, player);
+		toggleSymmetrySides();
+		removeEmpty(sq);
+
+		moveStack[moveTop] = sq;
+		flipCountStack[moveTop] = flipTop - start;
+		++moveTop;
+		player = other;
+		return flipTop - start;
+	}
+
+	/**
+	 * Lets the player who has to move pass.
+	 */
+	public void makePass() {
+		moveStack[moveTop] = -1;
+		flipCountStack[moveTop] = 0;
+		++moveTop;
+		player = WALL - player;
+		hash ^= zobrist.side();
+		toggleSymmetrySides();
+	}
+
+	/**
+	 * Undoes the last move or pass.
+	 */
+	public void undo() {
+		--moveTop;
+		final int sq = moveStack[moveTop];
+		final int mover = WALL - player;
+		player = mover;
+		hash ^= zobrist.side();
+		toggleSymmetrySides();
+		if (sq < 0) {
+			return;
+		}
+		for (int i = flipCountStack[moveTop]; i > 0; --i) {
+			final int cur = flipStack[--flipTop];
+			hash ^= zobrist.key(cur, mover) ^ zobrist.key(cur, WALL - mover);
+			flipSymmetries(cur, mover, WALL - mover);
+			squares[cur] = WALL - mover;
+		}
+		squares[sq] = EMPTY;
+		hash ^= zobrist.key(sq, mover);
+		placeSymmetries(sq, mover);
+		restoreEmpty(sq);
+	}
+
+	/**
+	 * Returns the square of the last move.
+	 *
+	 * @return the square or -1 if the last move was a pass or no move has been
+	 *         made
+	 */
+	public int getLastMove() {
+		return moveTop > 0 ? moveStack[moveTop - 1] : -1;
+	}
+
+	/**
+	 * Returns the flipped squares of the last move.
+	 *
+	 * @param out
+	 *        the array to write the squares into
+	 * @return the number of squares written
+	 */
+	public int lastFlips(final int[] out) {
+		final int count = flipCountStack[moveTop - 1];
+		System.arraycopy(flipStack, flipTop - count, out, 0, count);
+		return count;
+	}
+
+	private void put(final int sq, final int value) {
+		squares[sq] = value;
+	}
+
+	private void init(final boolean useSymmetries) {
+		initEmpties();
+		hash = zobrist.hash(squares, player);
+		initSymmetries(useSymmetries ? Symmetries.of(this) : new int[0][]);
+	}
+
+	private void initSymmetries(final int[][] maps) {
+		symmetries = maps;
+		inverses = new int[maps.length][];
+		symmetryHashes = new long[maps.length];
+		for (int i = 0; i < maps.length; ++i) {
+			inverses[i] = Symmetries.inverse(maps[i]);
+			final int[] image = new int[squares.length];
+			for (int sq = 0; sq < squares.length; ++sq) {
+				image[maps[i][sq]] = squares[sq];
+			}
+			symmetryHashes[i] = zobrist.hash(image, player);
+		}
+	}
+
+	private void flipSymmetries(final int sq, final int from, final int to) {
+		for (int i = 0; i < symmetries.length; ++i) {
+			final int image = symmetries[i][sq];
+			symmetryHashes[i] ^= zobrist.key(image, from) ^ zobrist.key(image, to);
+		}
+	}
+
+	private void placeSymmetries(final int sq, final int who) {
+		for (int i = 0; i < symmetries.length; ++i) {
+			symmetryHashes[i] ^= zobrist.key(symmetries[i][sq], who);
+		}
+	}
+
+	private void toggleSymmetrySides() {
+		final long side = zobrist.side();
+		for (int i = 0; i < symmetryHashes.length; ++i) {
+			symmetryHashes[i] ^= side;
+		}
+	}
+
+	private void initEmpties() {
+		numOfEmpties = 0;
+		for (int sq = 0; sq < squares.length; ++sq) {
+			if (squares[sq] == EMPTY) {
+				emptyIndex[sq] = numOfEmpties;
+				empties[numOfEmpties++] = sq;
+			}
+		}
+	}
+
+	private void removeEmpty(final int sq) {
+		final int i = emptyIndex[sq];
+		final int last = empties[--numOfEmpties];
+		empties[i] = last;
+		emptyIndex[last] = i;
+	}
+
+	private void restoreEmpty(final int sq) {
+		final int i = emptyIndex[sq];
+		final int moved = empties[i];
+		empties[numOfEmpties] = moved;
+		emptyIndex[moved] = numOfEmpties;
+		empties[i] = sq;
+		++numOfEmpties;
+	}
+}
@@ -0,0 +1,87 @@
+package othello.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * A Flight Recorder event which is committed after each search. Its duration
+ * is the time of the whole search. If the event is disabled nothing is
+ * recorded and the counters are not even copied. The searches only create
+ * events once the Flight Recorder is initialized, because loading the first
+ * event class sets up the recorder framework, which delays the first move of
+ * a short-lived process by about 200ms.
+ *
+ * @version 0.1
+ * @since JDK11, Oct 19, 2026
+ */
+@Name("othello.Search")
+@Label("Search")
+@Category("Othello")
+@Description("A completed search of the engine")
+final class SearchEvent extends Event {
+
+	@Label("Kind")
+	String kind;
+
+	@Label("Width")
+	int width;
+
+	@Label("Height")
+	int height;
+
+	@Label("Depth")
+	int depth;
+
+	@Label("Nodes")
+	long nodes;
+
+	@Label("Nodes per Second")
+	double nodesPerSecond;
+
+	@Label("Branching Factor")
+	double branchingFactor;
+
+	@Label("Table Probes")
+	long tableProbes;
+
+	@Label("Table Hits")
+	long tableHits;
+
+	@Label("First Move Cutoff Rate")
+	double firstMoveCutoffRate;
+
+	/**
+	 * Fills the event with statistics and commits it if it is enabled.
+	 *
+	 * @param kind
+	 *        the kind of the search
+	 * @param board
+	 *        the searched board
+	 * @param depth
+	 *        the completed depth
+	 * @param statistics
+	 *        the statistics of the search
+	 */
+	void complete(final String kind, final SearchBoard board, final int depth,
+			final SearchStatistics statistics) {
+		end();
+		if (!shouldCommit()) {
+			return;
+		}
+		this.kind = kind;
+		this.width = board.getWidth();
+		this.height = board.getHeight();
+		this.depth = depth;
+		this.nodes = statistics.getNodes();
+		this.nodesPerSecond = statistics.getNodesPerSecond();
+		this.branchingFactor = statistics.getBranchingFactor();
+		this.tableProbes = statistics.getTableProbes();
+		this.tableHits = statistics.getTableHits();
+		this.firstMoveCutoffRate = statistics.getFirstMoveCutoffRate();
+		commit();
+	}
+}
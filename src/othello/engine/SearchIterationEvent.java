@@ -0,0 +1,46 @@
+package othello.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * A Flight Recorder event which is committed after each completed iteration of
+ * an iterative deepening search. Its duration is the time of the iteration.
+ *
+ * @version 0.1
+ * @since JDK11, Oct 19, 2026
+ */
+@Name("othello.SearchIteration")
+@Label("Search Iteration")
+@Category("Othello")
+@Description("A completed iteration of a search of the engine")
+final class SearchIterationEvent extends Event {
+
+	@Label("Depth")
+	int depth;
+
+	@Label("Nodes")
+	long nodes;
+
+	/**
+	 * Fills the event and commits it if it is enabled.
+	 *
+	 * @param depth
+	 *        the depth of the iteration
+	 * @param nodes
+	 *        the nodes visited by the iteration
+	 */
+	void complete(final int depth, final long nodes) {
+		end();
+		if (!shouldCommit()) {
+			return;
+		}
+		this.depth = depth;
+		this.nodes = nodes;
+		commit();
+	}
+}
@@ -0,0 +1,174 @@
+package othello.engine;
+
+import othello.InputValidation;
+import othello.Option;
+
+
+/**
+ * Describes how long a search may run. A search stops when it has reached the
+ * maximum depth or when its time is up, whichever comes first. The time is
+ * either fixed or taken from a game clock, in which case the
+ * {@link TimeManager} decides how much of the clock the search uses.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class SearchLimits {
+
+	/** The maximum depth a search can reach. */
+	public static final int MAX_DEPTH = 128;
+
+	/** Limits which let a search run until it is stopped. */
+	public static final SearchLimits INFINITE = new SearchLimits(MAX_DEPTH, 0L, 0L, 0L);
+
+	/**
+	 * Creates limits which stop the search at a depth.
+	 *
+	 * @param depth
+	 *        the maximum depth
+	 * @return the limits
+	 */
+	public static SearchLimits ofDepth(final int depth) {
+		InputValidation.require(depth > 0 && depth <= MAX_DEPTH, "invalid depth");
+		return new SearchLimits(depth, 0L, 0L, 0L);
+	}
+
+	/**
+	 * Creates limits which stop the search after some time.
+	 *
+	 * @param millis
+	 *        the time in milliseconds
+	 * @return the limits
+	 */
+	public static SearchLimits ofMillis(final long millis) {
+		InputValidation.require(millis > 0, "invalid time");
+		return new SearchLimits(MAX_DEPTH, millis, 0L, 0L);
+	}
+
+	/**
+	 * Creates limits which take the time of the search from a game clock.
+	 *
+	 * @param clockMillis
+	 *        the time left on the clock of the player who has to move in
+	 *        milliseconds
+	 * @param incrementMillis
+	 *        the time which is added to the clock after each move in
+	 *        milliseconds
+	 * @return the limits
+	 */
+	public static SearchLimits ofClock(final long clockMillis, final long incrementMillis) {
+		InputValidation.require(clockMillis > 0, "invalid clock");
+		InputValidation.require(incrementMillis >= 0, "invalid increment");
+		return new SearchLimits(MAX_DEPTH, 0L, clockMillis, incrementMillis);
+	}
+
+	/**
+	 * Parses limits. A plain number is a depth, a number followed by "ms" is a
+	 * time in milliseconds, two numbers joined by "+" are the clock and the
+	 * increment in milliseconds and "infinite" lets the search run until it is
+	 * stopped.
+	 * <p>
+	 * Examples: 6, 500ms, 60000+1000, infinite
+	 *
+	 * @param str
+	 *        the String to parse
+	 * @return the limits if the String is valid. Otherwise an exception is
+	 *         thrown.
+	 */
+	public static SearchLimits valueOf(final String str) {
+		if ("infinite".equals(str)) {
+			return INFINITE;
+		}
+		final int plus = str.indexOf('+');
+		if (plus >= 0) {
+			final Option<Integer> clock = InputValidation.parseInt(str.substring(0, plus));
+			final Option<Integer> increment = InputValidation.parseInt(str.substring(plus + 1));
+			InputValidation.require(clock.isDefined() && increment.isDefined(), "invalid clock");
+			return ofClock(clock.get(), increment.get());
+		}
+		if (str.endsWith("ms")) {
+			final Option<Integer> millis = InputValidation.parseInt(str.substring(0, str.length() - 2));
+			InputValidation.require(millis.isDefined(), "invalid time");
+			return ofMillis(millis.get());
+		}
+		final Option<Integer> depth = InputValidation.parseInt(str);
+		InputValidation.require(depth.isDefined(), "invalid depth");
+		return ofDepth(depth.get());
+	}
+
+	private final int depth;
+	private final long millis;
+	private final long clockMillis;
+	private final long incrementMillis;
+
+	private SearchLimits(final int depth, final long millis, final long clockMillis,
+			final long incrementMillis) {
+		this.depth = depth;
+		this.millis = millis;
+		this.clockMillis = clockMillis;
+		this.incrementMillis = incrementMillis;
+	}
+
+	/**
+	 * Returns the maximum depth.
+	 *
+	 * @return the maximum depth
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the time in milliseconds, 0 means there is no time limit.
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getMillis() {
+		return millis;
+	}
+
+	/**
+	 * Returns the time left on the game clock in milliseconds, 0 means the
+	 * search does not play on a clock.
+	 *
+	 * @return the time left on the clock
+	 */
+	public long getClockMillis() {
+		return clockMillis;
+	}
+
+	/**
+	 * Returns the increment of the game clock in milliseconds.
+	 *
+	 * @return the increment
+	 */
+	public long getIncrementMillis() {
+		return incrementMillis;
+	}
+
+	/**
+	 * Checks whether the time of the search is taken from a game clock.
+	 *
+	 * @return true if there is a clock
+	 */
+	public boolean isClocked() {
+		return clockMillis > 0;
+	}
+
+	/**
+	 * Checks whether the search is limited by a fixed time.
+	 *
+	 * @return true if there is a time limit
+	 */
+	public boolean isTimed() {
+		return millis > 0;
+	}
+
+	@Override
+	public String toString() {
+		if (isClocked()) {
+			return clockMillis + "+" + incrementMillis;
+		}
+		return isTimed() ? millis + "ms" : String.valueOf(depth);
+	}
+}
@@ -0,0 +1,21 @@
+package othello.engine;
+
+
+/**
+ * Receives the intermediate results of a search as soon as an iteration is
+ * completed.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public interface SearchListener {
+
+	/**
+	 * Is called after an iteration of the search has been completed.
+	 *
+	 * @param result
+	 *        the result of the iteration, the time is the time since the start
+	 *        of the search
+	 */
+	void iterationCompleted(SearchResult result);
+}
@@ -0,0 +1,139 @@
+package othello.engine;
+
+import java.util.Collections;
+import java.util.List;
+
+import othello.Position;
+
+
+/**
+ * The result of a search. It is not possible to change anything of a result.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class SearchResult {
+
+	private final Position bestMove;
+	private final int score;
+	private final int depth;
+	private final long millis;
+	private final List<Position> principalVariation;
+	private final SearchStatistics statistics;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param bestMove
+	 *        the best move, null if there is no move
+	 * @param score
+	 *        the score of the best move
+	 * @param depth
+	 *        the completely searched depth
+	 * @param millis
+	 *        the time the search took
+	 * @param principalVariation
+	 *        the expected moves, starting with the best move
+	 * @param statistics
+	 *        the statistics of the search
+	 */
+	public SearchResult(final Position bestMove, final int score, final int depth,
+			final long millis, final List<Position> principalVariation,
+			final SearchStatistics statistics) {
+		this.bestMove = bestMove;
+		this.score = score;
+		this.depth = depth;
+		this.millis = millis;
+		this.principalVariation = Collections.unmodifiableList(principalVariation);
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Returns the best move.
+	 *
+	 * @return the best move, null if there is no move
+	 */
+	public Position getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * Returns the score.
+	 *
+	 * @return the score
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Returns the depth.
+	 *
+	 * @return the depth
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the number of visited nodes.
+	 *
+	 * @return the nodes
+	 */
+	public long getNodes() {
+		return statistics.getNodes();
+	}
+
+	/**
+	 * Returns the statistics.
+	 *
+	 * @return the statistics
+	 */
+	public SearchStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Returns the time the search took.
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getMillis() {
+		return millis;
+	}
+
+	/**
+	 * Returns the principal variation.
+	 *
+	 * @return the expected moves
+	 */
+	public List<Position> getPrincipalVariation() {
+		return principalVariation;
+	}
+
+	/**
+	 * Returns the score as String. Exact game results are shown as disc
+	 * difference.
+	 *
+	 * @return the formatted score
+	 */
+	public String formatScore() {
+		return formatScore(score);
+	}
+
+	/**
+	 * Returns a score as String. Exact game results are shown as disc
+	 * difference.
+	 *
+	 * @param score
+	 *        the score
+	 * @return the formatted score
+	 */
+	public static String formatScore(final int score) {
+		if (Evaluator.isFinalScore(score)) {
+			final int diff = score > 0 ? score - Evaluator.WIN : score + Evaluator.WIN;
+			return (diff > 0 ? "win +" : "loss ") + diff;
+		}
+		return String.valueOf(score);
+	}
+}
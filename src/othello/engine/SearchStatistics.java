@@ -0,0 +1,304 @@
+package othello.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Counts what happens during a search. Each searcher has its own statistics,
+ * therefore counting needs no synchronization. The statistics of several
+ * searchers can be merged afterwards.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class SearchStatistics {
+
+	private long nodes;
+	private long tableProbes;
+	private long tableHits;
+	private long cutoffs;
+	private long firstMoveCutoffs;
+	private long stabilityCutoffs;
+	private long probCutoffs;
+	private long nanos;
+	private final List<Iteration> iterations = new ArrayList<Iteration>();
+
+	/**
+	 * Counts a visited node.
+	 *
+	 * @return the number of nodes including this one
+	 */
+	long node() {
+		return ++nodes;
+	}
+
+	/**
+	 * Counts a probe of the transposition table.
+	 *
+	 * @param isHit
+	 *        whether an entry has been found
+	 */
+	void probe(final boolean isHit) {
+		++tableProbes;
+		if (isHit) {
+			++tableHits;
+		}
+	}
+
+	/**
+	 * Counts a beta cutoff.
+	 *
+	 * @param moveIndex
+	 *        the index of the move which caused the cutoff
+	 */
+	void cutoff(final int moveIndex) {
+		++cutoffs;
+		if (moveIndex == 0) {
+			++firstMoveCutoffs;
+		}
+	}
+
+	/**
+	 * Counts a cutoff by the bounds of the stable discs.
+	 */
+	void stabilityCutoff() {
+		++stabilityCutoffs;
+	}
+
+	/**
+	 * Counts a cutoff by a shallow search of Multi-ProbCut.
+	 */
+	void probCutoff() {
+		++probCutoffs;
+	}
+
+	/**
+	 * Saves the data of a completed iteration.
+	 *
+	 * @param depth
+	 *        the depth of the iteration
+	 * @param iterationNanos
+	 *        the time the iteration took
+	 * @param iterationNodes
+	 *        the nodes visited by the iteration
+	 */
+	void iterationCompleted(final int depth, final long iterationNanos, final long iterationNodes) {
+		iterations.add(new Iteration(depth, iterationNanos, iterationNodes));
+	}
+
+	/**
+	 * Sets the time of the whole search.
+	 *
+	 * @param nanos
+	 *        the time in nanoseconds
+	 */
+	void setNanos(final long nanos) {
+		this.nanos = nanos;
+	}
+
+	/**
+	 * Adds the counters of other statistics to these. The iterations are not
+	 * merged, the time is the maximum of both.
+	 *
+	 * @param other
+	 *        the other statistics
+	 */
+	public void add(final SearchStatistics other) {
+		nodes += other.nodes;
+		tableProbes += other.tableProbes;
+		tableHits += other.tableHits;
+		cutoffs += other.cutoffs;
+		firstMoveCutoffs += other.firstMoveCutoffs;
+		stabilityCutoffs += other.stabilityCutoffs;
+		probCutoffs += other.probCutoffs;
+		nanos = Math.max(nanos, other.nanos);
+	}
+
+	/**
+	 * Returns the visited nodes.
+	 *
+	 * @return the nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the probes of the transposition table.
+	 *
+	 * @return the probes
+	 */
+	public long getTableProbes() {
+		return tableProbes;
+	}
+
+	/**
+	 * Returns the probes of the transposition table which found an entry.
+	 *
+	 * @return the hits
+	 */
+	public long getTableHits() {
+		return tableHits;
+	}
+
+	/**
+	 * Returns the beta cutoffs.
+	 *
+	 * @return the cutoffs
+	 */
+	public long getCutoffs() {
+		return cutoffs;
+	}
+
+	/**
+	 * Returns the beta cutoffs which were caused by the first searched move.
+	 *
+	 * @return the cutoffs on the first move
+	 */
+	public long getFirstMoveCutoffs() {
+		return firstMoveCutoffs;
+	}
+
+	/**
+	 * Returns the cutoffs by the bounds of the stable discs.
+	 *
+	 * @return the stability cutoffs
+	 */
+	public long getStabilityCutoffs() {
+		return stabilityCutoffs;
+	}
+
+	/**
+	 * Returns the cutoffs by the shallow searches of Multi-ProbCut.
+	 *
+	 * @return the ProbCut cutoffs
+	 */
+	public long getProbCutoffs() {
+		return probCutoffs;
+	}
+
+	/**
+	 * Returns the time of the whole search.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**
+	 * Returns the completed iterations.
+	 *
+	 * @return the iterations
+	 */
+	public List<Iteration> getIterations() {
+		return Collections.unmodifiableList(iterations);
+	}
+
+	/**
+	 * Returns the visited nodes per second.
+	 *
+	 * @return the nodes per second
+	 */
+	public double getNodesPerSecond() {
+		return nanos > 0 ? nodes * 1e9 / nanos : 0.0;
+	}
+
+	/**
+	 * Returns the ratio of probes of the transposition table which found an
+	 * entry.
+	 *
+	 * @return the hit rate between 0 and 1
+	 */
+	public double getTableHitRate() {
+		return tableProbes > 0 ? (double) tableHits / tableProbes : 0.0;
+	}
+
+	/**
+	 * Returns the ratio of beta cutoffs which were caused by the first searched
+	 * move. The higher it is, the better the moves are ordered.
+	 *
+	 * @return the ratio between 0 and 1
+	 */
+	public double getFirstMoveCutoffRate() {
+		return cutoffs > 0 ? (double) firstMoveCutoffs / cutoffs : 0.0;
+	}
+
+	/**
+	 * Returns the effective branching factor, which is the growth of the nodes
+	 * from the second last to the last completed iteration.
+	 *
+	 * @return the branching factor or 0 if there are less than two iterations
+	 */
+	public double getBranchingFactor() {
+		final int n = iterations.size();
+		if (n < 2 || iterations.get(n - 2).getNodes() == 0) {
+			return 0.0;
+		}
+		return (double) iterations.get(n - 1).getNodes() / iterations.get(n - 2).getNodes();
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(String.format("nodes: %d%n", nodes));
+		sb.append(String.format("nodes/s: %.0f%n", getNodesPerSecond()));
+		sb.append(String.format("branching factor: %.2f%n", getBranchingFactor()));
+		sb.append(String.format("table: %d probes, %d hits (%.1f%%)%n",
+				tableProbes, tableHits, 100 * getTableHitRate()));
+		sb.append(String.format("cutoffs: %d, on first move %.1f%%%n",
+				cutoffs, 100 * getFirstMoveCutoffRate()));
+		sb.append(String.format("stability cutoffs: %d%n", stabilityCutoffs));
+		sb.append(String.format("probcut cutoffs: %d%n", probCutoffs));
+		for (final Iteration iteration : iterations) {
+			sb.append(String.format("depth %d: %.3fms, %d nodes%n",
+					iteration.getDepth(), iteration.getNanos() / 1e6, iteration.getNodes()));
+		}
+		return sb.toString().trim();
+	}
+
+	/**
+	 * The data of a completed iteration.
+	 */
+	public static final class Iteration {
+
+		private final int depth;
+		private final long nanos;
+		private final long nodes;
+
+		private Iteration(final int depth, final long nanos, final long nodes) {
+			this.depth = depth;
+			this.nanos = nanos;
+			this.nodes = nodes;
+		}
+
+		/**
+		 * Returns the depth.
+		 *
+		 * @return the depth
+		 */
+		public int getDepth() {
+			return depth;
+		}
+
+		/**
+		 * Returns the time the iteration took.
+		 *
+		 * @return the time in nanoseconds
+		 */
+		public long getNanos() {
+			return nanos;
+		}
+
+		/**
+		 * Returns the nodes visited by the iteration.
+		 *
+		 * @return the nodes
+		 */
+		public long getNodes() {
+			return nodes;
+		}
+	}
+}
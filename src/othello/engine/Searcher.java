@@ -0,0 +1,498 @@
+package othello.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import jdk.jfr.FlightRecorder;
+
+import othello.Position;
+
+
+/**
+ * Searches the best move of a game state with an iterative deepening alpha-beta
+ * search. A searcher works on its own board and must only be used by a single
+ * thread, but several searchers can share one transposition table.
+ * <p>
+ * Game states are looked up in the transposition table by their canonical
+ * hash, therefore symmetric game states share their entries.
+ * <p>
+ * The stable discs are updated with every move. When the search reaches the
+ * end of the game, they bound the final disc difference, so a game state
+ * whose bound lies outside the window is cut off without searching it.
+ * <p>
+ * A running search can be stopped from any other thread. The result of the
+ * last completed iteration is returned then.
+ * <p>
+ * A search on a game clock asks its {@link TimeManager} after each iteration
+ * whether to go on, and a {@link Watchdog} stops it at the hard deadline.
+ *
+ * @version 0.1
+ * @since JDK11, Oct 19, 2026
+ */
+public class Searcher {
+
+	/** A score which is greater than all possible scores. */
+	public static final int INFINITY = 1 << 30;
+
+	private static final int CHECK_INTERVAL = 1023;
+	private static final int NO_CUTOFF = Integer.MIN_VALUE;
+
+	private final SearchBoard board;
+	private final TranspositionTable table;
+	private final Evaluator evaluator;
+	private final StableDiscs stable;
+	private final int[][] moveBuffers = new int[SearchLimits.MAX_DEPTH + 2][];
+
+	private final SearchStatistics statistics = new SearchStatistics();
+	private volatile boolean stopped;
+	private volatile long deadline = Long.MAX_VALUE;
+	private ProbCut.Regression[][] probCut;
+	private int numOfSquares;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param board
+	 *        the board to search on, which is changed during the search
+	 * @param table
+	 *        the transposition table
+	 */
+	public Searcher(final SearchBoard board, final TranspositionTable table) {
+		this.board = board;
+		this.table = table;
+		this.evaluator = new Evaluator(board);
+		this.stable = new StableDiscs(board);
+	}
+
+	/**
+	 * Returns the board the searcher works on.
+	 *
+	 * @return the board
+	 */
+	public SearchBoard getBoard() {
+		return board;
+	}
+
+	/**
+	 * Returns the number of nodes visited so far.
+	 *
+	 * @return the nodes
+	 */
+	public long getNodes() {
+		return statistics.getNodes();
+	}
+
+	/**
+	 * Returns the statistics of the searches of this searcher.
+	 *
+	 * @return the statistics
+	 */
+	public SearchStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Stops the search as soon as possible.
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Checks whether the search has been stopped or its time is up.
+	 *
+	 * @return true if the search is stopped
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Calculates the exact score of the current game state to a fixed depth.
+	 * The result is meaningless if the search is stopped before it finishes.
+	 *
+	 * @param depth
+	 *        the depth
+	 * @param deadline
+	 *        the value of {@link System#nanoTime()} when the search has to stop
+	 * @return the score from the view of the player who has to move
+	 */
+	public int score(final int depth, final long deadline) {
+		return score(depth, -INFINITY, INFINITY, deadline);
+	}
+
+	/**
+	 * Calculates the score of the current game state to a fixed depth with an
+	 * alpha-beta window. A score inside the window is exact, a score at or
+	 * below alpha is an upper bound and a score at or above beta is a lower
+	 * bound. The result is meaningless if the search is stopped before it
+	 * finishes.
+	 *
+	 * @param depth
+	 *        the depth
+	 * @param alpha
+	 *        the lower bound of the window
+	 * @param beta
+	 *        the upper bound of the window
+	 * @param deadline
+	 *        the value of {@link System#nanoTime()} when the search has to stop
+	 * @return the score from the view of the player who has to move
+	 */
+	public int score(final int depth, final int alpha, final int beta, final long deadline) {
+		this.deadline = deadline;
+		return alphaBeta(depth, 0, alpha, beta);
+	}
+
+	/**
+	 * Sets the time when the search has to stop. It can be called from any other
+	 * thread while the search is running, for example to give a search without
+	 * a time limit one.
+	 *
+	 * @param deadline
+	 *        the value of {@link System#nanoTime()} when the search has to stop
+	 */
+	public void setDeadline(final long deadline) {
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Enables Multi-ProbCut with the parameters of the geometry of the board.
+	 * Searches with it are selective: their scores and best moves can differ
+	 * from those of a full-width search of the same depth. The exact endgame
+	 * search is never pruned.
+	 *
+	 * @param probCut
+	 *        the parameters, null to disable it. It has no effect if the
+	 *        geometry of the board has not been calibrated.
+	 */
+	public void setProbCut(final ProbCut probCut) {
+		this.probCut = probCut == null ? null : probCut.forBoard(board);
+		numOfSquares = ProbCut.numOfSquares(board);
+	}
+
+	/**
+	 * Searches the best move.
+	 *
+	 * @param limits
+	 *        the limits of the search
+	 * @return the result of the deepest completed iteration
+	 */
+	public SearchResult search(final SearchLimits limits) {
+		return search(limits, null);
+	}
+
+	/**
+	 * Searches the best move and reports each completed iteration.
+	 *
+	 * @param limits
+	 *        the limits of the search
+	 * @param listener
+	 *        the listener which receives the result of each iteration, null if
+	 *        none
+	 * @return the result of the deepest completed iteration
+	 */
+	public SearchResult search(final SearchLimits limits, final SearchListener listener) {
+		final SearchEvent event = FlightRecorder.isInitialized() ? new SearchEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		final long start = System.nanoTime();
+		if (limits.isTimed()) {
+			deadline = Math.min(deadline, start + limits.getMillis() * 1000000L);
+		}
+
+		final int[] moves = new int[board.getNumOfEmpties()];
+		final int numOfMoves = board.generateMoves(moves);
+		if (numOfMoves == 0) {
+			return new SearchResult(null, 0, 0, 0, new ArrayList<Position>(), statistics);
+		}
+		orderMoves(moves, numOfMoves, -1);
+
+		final TimeManager timeManager = limits.isClocked()
+				? new TimeManager(limits, board.getNumOfEmpties(), start)
+				: null;
+		final Future<?> watchdog = timeManager != null
+				? Watchdog.stopAt(this, timeManager.getDeadline())
+				: null;
+
+		int bestMove = moves[0];
+		int bestScore = 0;
+		int completedDepth = 0;
+		final int maxDepth = Math.min(limits.getDepth(), board.getNumOfEmpties());
+		for (int depth = 1; depth <= maxDepth && !stopped; ++depth) {
+			final SearchIterationEvent iterationEvent =
+					event != null ? new SearchIterationEvent() : null;
+			if (iterationEvent != null) {
+				iterationEvent.begin();
+			}
+			final long iterationStart = System.nanoTime();
+			final long iterationNodes = statistics.getNodes();
+			int alpha = -INFINITY;
+			int iterationMove = -1;
+			for (int i = 0; i < numOfMoves && !stopped; ++i) {
+				makeMove(moves[i]);
+				final int score = -alphaBeta(depth - 1, 1, -INFINITY, -alpha);
+				undo();
+				if (!stopped && score > alpha) {
+					alpha = score;
+					iterationMove = moves[i];
+					moveToFront(moves, i);
+				}
+			}
+			if (stopped) {
+				break;
+			}
+			final boolean bestMoveChanged = completedDepth > 0 && iterationMove != bestMove;
+			bestMove = iterationMove;
+			bestScore = alpha;
+			completedDepth = depth;
+			statistics.iterationCompleted(depth, System.nanoTime() - iterationStart,
+					statistics.getNodes() - iterationNodes);
+			if (iterationEvent != null) {
+				iterationEvent.complete(depth, statistics.getNodes() - iterationNodes);
+			}
+			final int symmetry = board.getCanonicalSymmetry();
+			table.store(board.getHash(symmetry), TranspositionTable.pack(
+					board.toCanonical(bestMove, symmetry), depth, TranspositionTable.EXACT, bestScore));
+			if (listener != null) {
+				listener.iterationCompleted(new SearchResult(board.toPosition(bestMove), bestScore, depth,
+						(System.nanoTime() - start) / 1000000L, principalVariation(bestMove, depth),
+						statistics));
+			}
+			if (timeManager != null && (numOfMoves == 1 || timeManager.iterationCompleted(
+					bestMoveChanged, System.nanoTime() - iterationStart, System.nanoTime()))) {
+				break;
+			}
+		}
+		if (watchdog != null) {
+			watchdog.cancel(false);
+		}
+
+		final long nanos = System.nanoTime() - start;
+		statistics.setNanos(nanos);
+		if (event != null) {
+			event.complete("search", board, completedDepth, statistics);
+		}
+		return new SearchResult(board.toPosition(bestMove), bestScore, completedDepth,
+				nanos / 1000000L, principalVariation(bestMove, Math.max(completedDepth, 1)), statistics);
+	}
+
+	/**
+	 * Searches a game state with an alpha-beta window.
+	 *
+	 * @param depth
+	 *        the remaining depth
+	 * @param ply
+	 *        the distance to the root
+	 * @param alpha
+	 *        the lower bound of the window
+	 * @param beta
+	 *        the upper bound of the window
+	 * @return the score from the view of the player who has to move
+	 */
+	protected int alphaBeta(final int depth, final int ply, int alpha, final int beta) {
+		if ((statistics.node() & CHECK_INTERVAL) == 0 && deadline != Long.MAX_VALUE
+				&& System.nanoTime() > deadline) {
+			stopped = true;
+		}
+		if (stopped) {
+			return 0;
+		}
+
+		final int symmetry = board.getCanonicalSymmetry();
+		final long hash = board.getHash(symmetry);
+		final long entry = table.probe(hash);
+		statistics.probe(entry != 0L);
+		int hashMove = -1;
+		if (entry != 0L) {
+			hashMove = board.fromCanonical(TranspositionTable.move(entry), symmetry);
+			if (TranspositionTable.depth(entry) >= depth) {
+				final int score = TranspositionTable.score(entry);
+				final int bound = TranspositionTable.bound(entry);
+				if (bound == TranspositionTable.EXACT
+						|| bound == TranspositionTable.LOWER && score >= beta
+						|| bound == TranspositionTable.UPPER && score <= alpha) {
+					return score;
+				}
+			}
+		}
+		if (depth <= 0) {
+			return evaluator.evaluate(board, stable);
+		}
+		if (depth >= board.getNumOfEmpties()) {
+			final int max = Evaluator.finalScore(stable.maxDiscDifference());
+			if (max <= alpha) {
+				statistics.stabilityCutoff();
+				return max;
+			}
+			final int min = Evaluator.finalScore(stable.minDiscDifference());
+			if (min >= beta) {
+				statistics.stabilityCutoff();
+				return min;
+			}
+		} else if (probCut != null && ply > 0 && depth >= ProbCut.MIN_DEPTH
+				&& !Evaluator.isFinalScore(alpha) && !Evaluator.isFinalScore(beta)) {
+			final ProbCut.Regression regression =
+					probCut[ProbCut.stage(board.getNumOfEmpties(), numOfSquares)][Math.min(depth,
+							ProbCut.MAX_DEPTH)];
+			if (regression != null) {
+				final int score = probCut(regression, ply, alpha, beta);
+				if (score != NO_CUTOFF) {
+					statistics.probCutoff();
+					return score;
+				}
+			}
+		}
+
+		final int[] moves = moveBuffer(ply);
+		final int numOfMoves = board.generateMoves(moves);
+		if (numOfMoves == 0) {
+			if (!board.canMove(board.getOpponent())) {
+				return Evaluator.finalScore(board);
+			}
+			makePass();
+			final int score = -alphaBeta(depth, ply + 1, -beta, -alpha);
+			undo();
+			return score;
+		}
+		orderMoves(moves, numOfMoves, hashMove);
+
+		final int originalAlpha = alpha;
+		int bestScore = -INFINITY;
+		int bestMove = -1;
+		for (int i = 0; i < numOfMoves; ++i) {
+			makeMove(moves[i]);
+			final int score = -alphaBeta(depth - 1, ply + 1, -beta, -alpha);
+			undo();
+			if (stopped) {
+				return 0;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = moves[i];
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						statistics.cutoff(i);
+						break;
+					}
+				}
+			}
+		}
+
+		final int bound = bestScore <= originalAlpha
+				? TranspositionTable.UPPER
+				: bestScore >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+		table.store(hash, TranspositionTable.pack(
+				board.toCanonical(bestMove, symmetry), depth, bound, bestScore));
+		return bestScore;
+	}
+
+	/**
+	 * Tries to cut off a node by a shallow null-window search at the bound
+	 * which the regression predicts for beta and alpha. The search of the
+	 * node has not generated its moves yet, so the shallow search can use the
+	 * move buffer of the same ply.
+	 *
+	 * @return beta or alpha if the node is cut off, otherwise NO_CUTOFF
+	 */
+	private int probCut(final ProbCut.Regression regression, final int ply, final int alpha,
+			final int beta) {
+		final double margin = ProbCut.THRESHOLD * regression.getSigma();
+		final int high = (int) Math.ceil(
+				(beta + margin - regression.getIntercept()) / regression.getSlope());
+		if (!Evaluator.isFinalScore(high)
+				&& alphaBeta(regression.getShallow(), ply, high - 1, high) >= high && !stopped) {
+			return beta;
+		}
+		final int low = (int) Math.floor(
+				(alpha - margin - regression.getIntercept()) / regression.getSlope());
+		if (!Evaluator.isFinalScore(low)
+				&& alphaBeta(regression.getShallow(), ply, low, low + 1) <= low && !stopped) {
+			return alpha;
+		}
+		return NO_CUTOFF;
+	}
+
+	private void makeMove(final int sq) {
+		board.makeMove(sq);
+		stable.moveMade();
+	}
+
+	private void makePass() {
+		board.makePass();
+		stable.moveMade();
+	}
+
+	private void undo() {
+		stable.undo();
+		board.undo();
+	}
+
+	private int[] moveBuffer(final int ply) {
+		if (ply >= moveBuffers.length) {
+			return new int[board.getNumOfEmpties()];
+		}
+		if (moveBuffers[ply] == null || moveBuffers[ply].length < board.getNumOfEmpties()) {
+			moveBuffers[ply] = new int[board.getNumOfEmpties()];
+		}
+		return moveBuffers[ply];
+	}
+
+	private void orderMoves(final int[] moves, final int numOfMoves, final int hashMove) {
+		for (int i = 1; i < numOfMoves; ++i) {
+			final int move = moves[i];
+			final int key = moveKey(move, hashMove);
+			int j = i - 1;
+			while (j >= 0 && moveKey(moves[j], hashMove) < key) {
+				moves[j + 1] = moves[j];
+				--j;
+			}
+			moves[j + 1] = move;
+		}
+	}
+
+	private int moveKey(final int move, final int hashMove) {
+		return move == hashMove ? Integer.MAX_VALUE : evaluator.weight(move);
+	}
+
+	private static void moveToFront(final int[] moves, final int i) {
+		final int move = moves[i];
+		System.arraycopy(moves, 0, moves, 1, i);
+		moves[0] = move;
+	}
+
+	/**
+	 * Returns the principal variation of the board of this searcher as far as
+	 * the transposition table knows it.
+	 *
+	 * @param maxLength
+	 *        the maximum length
+	 * @return the principal variation
+	 */
+	List<Position> principalVariation(final int maxLength) {
+		final int symmetry = board.getCanonicalSymmetry();
+		final long entry = table.probe(board.getHash(symmetry));
+		return principalVariation(
+				entry == 0L ? -1 : board.fromCanonical(TranspositionTable.move(entry), symmetry),
+				maxLength);
+	}
+
+	private List<Position> principalVariation(final int bestMove, final int maxLength) {
+		final List<Position> pv = new ArrayList<Position>();
+		final SearchBoard copy = board.copy();
+		int move = bestMove;
+		while (move >= 0 && pv.size() < maxLength && copy.isLegal(move, copy.getPlayer())) {
+			pv.add(copy.toPosition(move));
+			copy.makeMove(move);
+			if (!copy.canMove(copy.getPlayer())) {
+				copy.makePass();
+			}
+			final int symmetry = copy.getCanonicalSymmetry();
+			final long entry = table.probe(copy.getHash(symmetry));
+			move = entry == 0L ? -1 : copy.fromCanonical(TranspositionTable.move(entry), symmetry);
+		}
+		return pv;
+	}
+}
@@ -0,0 +1,231 @@
+package othello.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import othello.InputValidation;
+
+
+/**
+ * Calculates the exact value of every position which can be reached from the
+ * start position of a small board and writes them as {@link SolvedTable}.
+ * <p>
+ * The reachable positions are enumerated by a full-width negamax search
+ * without any pruning, so every position is visited, and its value is kept in
+ * a shared table of all positions solved so far. The positions a few plies
+ * after the start are searched in parallel, each by its own board; a position
+ * which is reached by several threads at once is solved more than once, which
+ * is harmless because the values are exact.
+ * <p>
+ * The number of reachable positions grows steeply with the empty squares: a
+ * 4x4 board has about 55 thousand, a 4x6 board far more than 100 million.
+ * Boards with holes of the same size have much fewer.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class SmallBoardSolver {
+
+	/** The default maximum number of positions. */
+	public static final int DEFAULT_CAPACITY = 1 << 24;
+
+	private static final int SPLIT_PLIES = 4;
+	private static final byte UNKNOWN = Byte.MIN_VALUE;
+
+	private final SearchBoard start;
+	private final int[] squares;
+	private final int threads;
+	private final AtomicLongArray keys;
+	private final byte[] values;
+	private final int mask;
+	private final int maxPositions;
+	private final AtomicInteger numOfPositions = new AtomicInteger();
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param start
+	 *        the start position, which is not changed
+	 * @param threads
+	 *        the number of threads which solve in parallel
+	 * @param capacity
+	 *        the maximum number of positions
+	 */
+	public SmallBoardSolver(final SearchBoard start, final int threads, final int capacity) {
+		final long holes = SolvedTable.holesOf(start);
+		InputValidation.require(holes != -1L && start.getWidth() * start.getHeight()
+				- Long.bitCount(holes) <= SolvedTable.MAX_SQUARES, "board too large to be solved");
+		InputValidation.require(threads > 0, "invalid number of threads");
+		InputValidation.require(capacity > 0 && capacity <= 1 << 29, "invalid capacity");
+		this.start = start.copy();
+		this.squares = SolvedTable.squares(start.getWidth(), start.getHeight(), holes);
+		this.threads = threads;
+		final int size = Integer.highestOneBit(capacity) << 1;
+		keys = new AtomicLongArray(size);
+		values = new byte[size];
+		Arrays.fill(values, UNKNOWN);
+		mask = size - 1;
+		maxPositions = capacity;
+	}
+
+	/**
+	 * Solves all reachable positions.
+	 *
+	 * @return the final disc difference of the start position with perfect
+	 *         play from the view of the player who has to move
+	 */
+	public int solve() {
+		final List<SearchBoard> split = new ArrayList<SearchBoard>();
+		collect(start.copy(), SPLIT_PLIES, split);
+
+		final ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (final SearchBoard board : split) {
+				results.add(pool.submit(new Callable<Integer>() {
+
+					@Override
+					public Integer call() {
+						return Integer.valueOf(solve(board));
+					}
+				}));
+			}
+			for (final Future<Integer> result : results) {
+				result.get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		return solve(start.copy());
+	}
+
+	/**
+	 * Returns the number of positions solved so far.
+	 *
+	 * @return the number of positions
+	 */
+	public int getNumOfPositions() {
+		return numOfPositions.get();
+	}
+
+	/**
+	 * Writes all solved positions as table.
+	 *
+	 * @param file
+	 *        the file
+	 * @throws IOException
+	 *         if the file can't be written
+	 */
+	public void write(final File file) throws IOException {
+		final long[] solvedKeys = new long[numOfPositions.get()];
+		final byte[] solvedValues = new byte[solvedKeys.length];
+		int count = 0;
+		for (int i = 0; i <= mask; ++i) {
+			final long key = keys.get(i);
+			if (key != 0 && values[i] != UNKNOWN) {
+				solvedKeys[count] = key - 1;
+				solvedValues[count++] = values[i];
+			}
+		}
+		SolvedTable.write(file, start, solvedKeys, solvedValues, count);
+	}
+
+	private void collect(final SearchBoard board, final int plies, final List<SearchBoard> split) {
+		final int[] moves = new int[board.getNumOfEmpties()];
+		final int numOfMoves = board.generateMoves(moves);
+		if (plies == 0 || numOfMoves == 0) {
+			split.add(board.copy());
+			return;
+		}
+		for (int i = 0; i < numOfMoves; ++i) {
+			board.makeMove(moves[i]);
+			collect(board, plies - 1, split);
+			board.undo();
+		}
+	}
+
+	private int solve(final SearchBoard board) {
+		final long key = SolvedTable.key(board, squares);
+		int slot = (int) mix(key) & mask;
+		while (true) {
+			final long stored = keys.get(slot);
+			if (stored == key + 1) {
+				final byte value = values[slot];
+				if (value != UNKNOWN) {
+					return value;
+				}
+				break;
+			}
+			if (stored == 0) {
+				break;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		final int[] moves = new int[board.getNumOfEmpties()];
+		final int numOfMoves = board.generateMoves(moves);
+		int best;
+		if (numOfMoves > 0) {
+			best = -Searcher.INFINITY;
+			for (int i = 0; i < numOfMoves; ++i) {
+				board.makeMove(moves[i]);
+				best = Math.max(best, -solve(board));
+				board.undo();
+			}
+		} else if (board.canMove(board.getOpponent())) {
+			board.makePass();
+			best = -solve(board);
+			board.undo();
+		} else {
+			best = board.count(board.getPlayer()) - board.count(board.getOpponent());
+		}
+		store(key, best);
+		return best;
+	}
+
+	private void store(final long key, final int value) {
+		int slot = (int) mix(key) & mask;
+		while (true) {
+			final long stored = keys.get(slot);
+			if (stored == key + 1) {
+				values[slot] = (byte) value;
+				return;
+			}
+			if (stored == 0) {
+				if (numOfPositions.get() >= maxPositions) {
+					throw new IllegalStateException("more than " + maxPositions + " positions");
+				}
+				if (keys.compareAndSet(slot, 0L, key + 1)) {
+					numOfPositions.incrementAndGet();
+					values[slot] = (byte) value;
+					return;
+				}
+				continue;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	private static long mix(final long value) {
+		long z = value * 0x9E3779B97F4A7C15L;
+		return z ^ (z >>> 32);
+	}
+}
@@ -0,0 +1,480 @@
+package othello.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import othello.InputValidation;
+import othello.Option;
+import othello.Position;
+
+
+/**
+ * The exact values of all positions of a small board, as computed by
+ * {@link SmallBoardSolver}. A table belongs to a board geometry, which are the
+ * width, the height and the holes, and answers every position of that
+ * geometry which the solver has reached.
+ * <p>
+ * A position is keyed by its squares in base 3 and the player who has to
+ * move, which fits into a long for up to {@link #MAX_SQUARES} squares. A
+ * perfect hash function maps each key to its own slot, and each slot holds the
+ * key and the final disc difference with perfect play from the view of the
+ * player who has to move. A position which is not in the table, for example a
+ * position of the same geometry with another start position, never matches
+ * the key of its slot, so every value which is found is exact.
+ * <p>
+ * The hash function works in two steps: the keys are spread over buckets of
+ * about {@link #BUCKET_SIZE} keys, and each bucket stores the pilot which moves
+ * all of its keys to free slots. The file starts with {@link #MAGIC}, the
+ * geometry and the sizes, followed by the pilots, padded to a multiple of 8
+ * bytes, the keys and the values, and is mapped into memory. A table is
+ * written to a temporary file which is renamed when it is complete, so a
+ * table which is still mapped keeps its old contents.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class SolvedTable implements Closeable {
+
+	/** The maximum number of squares a solvable board can have. */
+	public static final int MAX_SQUARES = 36;
+
+	private static final long MAGIC = 0x4f54485342543032L;
+	private static final int HEADER_BYTES = 48;
+	private static final int BUCKET_SIZE = 4;
+	private static final double LOAD_FACTOR = 0.97;
+	private static final int MAX_PILOT = 0xFFFF;
+	private static final long NO_KEY = -1L;
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	private final File path;
+	private final RandomAccessFile file;
+	private final MappedByteBuffer buffer;
+	private final int width;
+	private final int height;
+	private final long holes;
+	private final int[] squares;
+	private final long numOfPositions;
+	private final int numOfBuckets;
+	private final long numOfSlots;
+	private final long seed;
+	private final int keys;
+	private final int values;
+
+	/**
+	 * Opens a table.
+	 *
+	 * @param file
+	 *        the file
+	 * @return the table
+	 * @throws IOException
+	 *         if the file can't be mapped
+	 */
+	public static SolvedTable open(final File file) throws IOException {
+		final RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			InputValidation.require(raf.length() >= HEADER_BYTES && raf.readLong() == MAGIC,
+					"no solved table");
+			InputValidation.require(raf.length() <= Integer.MAX_VALUE, "broken solved table");
+			return new SolvedTable(file.getAbsoluteFile(), raf);
+		} catch (final IOException e) {
+			raf.close();
+			throw e;
+		} catch (final IllegalArgumentException e) {
+			raf.close();
+			throw e;
+		}
+	}
+
+	private SolvedTable(final File path, final RandomAccessFile file) throws IOException {
+		this.path = path;
+		this.file = file;
+		buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+		width = buffer.getInt(8);
+		height = buffer.getInt(12);
+		holes = buffer.getLong(16);
+		numOfPositions = buffer.getInt(24) & 0xFFFFFFFFL;
+		numOfBuckets = buffer.getInt(28);
+		numOfSlots = buffer.getLong(32);
+		seed = buffer.getLong(40);
+		keys = HEADER_BYTES + pilotBytes(numOfBuckets);
+		values = (int) (keys + numOfSlots * 8);
+		InputValidation.require(width * height <= Long.SIZE && numOfBuckets > 0
+				&& file.length() == values + numOfSlots, "broken solved table");
+		squares = squares(width, height, holes);
+	}
+
+	/**
+	 * Returns the number of positions.
+	 *
+	 * @return the number of positions
+	 */
+	public long getNumOfPositions() {
+		return numOfPositions;
+	}
+
+	/**
+	 * Returns the file of the table.
+	 *
+	 * @return the absolute path of the file
+	 */
+	public File getFile() {
+		return path;
+	}
+
+	/**
+	 * Checks whether another table has the geometry of this table.
+	 *
+	 * @param other
+	 *        the other table
+	 * @return true if both tables contain positions of the same boards
+	 */
+	public boolean hasGeometryOf(final SolvedTable other) {
+		return other.width == width && other.height == height && other.holes == holes;
+	}
+
+	/**
+	 * Checks whether a board has the geometry of this table.
+	 *
+	 * @param board
+	 *        the board
+	 * @return true if the table can contain the positions of the board
+	 */
+	public boolean matches(final SearchBoard board) {
+		return board.getWidth() == width && board.getHeight() == height
+				&& holesOf(board) == holes;
+	}
+
+	/**
+	 * Looks up the value of a position.
+	 *
+	 * @param board
+	 *        the position, which must match the geometry of this table
+	 * @return the final disc difference with perfect play from the view of
+	 *         the player who has to move, none if the position is not in the
+	 *         table
+	 */
+	public Option<Integer> lookup(final SearchBoard board) {
+		final long key = key(board, squares);
+		final long hash = mix(key ^ seed);
+		final int pilot = buffer.getShort(HEADER_BYTES + bucket(hash, numOfBuckets) * 2) & 0xFFFF;
+		final int slot = (int) slot(hash, pilot, numOfSlots);
+		if (buffer.getLong(keys + slot * 8) != key) {
+			return Option.none();
+		}
+		return Option.some(Integer.valueOf(buffer.get(values + slot)));
+	}
+
+	/**
+	 * Finds the best move of a position by looking up all its successors.
+	 *
+	 * @param board
+	 *        the position, which is not changed
+	 * @return the result with the exact score, none if the board has another
+	 *         geometry, the player can't move or a successor is missing
+	 */
+	public Option<SearchResult> search(final SearchBoard board) {
+		final long start = System.nanoTime();
+		if (!matches(board)) {
+			return Option.none();
+		}
+		final SearchStatistics statistics = new SearchStatistics();
+		final SearchBoard copy = board.copy();
+		final int[] moves = new int[copy.getNumOfEmpties()];
+		final int numOfMoves = copy.generateMoves(moves);
+		if (numOfMoves == 0) {
+			return Option.none();
+		}
+		final Option<Integer> best = bestMove(copy, moves, numOfMoves, statistics);
+		if (!best.isDefined()) {
+			return Option.none();
+		}
+		copy.makeMove(best.get());
+		final Option<Integer> value = lookup(copy);
+		copy.undo();
+
+		final List<Position> pv = new ArrayList<Position>();
+		final int[] buffer = new int[copy.getNumOfEmpties()];
+		int move = best.get();
+		while (move >= 0) {
+			pv.add(copy.toPosition(move));
+			copy.makeMove(move);
+			int count = copy.generateMoves(buffer);
+			if (count == 0) {
+				copy.makePass();
+				count = copy.generateMoves(buffer);
+			}
+			final Option<Integer> next = count == 0
+					? Option.<Integer> none()
+					: bestMove(copy, buffer, count, statistics);
+			move = next.isDefined() ? next.get() : -1;
+		}
+
+		final long nanos = System.nanoTime() - start;
+		statistics.setNanos(nanos);
+		return Option.some(new SearchResult(board.toPosition(best.get()),
+				Evaluator.finalScore(-value.get()), board.getNumOfEmpties(), nanos / 1000000L, pv,
+				statistics));
+	}
+
+	@Override
+	public void close() throws IOException {
+		file.close();
+	}
+
+	private Option<Integer> bestMove(final SearchBoard board, final int[] moves,
+			final int numOfMoves, final SearchStatistics statistics) {
+		int bestMove = -1;
+		int bestValue = Integer.MIN_VALUE;
+		for (int i = 0; i < numOfMoves; ++i) {
+			board.makeMove(moves[i]);
+			statistics.node();
+			final Option<Integer> value = lookup(board);
+			board.undo();
+			if (!value.isDefined()) {
+				return Option.none();
+			}
+			if (-value.get() > bestValue) {
+				bestValue = -value.get();
+				bestMove = moves[i];
+			}
+		}
+		return Option.some(Integer.valueOf(bestMove));
+	}
+
+	/**
+	 * Writes a table to a temporary file, forces it to the disk and renames
+	 * it to the file, which replaces an existing table.
+	 *
+	 * @param file
+	 *        the file
+	 * @param board
+	 *        a board with the geometry of the positions
+	 * @param keys
+	 *        the keys of the positions, see {@link #key(SearchBoard, int[])}
+	 * @param diffs
+	 *        the values of the positions
+	 * @param numOfPositions
+	 *        the number of positions in the arrays
+	 * @throws IOException
+	 *         if the file can't be written
+	 */
+	static void write(final File file, final SearchBoard board, final long[] keys,
+			final byte[] diffs, final int numOfPositions) throws IOException {
+		final int numOfBuckets = Math.max(1, (numOfPositions + BUCKET_SIZE - 1) / BUCKET_SIZE);
+		final int numOfSlots = Math.max(1, (int) Math.ceil(numOfPositions / LOAD_FACTOR));
+		final short[] pilots = new short[numOfBuckets];
+		final long[] slotKeys = new long[numOfSlots];
+		final byte[] slotValues = new byte[numOfSlots];
+
+		long seed = 0x9E3779B97F4A7C15L;
+		while (!place(keys, diffs, numOfPositions, seed, pilots, slotKeys, slotValues)) {
+			seed = mix(seed);
+		}
+
+		final File temporary = new File(file.getPath() + TEMPORARY_SUFFIX);
+		final FileOutputStream fileOut = new FileOutputStream(temporary);
+		final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 1 << 16));
+		try {
+			out.writeLong(MAGIC);
+			out.writeInt(board.getWidth());
+			out.writeInt(board.getHeight());
+			out.writeLong(holesOf(board));
+			out.writeInt(numOfPositions);
+			out.writeInt(numOfBuckets);
+			out.writeLong(numOfSlots);
+			out.writeLong(seed);
+			for (final short pilot : pilots) {
+				out.writeShort(pilot);
+			}
+			for (int i = pilots.length * 2; i < pilotBytes(numOfBuckets); ++i) {
+				out.writeByte(0);
+			}
+			for (final long key : slotKeys) {
+				out.writeLong(key);
+			}
+			out.write(slotValues);
+			out.flush();
+			fileOut.getFD().sync();
+		} finally {
+			out.close();
+		}
+		if (!temporary.renameTo(file)) {
+			throw new IOException("can't rename " + temporary + " to " + file);
+		}
+	}
+
+	/**
+	 * Finds a pilot for each bucket, the largest buckets first.
+	 *
+	 * @return false if a bucket does not fit with any pilot
+	 */
+	private static boolean place(final long[] keys, final byte[] diffs, final int numOfPositions,
+			final long seed, final short[] pilots, final long[] slotKeys, final byte[] slotValues) {
+		final int numOfBuckets = pilots.length;
+		final int numOfSlots = slotValues.length;
+		Arrays.fill(slotKeys, NO_KEY);
+		Arrays.fill(slotValues, (byte) 0);
+		final long[] hashes = new long[numOfPositions];
+		final int[] sizes = new int[numOfBuckets];
+		int maxSize = 0;
+		for (int i = 0; i < numOfPositions; ++i) {
+			hashes[i] = mix(keys[i] ^ seed);
+			maxSize = Math.max(maxSize, ++sizes[bucket(hashes[i], numOfBuckets)]);
+		}
+
+		final int[] offsets = new int[numOfBuckets + 1];
+		for (int b = 0; b < numOfBuckets; ++b) {
+			offsets[b + 1] = offsets[b] + sizes[b];
+		}
+		final int[] members = new int[numOfPositions];
+		final int[] fill = new int[numOfBuckets];
+		for (int i = 0; i < numOfPositions; ++i) {
+			final int b = bucket(hashes[i], numOfBuckets);
+			members[offsets[b] + fill[b]++] = i;
+		}
+		final int[] bySize = new int[maxSize + 2];
+		for (int b = 0; b < numOfBuckets; ++b) {
+			++bySize[maxSize - sizes[b] + 1];
+		}
+		for (int s = 1; s < bySize.length; ++s) {
+			bySize[s] += bySize[s - 1];
+		}
+		final int[] order = new int[numOfBuckets];
+		for (int b = 0; b < numOfBuckets; ++b) {
+			order[bySize[maxSize - sizes[b]]++] = b;
+		}
+
+		final long[] taken = new long[(numOfSlots + 63) >>> 6];
+		final int[] slots = new int[maxSize];
+		for (final int b : order) {
+			final int size = sizes[b];
+			int pilot = 0;
+			while (!fits(hashes, members, offsets[b], size, pilot, numOfSlots, taken, slots)) {
+				if (++pilot > MAX_PILOT) {
+					return false;
+				}
+			}
+			pilots[b] = (short) pilot;
+			for (int j = 0; j < size; ++j) {
+				final int i = members[offsets[b] + j];
+				taken[slots[j] >>> 6] |= 1L << slots[j];
+				slotKeys[slots[j]] = keys[i];
+				slotValues[slots[j]] = diffs[i];
+			}
+		}
+		return true;
+	}
+
+	private static boolean fits(final long[] hashes, final int[] members, final int offset,
+			final int size, final int pilot, final int numOfSlots, final long[] taken,
+			final int[] slots) {
+		for (int j = 0; j < size; ++j) {
+			final int slot = (int) slot(hashes[members[offset + j]], pilot, numOfSlots);
+			if ((taken[slot >>> 6] & 1L << slot) != 0) {
+				return false;
+			}
+			for (int k = 0; k < j; ++k) {
+				if (slots[k] == slot) {
+					return false;
+				}
+			}
+			slots[j] = slot;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the squares of a board which are not holes, in the order of the
+	 * digits of a key.
+	 *
+	 * @param width
+	 *        the width of the board
+	 * @param height
+	 *        the height of the board
+	 * @param holes
+	 *        the holes as returned by {@link #holesOf(SearchBoard)}
+	 * @return the squares
+	 */
+	static int[] squares(final int width, final int height, final long holes) {
+		final int[] squares = new int[width * height - Long.bitCount(holes)];
+		int count = 0;
+		for (int y = 1; y <= height; ++y) {
+			for (int x = 1; x <= width; ++x) {
+				if ((holes & 1L << ((y - 1) * width + x - 1)) == 0) {
+					squares[count++] = y * (width + 2) + x;
+				}
+			}
+		}
+		return squares;
+	}
+
+	/**
+	 * Returns the holes of a board with at most 64 cells as bits, one bit per
+	 * cell in row-major order.
+	 *
+	 * @param board
+	 *        the board
+	 * @return the holes
+	 */
+	static long holesOf(final SearchBoard board) {
+		if (board.getWidth() * board.getHeight() > Long.SIZE) {
+			return -1L;
+		}
+		long holes = 0;
+		for (int y = 1; y <= board.getHeight(); ++y) {
+			for (int x = 1; x <= board.getWidth(); ++x) {
+				if (board.get(board.square(x, y)) == SearchBoard.WALL) {
+					holes |= 1L << ((y - 1) * board.getWidth() + x - 1);
+				}
+			}
+		}
+		return holes;
+	}
+
+	/**
+	 * Returns the key of a position: the values of the squares as digits in
+	 * base 3, times 2, plus 1 if white has to move.
+	 *
+	 * @param board
+	 *        the position
+	 * @param squares
+	 *        the squares which are not holes
+	 * @return the key
+	 */
+	static long key(final SearchBoard board, final int[] squares) {
+		long key = 0;
+		for (int i = squares.length - 1; i >= 0; --i) {
+			key = key * 3 + board.get(squares[i]);
+		}
+		return key * 2 + (board.getPlayer() == SearchBoard.WHITE ? 1 : 0);
+	}
+
+	private static int bucket(final long hash, final int numOfBuckets) {
+		return (int) ((hash >>> 1) % numOfBuckets);
+	}
+
+	private static long slot(final long hash, final int pilot, final long numOfSlots) {
+		return (mix(hash ^ mix(pilot + 1L)) >>> 1) % numOfSlots;
+	}
+
+	private static int pilotBytes(final int numOfBuckets) {
+		return (numOfBuckets * 2 + 7) & ~7;
+	}
+
+	private static long mix(final long value) {
+		long z = value;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
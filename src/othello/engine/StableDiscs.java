@@ -0,0 +1,229 @@
+package othello.engine;
+
+
+/**
+ * Knows which discs of a board can never be flipped again. A disc is stable if
+ * on each of its four lines it is protected: the line is full, or one of its
+ * neighbors on the line is a wall or a stable disc of the same player. Holes
+ * are walls, therefore a disc next to a hole is protected like a disc on the
+ * edge. Each line ends at the next wall, so a hole splits a line in two.
+ * <p>
+ * A stable disc stays stable for the rest of the game. Thus after a move only
+ * the moved disc, the flipped discs, the discs on lines which became full and
+ * the neighbors of new stable discs have to be checked, instead of the whole
+ * board. The new stable discs of each move are saved on a stack, so the move
+ * can be undone together with the move on the board.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class StableDiscs {
+
+	private final SearchBoard board;
+	private final int[] dirs;
+	private final int[][] lineStarts = new int[4][];
+	private final int[][] emptiesOfLine = new int[4][];
+	private final boolean[] isStable;
+	private final int[] counts = new int[SearchBoard.WALL];
+	private final int numOfSquares;
+
+	private final int[] stack;
+	private int stackTop;
+	private final int[] frames;
+	private int frameTop;
+
+	private final int[] work;
+	private final int[] flips;
+
+	/**
+	 * Creates a new instance and calculates the stable discs of the current
+	 * state of a board. The instance must be informed about every move and
+	 * undo on the board.
+	 *
+	 * @param board
+	 *        the board
+	 */
+	public StableDiscs(final SearchBoard board) {
+		this.board = board;
+		this.dirs = board.getDirections();
+		this.isStable = new boolean[board.size()];
+		this.stack = new int[board.size()];
+		this.frames = new int[board.getWidth() * board.getHeight() * 2 + 2];
+		this.work = new int[board.size() * 8];
+		this.flips = new int[board.size()];
+
+		int squares = 0;
+		for (int axis = 0; axis < 4; ++axis) {
+			lineStarts[axis] = new int[board.size()];
+			emptiesOfLine[axis] = new int[board.size()];
+		}
+		for (int sq = 0; sq < board.size(); ++sq) {
+			if (board.get(sq) == SearchBoard.WALL) {
+				continue;
+			}
+			++squares;
+			for (int axis = 0; axis < 4; ++axis) {
+				final int dir = dirs[axis];
+				int start = sq;
+				while (board.get(start - dir) != SearchBoard.WALL) {
+					start -= dir;
+				}
+				lineStarts[axis][sq] = start;
+				if (board.get(sq) == SearchBoard.EMPTY) {
+					++emptiesOfLine[axis][start];
+				}
+			}
+		}
+		numOfSquares = squares;
+
+		boolean hasChanged = true;
+		while (hasChanged) {
+			hasChanged = false;
+			for (int sq = 0; sq < board.size(); ++sq) {
+				if (isDisc(sq) && !isStable[sq] && isProtected(sq)) {
+					markStable(sq);
+					hasChanged = true;
+				}
+			}
+		}
+		stackTop = 0;
+	}
+
+	/**
+	 * Returns the number of stable discs of a player.
+	 *
+	 * @param who
+	 *        the player
+	 * @return the number of stable discs
+	 */
+	public int count(final int who) {
+		return counts[who];
+	}
+
+	/**
+	 * Checks whether a disc is stable.
+	 *
+	 * @param sq
+	 *        the square of the disc
+	 * @return true if the disc can never be flipped again
+	 */
+	public boolean isStable(final int sq) {
+		return isStable[sq];
+	}
+
+	/**
+	 * Returns the number of squares which are not walls.
+	 *
+	 * @return the number of squares
+	 */
+	public int getNumOfSquares() {
+		return numOfSquares;
+	}
+
+	/**
+	 * Updates the stable discs after a move has been made on the board.
+	 */
+	public void moveMade() {
+		final int sq = board.getLastMove();
+		frames[frameTop++] = stackTop;
+		if (sq < 0) {
+			return;
+		}
+
+		int top = 0;
+		work[top++] = sq;
+		final int numOfFlips = board.lastFlips(flips);
+		for (int i = 0; i < numOfFlips; ++i) {
+			work[top++] = flips[i];
+		}
+		for (int axis = 0; axis < 4; ++axis) {
+			final int start = lineStarts[axis][sq];
+			if (--emptiesOfLine[axis][start] == 0) {
+				for (int cur = start; board.get(cur) != SearchBoard.WALL; cur += dirs[axis]) {
+					work[top++] = cur;
+				}
+			}
+		}
+
+		while (top > 0) {
+			final int cur = work[--top];
+			if (!isStable[cur] && isDisc(cur) && isProtected(cur)) {
+				markStable(cur);
+				for (final int dir : dirs) {
+					if (isDisc(cur + dir) && !isStable[cur + dir]) {
+						work[top++] = cur + dir;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Undoes the last update. It must be called before the move is undone on
+	 * the board.
+	 */
+	public void undo() {
+		final int frame = frames[--frameTop];
+		final int sq = board.getLastMove();
+		while (stackTop > frame) {
+			final int cur = stack[--stackTop];
+			isStable[cur] = false;
+			--counts[board.get(cur)];
+		}
+		if (sq < 0) {
+			return;
+		}
+		for (int axis = 0; axis < 4; ++axis) {
+			++emptiesOfLine[axis][lineStarts[axis][sq]];
+		}
+	}
+
+	/**
+	 * Calculates an upper bound of the disc difference at the end of the game
+	 * from the view of the player who has to move.
+	 *
+	 * @return the upper bound
+	 */
+	public int maxDiscDifference() {
+		return numOfSquares - 2 * counts[board.getOpponent()];
+	}
+
+	/**
+	 * Calculates a lower bound of the disc difference at the end of the game
+	 * from the view of the player who has to move.
+	 *
+	 * @return the lower bound
+	 */
+	public int minDiscDifference() {
+		return 2 * counts[board.getPlayer()] - numOfSquares;
+	}
+
+	private boolean isDisc(final int sq) {
+		final int value = board.get(sq);
+		return value == SearchBoard.BLACK || value == SearchBoard.WHITE;
+	}
+
+	private boolean isProtected(final int sq) {
+		final int who = board.get(sq);
+		for (int axis = 0; axis < 4; ++axis) {
+			if (emptiesOfLine[axis][lineStarts[axis][sq]] == 0
+					|| isAnchor(sq + dirs[axis], who)
+					|| isAnchor(sq - dirs[axis], who)) {
+				continue;
+			}
+			return false;
+		}
+		return true;
+	}
+
+	private boolean isAnchor(final int sq, final int who) {
+		final int value = board.get(sq);
+		return value == SearchBoard.WALL || value == who && isStable[sq];
+	}
+
+	private void markStable(final int sq) {
+		isStable[sq] = true;
+		++counts[board.get(sq)];
+		stack[stackTop++] = sq;
+	}
+}
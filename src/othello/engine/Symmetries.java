@@ -0,0 +1,107 @@
+package othello.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Calculates the symmetries of a board. A rectangular board has four
+ * symmetries, a square board has eight. Only symmetries which map every hole
+ * onto a hole are valid, because otherwise the mapped game state could not
+ * exist on the same board.
+ * <p>
+ * A symmetry is represented as an array which maps each square to its image.
+ * Squares of the border are mapped onto themselves.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class Symmetries {
+
+	private Symmetries() {
+
+	}
+
+	/**
+	 * Calculates all valid symmetries of a board except the identity.
+	 *
+	 * @param board
+	 *        the board with its holes
+	 * @return the symmetries
+	 */
+	public static int[][] of(final SearchBoard board) {
+		final int w = board.getWidth();
+		final int h = board.getHeight();
+		final List<int[]> symmetries = new ArrayList<int[]>();
+		final int numOfCandidates = w == h ? 7 : 3;
+		for (int kind = 1; kind <= numOfCandidates; ++kind) {
+			final int[] map = new int[board.size()];
+			for (int sq = 0; sq < map.length; ++sq) {
+				map[sq] = sq;
+			}
+			boolean isValid = true;
+			for (int y = 1; y <= h && isValid; ++y) {
+				for (int x = 1; x <= w; ++x) {
+					final int sq = board.square(x, y);
+					final int image = board.square(imageX(kind, x, y, w, h), imageY(kind, x, y, w, h));
+					if ((board.get(sq) == SearchBoard.WALL) != (board.get(image) == SearchBoard.WALL)) {
+						isValid = false;
+						break;
+					}
+					map[sq] = image;
+				}
+			}
+			if (isValid) {
+				symmetries.add(map);
+			}
+		}
+		return symmetries.toArray(new int[symmetries.size()][]);
+	}
+
+	/**
+	 * Calculates the inverse of a symmetry.
+	 *
+	 * @param map
+	 *        the symmetry
+	 * @return the inverse symmetry
+	 */
+	public static int[] inverse(final int[] map) {
+		final int[] inverse = new int[map.length];
+		for (int sq = 0; sq < map.length; ++sq) {
+			inverse[map[sq]] = sq;
+		}
+		return inverse;
+	}
+
+	private static int imageX(final int kind, final int x, final int y, final int w, final int h) {
+		switch (kind) {
+			case 1:
+			case 3:
+				return w + 1 - x;
+			case 4:
+			case 7:
+				return y;
+			case 5:
+			case 6:
+				return h + 1 - y;
+			default:
+				return x;
+		}
+	}
+
+	private static int imageY(final int kind, final int x, final int y, final int w, final int h) {
+		switch (kind) {
+			case 2:
+			case 3:
+				return h + 1 - y;
+			case 4:
+			case 6:
+				return x;
+			case 5:
+			case 7:
+				return w + 1 - x;
+			default:
+				return y;
+		}
+	}
+}
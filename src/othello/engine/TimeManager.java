@@ -0,0 +1,120 @@
+package othello.engine;
+
+
+/**
+ * Decides how much of a game clock a search uses. The clock is spread evenly
+ * over the moves the player still has to make, which are estimated from the
+ * empty squares, because the size of the board and its holes vary from game
+ * to game.
+ * <p>
+ * After each iteration the search asks whether it should go on. The planned
+ * time shrinks while the best move stays the same and grows when the best move
+ * changes between iterations, because then the search has not settled yet. An
+ * iteration is not started if it probably can't finish before the hard
+ * deadline, which the search must never exceed and which is enforced by a
+ * {@link Watchdog}.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class TimeManager {
+
+	/** The time which is kept on the clock for the overhead of each move. */
+	private static final long OVERHEAD_NANOS = 20000000L;
+
+	/** The factor by which the hard deadline may exceed the planned time. */
+	private static final int MAX_FACTOR = 4;
+
+	/** The factor of the planned time when the best move is stable. */
+	private static final double STABLE_FACTOR = 0.6;
+
+	/** The highest factor of the planned time when the best move changes. */
+	private static final double UNSTABLE_FACTOR = 2.5;
+
+	private static final double MIN_BRANCHING = 1.5;
+	private static final double MAX_BRANCHING = 8.0;
+	private static final double DEFAULT_BRANCHING = 4.0;
+
+	private final long start;
+	private final long optimum;
+	private final long maximum;
+	private double instability;
+	private long lastIterationNanos;
+	private long previousIterationNanos;
+
+	/**
+	 * Creates a new instance for a search which starts now.
+	 *
+	 * @param limits
+	 *        the limits, which have to contain a clock
+	 * @param numOfEmpties
+	 *        the number of empty squares of the searched game state
+	 * @param start
+	 *        the start of the search as value of {@link System#nanoTime()}
+	 */
+	public TimeManager(final SearchLimits limits, final int numOfEmpties, final long start) {
+		this.start = start;
+		final long available = Math.max(1000000L,
+				limits.getClockMillis() * 1000000L - OVERHEAD_NANOS);
+		final long increment = limits.getIncrementMillis() * 1000000L;
+		final int movesToGo = Math.max(1, (numOfEmpties + 1) / 2);
+		optimum = Math.min(available, available / movesToGo + increment * 3 / 4);
+		maximum = Math.min(optimum * MAX_FACTOR, movesToGo == 1 ? available : available / 2);
+	}
+
+	/**
+	 * Returns the planned time of the search if the best move is neither
+	 * stable nor unstable.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getOptimumNanos() {
+		return optimum;
+	}
+
+	/**
+	 * Returns the time the search must never exceed.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getMaximumNanos() {
+		return maximum;
+	}
+
+	/**
+	 * Returns the hard deadline.
+	 *
+	 * @return the deadline as value of {@link System#nanoTime()}
+	 */
+	public long getDeadline() {
+		return start + maximum;
+	}
+
+	/**
+	 * Is called after each completed iteration and decides whether the next
+	 * one is started.
+	 *
+	 * @param bestMoveChanged
+	 *        true if the iteration found another best move than the one before
+	 * @param iterationNanos
+	 *        the time of the iteration
+	 * @param now
+	 *        the current value of {@link System#nanoTime()}
+	 * @return true if the search should stop
+	 */
+	public boolean iterationCompleted(final boolean bestMoveChanged, final long iterationNanos,
+			final long now) {
+		instability = instability / 2 + (bestMoveChanged ? 1 : 0);
+		previousIterationNanos = lastIterationNanos;
+		lastIterationNanos = iterationNanos;
+
+		final double factor = Math.min(UNSTABLE_FACTOR, STABLE_FACTOR + instability);
+		final long target = Math.min(maximum, (long) (optimum * factor));
+		final long elapsed = now - start;
+		final double branching = previousIterationNanos > 0
+				? Math.max(MIN_BRANCHING, Math.min(MAX_BRANCHING,
+						(double) lastIterationNanos / previousIterationNanos))
+				: DEFAULT_BRANCHING;
+		return elapsed >= target || elapsed + lastIterationNanos * branching > maximum;
+	}
+}
@@ -0,0 +1,135 @@
+package othello.engine;
+
+/**
+ * A hash table which saves the results of already searched game states. It has
+ * a fixed size, a new entry always replaces the old one in its slot.
+ * <p>
+ * A table can be shared between several searching threads without locking.
+ * Each entry is saved as its key xor its data, therefore an entry which was
+ * written by two threads at the same time is not found anymore instead of
+ * returning wrong data.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public abstract class TranspositionTable {
+
+	/** The score is exact. */
+	public static final int EXACT = 1;
+
+	/** The score is a lower bound. */
+	public static final int LOWER = 2;
+
+	/** The score is an upper bound. */
+	public static final int UPPER = 3;
+
+	/**
+	 * Packs the data of an entry into a single value.
+	 *
+	 * @param move
+	 *        the best move or -1 if there is none
+	 * @param depth
+	 *        the searched depth
+	 * @param bound
+	 *        the kind of the score
+	 * @param score
+	 *        the score
+	 * @return the packed data which is never 0
+	 */
+	public static long pack(final int move, final int depth, final int bound, final int score) {
+		return ((long) score << 32)
+				| ((long) (depth & 0xFF) << 24)
+				| ((long) bound << 22)
+				| (move + 1);
+	}
+
+	/**
+	 * Returns the move of packed data.
+	 *
+	 * @param data
+	 *        the packed data
+	 * @return the move or -1 if there is none
+	 */
+	public static int move(final long data) {
+		return (int) (data & 0x3FFFFF) - 1;
+	}
+
+	/**
+	 * Returns the depth of packed data.
+	 *
+	 * @param data
+	 *        the packed data
+	 * @return the depth
+	 */
+	public static int depth(final long data) {
+		return (int) (data >>> 24) & 0xFF;
+	}
+
+	/**
+	 * Returns the kind of score of packed data.
+	 *
+	 * @param data
+	 *        the packed data
+	 * @return the kind of score
+	 */
+	public static int bound(final long data) {
+		return (int) (data >>> 22) & 0x3;
+	}
+
+	/**
+	 * Returns the score of packed data.
+	 *
+	 * @param data
+	 *        the packed data
+	 * @return the score
+	 */
+	public static int score(final long data) {
+		return (int) (data >> 32);
+	}
+
+	/**
+	 * Looks up the data of a game state.
+	 *
+	 * @param hash
+	 *        the hash of the game state
+	 * @return the packed data or 0 if nothing is saved
+	 */
+	public abstract long probe(long hash);
+
+	/**
+	 * Saves the data of a game state.
+	 *
+	 * @param hash
+	 *        the hash of the game state
+	 * @param packed
+	 *        the packed data
+	 */
+	public abstract void store(long hash, long packed);
+
+	/**
+	 * Removes all entries.
+	 */
+	public abstract void clear();
+
+	/**
+	 * Returns the number of entries the table can hold.
+	 *
+	 * @return the capacity
+	 */
+	public abstract long getCapacity();
+
+	/**
+	 * Rounds a number of entries up to the next power of two.
+	 *
+	 * @param size
+	 *        the minimum number of entries
+	 * @return the capacity
+	 */
+	protected static long capacityOf(final long size) {
+		long capacity = 1;
+		while (capacity < size) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+}
@@ -0,0 +1,56 @@
+package othello.engine;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Stops searches at their hard deadline. A single daemon thread sleeps until
+ * the next deadline, so the search itself only has to check its stop flag and
+ * never reads the clock.
+ *
+ * @version 0.1
+ * @since JDK1.7, Oct 19, 2026
+ */
+final class Watchdog {
+
+	private static final ScheduledThreadPoolExecutor TIMER =
+			new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+
+				@Override
+				public Thread newThread(final Runnable runnable) {
+					final Thread thread = new Thread(runnable, "othello-watchdog");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	static {
+		TIMER.setRemoveOnCancelPolicy(true);
+	}
+
+	private Watchdog() {
+
+	}
+
+	/**
+	 * Stops a search at a deadline.
+	 *
+	 * @param searcher
+	 *        the searcher
+	 * @param deadline
+	 *        the deadline as value of {@link System#nanoTime()}
+	 * @return the future which has to be cancelled if the search ends before
+	 */
+	static Future<?> stopAt(final Searcher searcher, final long deadline) {
+		return TIMER.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				searcher.stop();
+			}
+		}, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+}
@@ -0,0 +1,115 @@
+package othello.engine;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * The random keys which are used to hash a game state. Each board geometry has
+ * its own keys. They are created only once and are deterministic, which means
+ * that the hash of a state is the same in each run of the application. The
+ * random generator of a geometry is seeded with its width and height side by
+ * side, so no two geometries share their keys.
+ * <p>
+ * Holes are part of the state, so each square of the board also has a key
+ * for a hole. The border has none because it is the same for all boards of a
+ * geometry.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class Zobrist {
+
+	private static final ConcurrentMap<Long, Zobrist> CACHE = new ConcurrentHashMap<Long, Zobrist>();
+
+	/**
+	 * Returns the keys of a board geometry.
+	 *
+	 * @param width
+	 *        the width of the board
+	 * @param height
+	 *        the height of the board
+	 * @return the keys
+	 */
+	public static Zobrist of(final int width, final int height) {
+		final Long geometry = Long.valueOf(geometry(width, height));
+		final Zobrist zobrist = CACHE.get(geometry);
+		if (zobrist != null) {
+			return zobrist;
+		}
+		final Zobrist created = new Zobrist(width, height);
+		final Zobrist existing = CACHE.putIfAbsent(geometry, created);
+		return existing == null ? created : existing;
+	}
+
+	private final long[] keys;
+	private final long side;
+	private final long[] holes;
+
+	private Zobrist(final int width, final int height) {
+		final Random random = new Random(geometry(width, height));
+		keys = new long[(width + 2) * (height + 2) * 2];
+		for (int i = 0; i < keys.length; ++i) {
+			keys[i] = random.nextLong();
+		}
+		side = random.nextLong();
+		holes = new long[(width + 2) * (height + 2)];
+		for (int y = 1; y <= height; ++y) {
+			for (int x = 1; x <= width; ++x) {
+				holes[y * (width + 2) + x] = random.nextLong();
+			}
+		}
+	}
+
+	/**
+	 * Returns the key of a disc on a square.
+	 *
+	 * @param sq
+	 *        the square
+	 * @param who
+	 *        the player the disc belongs to
+	 * @return the key
+	 */
+	public long key(final int sq, final int who) {
+		return keys[(sq << 1) + who - 1];
+	}
+
+	/**
+	 * Returns the key which is added if white has to move.
+	 *
+	 * @return the key
+	 */
+	public long side() {
+		return side;
+	}
+
+	/**
+	 * Calculates the hash of a state from scratch.
+	 *
+	 * @param squares
+	 *        the squares
+	 * @param player
+	 *        the player who has to move
+	 * @return the hash
+	 */
+	long hash(final int[] squares, final int player) {
+		long hash = player == SearchBoard.WHITE ? side : 0L;
+		for (int sq = 0; sq < squares.length; ++sq) {
+			if (squares[sq] == SearchBoard.BLACK || squares[sq] == SearchBoard.WHITE) {
+				hash ^= key(sq, squares[sq]);
+			} else if (squares[sq] == SearchBoard.WALL) {
+				hash ^= holes[sq];
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the width and the height side by side, which is unique for each
+	 * geometry.
+	 */
+	private static long geometry(final int width, final int height) {
+		return ((long) width << 32) | height;
+	}
+}
@@ -0,0 +1,171 @@
+package othello.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import othello.Board;
+import othello.Cell;
+import othello.Game;
+import othello.GameListener;
+import othello.GameMode;
+import othello.Position;
+
+
+/**
+ * Sends every change of a hosted game to its spectators. A move is sent as a
+ * delta which contains the position moved to and the flipped positions only,
+ * instead of the whole board:
+ * <p>
+ * move &lt;seq&gt; &lt;player&gt; &lt;position&gt; [&lt;flips&gt;]<br>
+ * pass &lt;seq&gt; &lt;player&gt;<br>
+ * over &lt;seq&gt;<br>
+ * snapshot &lt;seq&gt; &lt;width&gt; &lt;height&gt; &lt;rows&gt; &lt;player&gt;
+ * <p>
+ * All other changes and spectators which could not keep up get a snapshot in
+ * the syntax of the newGame command. Each message is encoded only once,
+ * regardless of the number of spectators, and not at all while there are
+ * none.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+class Broadcaster implements GameListener {
+
+	private final List<Spectator> spectators = new CopyOnWriteArrayList<Spectator>();
+	private Game game = Game.empty();
+	private long seq;
+	private Message snapshot;
+
+	/**
+	 * Adds a spectator. Its first message will be a snapshot.
+	 *
+	 * @param spectator
+	 *        the spectator
+	 */
+	void subscribe(final Spectator spectator) {
+		spectators.add(spectator);
+	}
+
+	/**
+	 * Removes a spectator.
+	 *
+	 * @param spectator
+	 *        the spectator
+	 */
+	void unsubscribe(final Spectator spectator) {
+		spectators.remove(spectator);
+	}
+
+	/**
+	 * Tells all spectators that the game has ended.
+	 */
+	void close() {
+		for (final Spectator spectator : spectators) {
+			spectator.close();
+		}
+	}
+
+	/**
+	 * Returns the number of spectators.
+	 *
+	 * @return the number of spectators
+	 */
+	int getNumOfSpectators() {
+		return spectators.size();
+	}
+
+	@Override
+	public void gameChanged(final Game oldGame, final Game newGame) {
+		final Message message;
+		synchronized (this) {
+			game = newGame;
+			++seq;
+			snapshot = null;
+			if (spectators.isEmpty()) {
+				return;
+			}
+			message = new Message(seq, encode(oldGame, newGame));
+		}
+		for (final Spectator spectator : spectators) {
+			spectator.offer(message);
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the current game. It is created at most once per
+	 * change.
+	 *
+	 * @return the snapshot
+	 */
+	synchronized Message snapshot() {
+		if (snapshot == null) {
+			snapshot = new Message(seq, encodeSnapshot(seq, game));
+		}
+		return snapshot;
+	}
+
+	private String encode(final Game oldGame, final Game newGame) {
+		final List<Position> changes = newGame.getLastChanges();
+		if (!changes.isEmpty()) {
+			final StringBuilder sb = new StringBuilder(16 + changes.size() * 4);
+			sb.append("move ").append(seq).append(' ')
+					.append(oldGame.getCurPlayer().getSign()).append(' ').append(changes.get(0));
+			for (int i = 1; i < changes.size(); ++i) {
+				sb.append(i == 1 ? ' ' : ',').append(changes.get(i));
+			}
+			return sb.toString();
+		}
+		if (newGame.getBoard() == oldGame.getBoard()) {
+			if (newGame.getMode().equals(GameMode.GAME_OVER_MODE)) {
+				return "over " + seq;
+			}
+			if (newGame.getMode().equals(oldGame.getMode())) {
+				return "pass " + seq + " " + oldGame.getCurPlayer().getSign();
+			}
+		}
+		return encodeSnapshot(seq, newGame);
+	}
+
+	private static String encodeSnapshot(final long seq, final Game game) {
+		final Board board = game.getBoard();
+		final int w = board.getWidth();
+		final int h = board.getHeight();
+		final char[] rows = new char[h * (w + 1)];
+		for (int y = 0; y < h; ++y) {
+			for (int x = 0; x < w; ++x) {
+				rows[y * (w + 1) + x] = '-';
+			}
+			rows[y * (w + 1) + w] = ',';
+		}
+		for (final Map.Entry<Position, Cell> entry : board.getCells().entrySet()) {
+			final Position pos = entry.getKey();
+			rows[(pos.getY() - 1) * (w + 1) + pos.getX() - 1] = entry.getValue().getSign();
+		}
+		final String data = rows.length == 0 ? "-" : new String(rows, 0, rows.length - 1);
+		return String.format("snapshot %d %d %d %s %c", seq, w, h, data,
+				game.getCurPlayer().getSign());
+	}
+
+	/**
+	 * An encoded change of the game.
+	 */
+	static final class Message {
+
+		private final long seq;
+		private final String text;
+
+		Message(final long seq, final String text) {
+			this.seq = seq;
+			this.text = text;
+		}
+
+		long getSeq() {
+			return seq;
+		}
+
+		String getText() {
+			return text;
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package othello.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import othello.InputValidation;
+import othello.Option;
+import othello.engine.Engine;
+import othello.engine.HeapTranspositionTable;
+
+
+/**
+ * A server which hosts many games at the same time. Every connection gets its
+ * own session with its own shell, game and engine, which runs in its own
+ * (virtual, if available) thread. Sessions share nothing but the optional pool
+ * the engines run their analyses in.
+ * <p>
+ * Other connections can watch the game of a session as spectators.
+ * <p>
+ * If accepting a connection fails while the server is open, for example
+ * because the process has run out of file descriptors, the acceptor waits
+ * before it tries again, twice as long after each failure up to a second.
+ *
+ * @version 0.1
+ * @since JDK1.7, Oct 19, 2026
+ */
+public class GameServer {
+
+	/** The prompt which a session sends before each command. */
+	public static final String PROMPT = "othello> ";
+
+	/** The default number of entries of the transposition table of a session. */
+	public static final int DEFAULT_TABLE_SIZE = 1 << 12;
+
+	private static final long MIN_BACKOFF_MILLIS = 10;
+	private static final long MAX_BACKOFF_MILLIS = 1000;
+
+	private final int port;
+	private final int tableSize;
+	private final ExecutorService enginePool;
+	private final ExecutorService sessionExecutor = SessionExecutors.newSessionExecutor();
+	private final ConcurrentMap<Integer, Session> sessions = new ConcurrentHashMap<Integer, Session>();
+	private final AtomicInteger nextId = new AtomicInteger(1);
+	private ServerSocket serverSocket;
+
+	/**
+	 * The entry point of the server. It serves until the process is ended.
+	 *
+	 * @param args
+	 *        the port, 4711 if missing
+	 * @throws IOException
+	 *         if the server can't be started
+	 * @throws InterruptedException
+	 *         if the main thread is interrupted
+	 */
+	public static void main(final String... args) throws IOException, InterruptedException {
+		final Option<Integer> port = args.length > 0
+				? InputValidation.parseInt(args[0])
+				: Option.some(4711);
+		InputValidation.require(port.isDefined(), "invalid port");
+		final GameServer server = new GameServer(port.get(), DEFAULT_TABLE_SIZE, null);
+		System.out.println("listening on port " + server.start()
+				+ (SessionExecutors.isVirtual() ? " (virtual threads)" : " (platform threads)"));
+		// the acceptor is a daemon thread, so the main thread keeps the process alive
+		while (true) {
+			Thread.sleep(Long.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param port
+	 *        the port to listen on, 0 for any free port
+	 * @param tableSize
+	 *        the number of entries of the transposition table of each session
+	 * @param enginePool
+	 *        the pool which is shared by all engines, null if each engine
+	 *        should create its own
+	 */
+	public GameServer(final int port, final int tableSize, final ExecutorService enginePool) {
+		this.port = port;
+		this.tableSize = tableSize;
+		this.enginePool = enginePool;
+	}
+
+	/**
+	 * Starts to accept connections on the loopback address.
+	 *
+	 * @return the port the server listens on
+	 * @throws IOException
+	 *         if the port can't be bound
+	 */
+	public synchronized int start() throws IOException {
+		InputValidation.require(serverSocket == null, "server already started");
+		serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+		final ServerSocket socket = serverSocket;
+		final Thread acceptor = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				accept(socket);
+			}
+		}, "othello-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Stops accepting connections and closes all sessions.
+	 */
+	public synchronized void stop() {
+		if (serverSocket == null) {
+			return;
+		}
+		try {
+			serverSocket.close();
+		} catch (final IOException e) {
+			// the socket is closed anyway
+		}
+		for (final Session session : sessions.values()) {
+			session.close();
+		}
+		sessionExecutor.shutdown();
+		serverSocket = null;
+	}
+
+	/**
+	 * Returns the number of open sessions.
+	 *
+	 * @return the number of sessions
+	 */
+	public int getNumOfSessions() {
+		return sessions.size();
+	}
+
+	/**
+	 * Finds an open session.
+	 *
+	 * @param id
+	 *        the id of the session
+	 * @return the session if it is open
+	 */
+	Option<Session> findSession(final int id) {
+		return Option.some(sessions.get(Integer.valueOf(id)));
+	}
+
+	/**
+	 * Is called by a session when it has ended.
+	 *
+	 * @param session
+	 *        the session
+	 */
+	void sessionEnded(final Session session) {
+		sessions.remove(Integer.valueOf(session.getId()));
+	}
+
+	private void accept(final ServerSocket socket) {
+		long backoff = 0;
+		while (!socket.isClosed()) {
+			final Socket connection;
+			try {
+				connection = socket.accept();
+			} catch (final IOException e) {
+				if (socket.isClosed()) {
+					return;
+				}
+				backoff = Math.min(Math.max(backoff * 2, MIN_BACKOFF_MILLIS), MAX_BACKOFF_MILLIS);
+				try {
+					Thread.sleep(backoff);
+				} catch (final InterruptedException interrupted) {
+					return;
+				}
+				continue;
+			}
+			backoff = 0;
+			handOver(connection);
+		}
+	}
+
+	private void handOver(final Socket connection) {
+		Session session = null;
+		boolean isHandedOver = false;
+		try {
+			connection.setTcpNoDelay(true);
+			final Engine engine = new Engine(new HeapTranspositionTable(tableSize), enginePool);
+			session = new Session(nextId.getAndIncrement(), connection, engine, this);
+			sessions.put(Integer.valueOf(session.getId()), session);
+			sessionExecutor.execute(session);
+			isHandedOver = true;
+		} catch (final IOException e) {
+			// the client has gone before its session started
+		} catch (final RejectedExecutionException e) {
+			// the server has been stopped
+		} finally {
+			if (!isHandedOver) {
+				if (session != null) {
+					sessions.remove(Integer.valueOf(session.getId()));
+				}
+				try {
+					connection.close();
+				} catch (final IOException e) {
+					// nothing left to do
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package othello.server;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import othello.InputValidation;
+import othello.Option;
+import othello.Shell;
+import othello.engine.Engine;
+
+
+/**
+ * A single connection of the game server. It speaks the command language of
+ * {@link Shell}: the prompt is sent, a line is read and handled, and all
+ * output of the command is sent back before the next prompt.
+ * <p>
+ * Only the commands which play and search the game of the session are
+ * available. Commands which read or write files of the server, or which set
+ * up engine data for the whole process, are rejected, and so is "ponder",
+ * because a pondering session would search while its client is idle. A
+ * failing command is reported to the client and the session goes on.
+ * <p>
+ * Two commands are handled by the session itself: "id" prints the id of the
+ * session and "watch &lt;id&gt;" turns the connection into a
+ * {@link Spectator} of the game of another session.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+class Session implements Runnable {
+
+	private static final Set<String> COMMANDS = Collections.unmodifiableSet(new HashSet<String>(
+			Arrays.asList("newGame", "hole", "move", "print", "abort", "possibleMoves", "ai",
+					"analyze", "stats", "quit")));
+
+	private final int id;
+	private final Socket socket;
+	private final Engine engine;
+	private final GameServer server;
+	private final Broadcaster broadcaster = new Broadcaster();
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param id
+	 *        the id of the session
+	 * @param socket
+	 *        the connection
+	 * @param engine
+	 *        the engine of this session
+	 * @param server
+	 *        the server which is informed when the session ends
+	 */
+	Session(final int id, final Socket socket, final Engine engine, final GameServer server) {
+		this.id = id;
+		this.socket = socket;
+		this.engine = engine;
+		this.server = server;
+	}
+
+	/**
+	 * Returns the id.
+	 *
+	 * @return the id
+	 */
+	int getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the broadcaster of the game of this session.
+	 *
+	 * @return the broadcaster
+	 */
+	Broadcaster getBroadcaster() {
+		return broadcaster;
+	}
+
+	@Override
+	public void run() {
+		Spectator spectator = null;
+		try {
+			final BufferedReader in = new BufferedReader(
+					new InputStreamReader(socket.getInputStream()));
+			final PrintStream out = new PrintStream(
+					new BufferedOutputStream(socket.getOutputStream()), false);
+			final Shell shell = new Shell(engine, out);
+			shell.setGameListener(broadcaster);
+			while (shell.isRunning() && spectator == null) {
+				out.print(GameServer.PROMPT);
+				out.flush();
+				final String line = in.readLine();
+				if (line == null) {
+					break;
+				}
+				final String input = line.trim();
+				if ("id".equals(input)) {
+					out.println(id);
+				} else if (input.startsWith("watch ")) {
+					spectator = watch(input.substring(6).trim(), out);
+				} else if (!input.isEmpty()) {
+					handleInput(shell, input, out);
+				}
+			}
+			out.flush();
+		} catch (final IOException e) {
+			// the client has gone, there is nobody to report to
+		} finally {
+			engine.stopPondering();
+			broadcaster.close();
+			server.sessionEnded(this);
+		}
+		if (spectator == null) {
+			close();
+		} else {
+			spectator.run();
+		}
+	}
+
+	private static void handleInput(final Shell shell, final String input, final PrintStream out) {
+		final String command = input.split("\\s+", 2)[0];
+		if (!COMMANDS.contains(command)) {
+			out.println("Error! command not available in a session");
+			return;
+		}
+		try {
+			shell.handleInput(input);
+		} catch (final RuntimeException e) {
+			out.println("Error! " + e);
+		}
+	}
+
+	private Spectator watch(final String rawId, final PrintStream out) {
+		final Option<Integer> hostId = InputValidation.parseInt(rawId);
+		final Option<Session> host = hostId.isDefined()
+				? server.findSession(hostId.get())
+				: Option.<Session> none();
+		if (!host.isDefined() || host.get() == this) {
+			out.println("Error! session not found");
+			return null;
+		}
+		out.println("watching " + hostId.get());
+		out.flush();
+		return new Spectator(socket, host.get().getBroadcaster());
+	}
+
+	/**
+	 * Closes the connection.
+	 */
+	void close() {
+		try {
+			socket.close();
+		} catch (final IOException e) {
+			// nothing left to do
+		}
+	}
+}
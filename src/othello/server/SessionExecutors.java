@@ -0,0 +1,68 @@
+package othello.server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+
+/**
+ * Creates the executors sessions run in. If the running JVM supports virtual
+ * threads, each task gets its own virtual thread. Otherwise a cached pool of
+ * daemon threads is used, which behaves the same but needs more memory per
+ * session.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+public final class SessionExecutors {
+
+	private SessionExecutors() {
+
+	}
+
+	/**
+	 * Creates an executor which starts a new thread for each task.
+	 *
+	 * @return the executor
+	 */
+	public static ExecutorService newSessionExecutor() {
+		try {
+			return (ExecutorService) Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor")
+					.invoke(null);
+		} catch (final NoSuchMethodException e) {
+			return newPlatformExecutor();
+		} catch (final IllegalAccessException e) {
+			return newPlatformExecutor();
+		} catch (final InvocationTargetException e) {
+			return newPlatformExecutor();
+		}
+	}
+
+	/**
+	 * Checks whether the executors use virtual threads.
+	 *
+	 * @return true if virtual threads are supported
+	 */
+	public static boolean isVirtual() {
+		try {
+			Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return true;
+		} catch (final NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static ExecutorService newPlatformExecutor() {
+		return Executors.newCachedThreadPool(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(final Runnable r) {
+				final Thread thread = new Thread(null, r, "othello-session", 256 * 1024);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+}
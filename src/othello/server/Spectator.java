@@ -0,0 +1,111 @@
+package othello.server;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A connection which watches a hosted game. The messages are written by the
+ * thread of the spectator, therefore a slow spectator never slows down the
+ * game. If its queue is full, the queued messages are dropped and a fresh
+ * snapshot is sent instead, so the memory per spectator is bounded.
+ *
+ * @version 0.1
+ * @since JDK1.6, Oct 19, 2026
+ */
+class Spectator implements Runnable {
+
+	/** The number of messages a spectator can lag behind. */
+	static final int CAPACITY = 64;
+
+	private final Socket socket;
+	private final Broadcaster broadcaster;
+	private final BlockingQueue<Broadcaster.Message> queue =
+			new ArrayBlockingQueue<Broadcaster.Message>(CAPACITY);
+	private volatile boolean needsSnapshot = true;
+	private volatile boolean isClosed;
+	private long lastSeq = -1;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param socket
+	 *        the connection
+	 * @param broadcaster
+	 *        the broadcaster of the watched game
+	 */
+	Spectator(final Socket socket, final Broadcaster broadcaster) {
+		this.socket = socket;
+		this.broadcaster = broadcaster;
+	}
+
+	/**
+	 * Queues a message. It never blocks.
+	 *
+	 * @param message
+	 *        the message
+	 */
+	void offer(final Broadcaster.Message message) {
+		if (!needsSnapshot && !queue.offer(message)) {
+			needsSnapshot = true;
+			queue.clear();
+		}
+	}
+
+	/**
+	 * Stops watching. The queued messages are still written.
+	 */
+	void close() {
+		isClosed = true;
+	}
+
+	@Override
+	public void run() {
+		broadcaster.subscribe(this);
+		try {
+			final PrintStream out = new PrintStream(
+					new BufferedOutputStream(socket.getOutputStream()), false);
+			while (!isClosed || !queue.isEmpty()) {
+				final Broadcaster.Message message = next();
+				if (message != null && message.getSeq() > lastSeq) {
+					lastSeq = message.getSeq();
+					out.println(message.getText());
+				}
+				if (queue.isEmpty() && out.checkError()) {
+					break;
+				}
+			}
+			out.println("end");
+			out.flush();
+		} catch (final IOException e) {
+			// the spectator has gone
+		} finally {
+			broadcaster.unsubscribe(this);
+			try {
+				socket.close();
+			} catch (final IOException e) {
+				// nothing left to do
+			}
+		}
+	}
+
+	private Broadcaster.Message next() {
+		if (needsSnapshot) {
+			needsSnapshot = false;
+			queue.clear();
+			return broadcaster.snapshot();
+		}
+		try {
+			return queue.poll(100, TimeUnit.MILLISECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			isClosed = true;
+			return null;
+		}
+	}
+}